@@ -0,0 +1,58 @@
+package org.theorygrapht.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare deux fichiers de résultats JMH (format JSON) et signale les régressions.
+ *
+ * Usage : BenchmarkComparison baseline.json candidate.json [seuil en %, 10 par défaut]
+ * Le code de sortie vaut 1 si au moins un benchmark dépasse le seuil.
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Double> baseline = read(new File(args[0]));
+        Map<String, Double> candidate = read(new File(args[1]));
+
+        boolean regression = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Delta");
+        for (Map.Entry<String, Double> entry : candidate.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", entry.getValue(), "new");
+                continue;
+            }
+            // Tous les benchmarks sont en temps moyen : plus haut = plus lent
+            double delta = (entry.getValue() - before) / before * 100.0;
+            boolean slower = delta > threshold;
+            regression |= slower;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n",
+                    entry.getKey(), before, entry.getValue(), delta, slower ? "  REGRESSION" : "");
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    private static Map<String, Double> read(File file) throws IOException {
+        Map<String, Double> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(p -> key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            }
+            scores.put(key.toString(), run.get("primaryMetric").get("score").asDouble());
+        }
+        return scores;
+    }
+}
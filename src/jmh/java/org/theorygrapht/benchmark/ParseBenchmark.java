@@ -0,0 +1,42 @@
+package org.theorygrapht.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction du graphe depuis le format d'adjacence reçu par le contrôleur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"GRID", "ERDOS_RENYI", "BARABASI_ALBERT", "ROAD"})
+    public GraphFamily family;
+
+    @Param({"256", "4096", "65536"})
+    public int size;
+
+    private Map<String, List<GraphInput.Neighbor>> adjacency;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        adjacency = GraphGenerators.toAdjacency(family, size, 42L);
+    }
+
+    @Benchmark
+    public Graph fromMap() {
+        return GraphUtils.fromMap(adjacency);
+    }
+}
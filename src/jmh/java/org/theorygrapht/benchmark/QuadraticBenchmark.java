@@ -0,0 +1,52 @@
+package org.theorygrapht.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.FloydResult;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.theorygrapht.service.FloydWarshall.getMatrices;
+import static org.theorygrapht.service.Prim.getPrim;
+
+/**
+ * Prim et Floyd–Warshall, au moins quadratiques : tailles réduites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadraticBenchmark {
+
+    @Param({"GRID", "ERDOS_RENYI", "BARABASI_ALBERT", "ROAD"})
+    public GraphFamily family;
+
+    @Param({"64", "256"})
+    public int size;
+
+    private Graph graph;
+    private String start;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphUtils.fromMap(GraphGenerators.toAdjacency(family, size, 42L));
+        start = GraphGenerators.vertexName(0);
+    }
+
+    @Benchmark
+    public List<Edge> prim() {
+        return getPrim(graph, start);
+    }
+
+    @Benchmark
+    public FloydResult floydWarshallMatrices() {
+        return getMatrices(graph);
+    }
+}
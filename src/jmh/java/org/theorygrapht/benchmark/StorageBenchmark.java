@@ -0,0 +1,87 @@
+package org.theorygrapht.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.theorygrapht.service.BFS.getBFS;
+import static org.theorygrapht.service.ConnectedComponents.getComponents;
+import static org.theorygrapht.service.DFS.getDFS;
+import static org.theorygrapht.service.Dijkstra.getDijkstra;
+import static org.theorygrapht.service.Kruskal.getKruskal;
+import static org.theorygrapht.service.Prim.getPrim;
+
+/**
+ * Compromis taille / vitesse des stockages : CSR sur le tas contre listes compressées.
+ * L'empreinte de chaque graphe (octets par arête) est affichée au début de chaque essai.
+ * Les parcours lisent les listes d'adjacence ; Kruskal et Prim accèdent aussi aux arêtes par id
+ * (source, cible, poids), ce qui coûte un décodage de plus en mode compressé.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class StorageBenchmark {
+
+    @Param({"ROAD", "ERDOS_RENYI", "BARABASI_ALBERT"})
+    public GraphFamily family;
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"HEAP", "COMPRESSED"})
+    public StorageKind storage;
+
+    private Graph graph;
+    private String start;
+    private String end;
+    private boolean connected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.toGraph(family, size, 42L, storage);
+        start = GraphGenerators.vertexName(0);
+        end = GraphGenerators.vertexName(graph.vertexCount() - 1);
+        connected = getComponents(graph).getCount() == 1;
+        long bytes = graph.getStorage().byteSize();
+        System.out.printf("%n%s %s: %d vertices, %d edges, %.1f MB, %.2f bytes/edge%n",
+                family, storage, graph.vertexCount(), graph.edgeCount(), bytes / 1e6,
+                (double) bytes / graph.edgeCount());
+    }
+
+    @Benchmark
+    public List<Edge> bfs() {
+        return getBFS(graph, start);
+    }
+
+    @Benchmark
+    public List<Edge> dfs() {
+        return getDFS(graph, start);
+    }
+
+    @Benchmark
+    public List<Edge> dijkstra() {
+        return getDijkstra(graph, start, end);
+    }
+
+    @Benchmark
+    public List<Edge> kruskal() {
+        return getKruskal(graph);
+    }
+
+    /**
+     * Prim refuse un graphe en plusieurs composantes : rien n'est mesuré dans ce cas (Erdős–Rényi peut en avoir).
+     */
+    @Benchmark
+    public List<Edge> prim() {
+        return connected ? getPrim(graph, start) : null;
+    }
+}
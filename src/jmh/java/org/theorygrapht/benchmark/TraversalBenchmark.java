@@ -0,0 +1,71 @@
+package org.theorygrapht.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.theorygrapht.service.BFS.getBFS;
+import static org.theorygrapht.service.BellmanFord.getBellmanFordPath;
+import static org.theorygrapht.service.DFS.getDFS;
+import static org.theorygrapht.service.Dijkstra.getDijkstra;
+import static org.theorygrapht.service.Kruskal.getKruskal;
+
+/**
+ * Parcours et plus courts chemins à source unique, sur des graphes de taille moyenne.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @Param({"GRID", "ERDOS_RENYI", "BARABASI_ALBERT", "ROAD"})
+    public GraphFamily family;
+
+    @Param({"256", "4096"})
+    public int size;
+
+    private Graph graph;
+    private String start;
+    private String end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphUtils.fromMap(GraphGenerators.toAdjacency(family, size, 42L));
+        start = GraphGenerators.vertexName(0);
+        end = GraphGenerators.vertexName(graph.vertexCount() - 1);
+    }
+
+    @Benchmark
+    public List<Edge> bfs() {
+        return getBFS(graph, start);
+    }
+
+    @Benchmark
+    public List<Edge> dfs() {
+        return getDFS(graph, start);
+    }
+
+    @Benchmark
+    public List<Edge> dijkstra() {
+        return getDijkstra(graph, start, end);
+    }
+
+    @Benchmark
+    public List<Edge> kruskal() {
+        return getKruskal(graph);
+    }
+
+    @Benchmark
+    public List<Edge> bellmanFord() {
+        return getBellmanFordPath(graph, start);
+    }
+}
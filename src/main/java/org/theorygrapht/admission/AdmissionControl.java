@@ -0,0 +1,144 @@
+package org.theorygrapht.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.theorygrapht.model.Graph;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contrôle d'admission des calculs : chaque requête réserve, avant de lancer l'algorithme,
+ * une part d'un budget global proportionnelle à son coût estimé ({@link AlgorithmCost}).
+ * Les réservations passent par un sémaphore équitable : une requête attend son tour au plus
+ * theorygrapht.admission.max-wait, puis est refusée en 429 avec Retry-After.
+ *
+ * Unité : 1 permis = 1 million d'opérations. Une requête plus coûteuse que tout le budget
+ * le prend entier et s'exécute seule.
+ */
+@Component
+public class AdmissionControl {
+    private static final double OPERATIONS_PER_PERMIT = 1e6;
+
+    private final boolean enabled;
+    private final int budget;
+    private final long maxWaitNanos;
+    private final double permitsPerSecond;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final MeterRegistry registry;
+
+    /**
+     * @param budget     permis disponibles en tout (millions d'opérations en cours à la fois)
+     * @param throughput permis traités par seconde, pour estimer Retry-After
+     */
+    public AdmissionControl(MeterRegistry registry,
+                            @Value("${theorygrapht.admission.enabled:true}") boolean enabled,
+                            @Value("${theorygrapht.admission.budget:5000}") int budget,
+                            @Value("${theorygrapht.admission.max-wait:2s}") Duration maxWait,
+                            @Value("${theorygrapht.admission.throughput:200}") double throughput) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permitsPerSecond = throughput;
+        this.permits = new Semaphore(budget, true);
+
+        Gauge.builder("graph.admission.budget", () -> budget)
+                .description("Compute budget, in millions of estimated operations")
+                .register(registry);
+        Gauge.builder("graph.admission.in.use", this::inUse)
+                .description("Budget reserved by running requests")
+                .register(registry);
+        Gauge.builder("graph.admission.queued", queued, AtomicInteger::get)
+                .description("Requests waiting for budget")
+                .register(registry);
+    }
+
+    /**
+     * Réserve le budget nécessaire pour lancer l'algorithme de {@code endpoint} sur {@code graph},
+     * en attendant au besoin. Le permis rendu doit être fermé à la fin du calcul.
+     *
+     * @throws AdmissionRejectedException si le budget ne s'est pas libéré à temps
+     */
+    public Permit admit(String endpoint, Graph graph) {
+        if (!enabled) return new Permit(null, 0);
+        return acquire(endpoint, AlgorithmCost.forEndpoint(endpoint).estimate(graph));
+    }
+
+    /**
+     * Comme {@link #admit(String, Graph)}, pour un graphe pas encore construit (import) : sa taille est estimée
+     * par l'appelant.
+     */
+    public Permit admit(String endpoint, long vertices, long edges) {
+        if (!enabled) return new Permit(null, 0);
+        return acquire(endpoint, AlgorithmCost.forEndpoint(endpoint).estimate(vertices, edges));
+    }
+
+    private Permit acquire(String endpoint, double operations) {
+        int cost = permitsFor(operations);
+        queued.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(cost, maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject(endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(endpoint);
+        } finally {
+            queued.decrementAndGet();
+        }
+        return new Permit(permits, cost);
+    }
+
+    public AdmissionStatus status() {
+        return new AdmissionStatus(budget, inUse(), queued.get());
+    }
+
+    private int permitsFor(double operations) {
+        double needed = Math.ceil(operations / OPERATIONS_PER_PERMIT);
+        return (int) Math.max(1, Math.min(budget, needed));
+    }
+
+    private int inUse() {
+        return budget - permits.availablePermits();
+    }
+
+    private AdmissionRejectedException reject(String endpoint) {
+        Counter.builder("graph.admission.rejected")
+                .description("Requests rejected for lack of compute budget")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .increment();
+        // Temps pour écouler le travail déjà admis, au débit annoncé
+        long retryAfter = Math.max(1, (long) Math.ceil(inUse() / permitsPerSecond));
+        return new AdmissionRejectedException("Compute budget exhausted, retry later", retryAfter);
+    }
+
+    /**
+     * Budget réservé par une requête, rendu à la fermeture.
+     */
+    public static class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final int count;
+        private boolean released;
+
+        Permit(Semaphore semaphore, int count) {
+            this.semaphore = semaphore;
+            this.count = count;
+        }
+
+        @Override
+        public void close() {
+            if (semaphore != null && !released) {
+                released = true;
+                semaphore.release(count);
+            }
+        }
+    }
+}
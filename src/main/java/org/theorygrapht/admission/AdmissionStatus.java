@@ -0,0 +1,28 @@
+package org.theorygrapht.admission;
+
+/**
+ * Charge courante du contrôle d'admission, en permis (millions d'opérations estimées).
+ */
+public class AdmissionStatus {
+    private final int budget;
+    private final int inUse;
+    private final int queued;
+
+    public AdmissionStatus(int budget, int inUse, int queued) {
+        this.budget = budget;
+        this.inUse = inUse;
+        this.queued = queued;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+}
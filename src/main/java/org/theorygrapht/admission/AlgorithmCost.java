@@ -0,0 +1,125 @@
+package org.theorygrapht.admission;
+
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.service.Reachability;
+import org.theorygrapht.service.ShortestPath;
+
+/**
+ * Coût estimé d'un algorithme, en opérations élémentaires, d'après sa complexité et la taille du graphe.
+ * Ce n'est qu'un ordre de grandeur : il sert à répartir le budget de calcul entre les requêtes.
+ */
+public enum AlgorithmCost {
+    TRAVERSAL {
+        @Override
+        public double estimate(long v, long e) {
+            return v + 2 * e;
+        }
+    },
+    HEAP {
+        // Dijkstra et Prim : (V + E) log V
+        @Override
+        public double estimate(long v, long e) {
+            return (v + 2 * e) * log2(v);
+        }
+    },
+    SORT {
+        // Kruskal : tri des arêtes
+        @Override
+        public double estimate(long v, long e) {
+            return e * log2(e) + v;
+        }
+    },
+    BELLMAN_FORD {
+        @Override
+        public double estimate(long v, long e) {
+            return (double) v * e;
+        }
+    },
+    BETWEENNESS {
+        // Brandes : un Dijkstra par source. Majorant : le mode échantillonné n'en fait que k sur V
+        @Override
+        public double estimate(long v, long e) {
+            return v * HEAP.estimate(v, e);
+        }
+    },
+    K_SHORTEST_PATHS {
+        // Yen : une recherche par sommet de chaque chemin retenu. k et la longueur des chemins ne sont pas connus
+        // à l'admission : on compte 10 chemins de sqrt(V) sommets
+        @Override
+        public double estimate(long v, long e) {
+            return 10 * Math.sqrt(v) * HEAP.estimate(v, e);
+        }
+    },
+    FLOYD_WARSHALL {
+        @Override
+        public double estimate(long v, long e) {
+            return (double) v * v * v;
+        }
+    },
+    IMPORT {
+        // Liste d'arêtes : découpage et lecture, rangement par source (tri par comptage), index des noms
+        @Override
+        public double estimate(long v, long e) {
+            return v + 3 * e;
+        }
+    },
+    SHORTEST_PATH {
+        // Sans le graphe, le pire moteur : Bellman-Ford
+        @Override
+        public double estimate(long v, long e) {
+            return BELLMAN_FORD.estimate(v, e);
+        }
+
+        // Avec le graphe, le moteur que ShortestPath choisira (BFS, DAG, Dijkstra ou Bellman-Ford)
+        @Override
+        public double estimate(Graph graph) {
+            return ShortestPath.cost(graph).estimate(graph);
+        }
+    },
+    REACHABILITY {
+        // Sans le graphe, construction de l'index sans rien savoir de ses composantes
+        @Override
+        public double estimate(long v, long e) {
+            double traversal = v + 2 * e;
+            return 2 * traversal + Math.max(e * Math.ceil(v / 64.0), 3 * traversal);
+        }
+
+        // Avec le graphe : construction de l'index (fermeture ou intervalles), ou un parcours s'il est déjà construit
+        @Override
+        public double estimate(Graph graph) {
+            return Reachability.cost(graph);
+        }
+    };
+
+    public abstract double estimate(long v, long e);
+
+    public double estimate(Graph graph) {
+        return estimate(graph.vertexCount(), graph.edgeCount());
+    }
+
+    /**
+     * @param endpoint motif de l'endpoint (/dijkstra, /graphs/{name}/dijkstra, ...)
+     */
+    public static AlgorithmCost forEndpoint(String endpoint) {
+        String algorithm = endpoint.startsWith("/graphs/{name}")
+                ? endpoint.substring("/graphs/{name}".length())
+                : endpoint;
+        return switch (algorithm) {
+            case "/bfs", "/dfs", "/components" -> TRAVERSAL;
+            case "/reachable" -> REACHABILITY;
+            case "/dijkstra", "/prim" -> HEAP;
+            case "/shortestPath" -> SHORTEST_PATH;
+            case "/kruskal" -> SORT;
+            case "/bellmanFord", "/bellmanFord/table" -> BELLMAN_FORD;
+            case "/floydWarshall", "/floydWarshall/matrices", "/shortestPath/all" -> FLOYD_WARSHALL;
+            case "/betweenness" -> BETWEENNESS;
+            case "/kShortestPaths" -> K_SHORTEST_PATHS;
+            case "/import" -> IMPORT;
+            default -> throw new IllegalArgumentException("No cost model for endpoint " + endpoint);
+        };
+    }
+
+    private static double log2(long x) {
+        return Math.max(1, 64 - Long.numberOfLeadingZeros(x));
+    }
+}
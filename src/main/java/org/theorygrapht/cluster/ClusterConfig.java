@@ -0,0 +1,34 @@
+package org.theorygrapht.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mode cluster, actif si theorygrapht.cluster.workers est défini :
+ * un nombre (workers lancés sur cette machine) ou une liste host:port de workers déjà démarrés.
+ * theorygrapht.cluster.sessions borne le nombre de requêtes exécutées en même temps sur le cluster.
+ * BFS, Dijkstra et Bellman-Ford de {@code GraphController} passent alors par le cluster.
+ */
+@Configuration
+@ConditionalOnProperty("theorygrapht.cluster.workers")
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    public GraphCluster graphCluster(@Value("${theorygrapht.cluster.workers}") String workers,
+                                     @Value("${theorygrapht.cluster.partitioning:edge-cut}") String partitioning,
+                                     @Value("${theorygrapht.cluster.worker-jvm-args:}") String jvmArgs,
+                                     @Value("${theorygrapht.cluster.sessions:4}") int sessions) throws IOException {
+        Partitioning strategy = Partitioning.valueOf(partitioning.toUpperCase().replace('-', '_'));
+        if (workers.trim().matches("\\d+")) {
+            List<String> args = jvmArgs.isBlank() ? List.of() : Arrays.asList(jvmArgs.trim().split("\\s+"));
+            return GraphCluster.launch(Integer.parseInt(workers.trim()), strategy, args, sessions);
+        }
+        return GraphCluster.connect(Arrays.asList(workers.split(",")), strategy, sessions);
+    }
+}
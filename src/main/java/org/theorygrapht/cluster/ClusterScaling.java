@@ -0,0 +1,110 @@
+package org.theorygrapht.cluster;
+
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mesure l'efficacité du mode cluster de 1 à N workers locaux sur un graphe généré :
+ * temps de chargement, BFS et plus courts chemins (médiane), accélération T1/Tn et efficacité T1/(n·Tn).
+ * Chaque algorithme est mesuré à chaud (graphe enregistré, déjà chargé) et à froid (graphe envoyé avec la requête :
+ * découpage et envoi aux workers compris, comme pour les endpoints POST).
+ *
+ * Usage : ClusterScaling [--family ROAD] [--vertices 200000] [--seed 1] [--workers 8]
+ *                        [--partitioning edge-cut] [--repeat 5] [--jvm-args "-Xmx1g"]
+ */
+public class ClusterScaling {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Unexpected argument : " + args[i]);
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        GraphFamily family = GraphFamily.valueOf(options.getOrDefault("family", "ROAD"));
+        int vertices = Integer.parseInt(options.getOrDefault("vertices", "200000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int maxWorkers = Integer.parseInt(options.getOrDefault("workers",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Partitioning partitioning = Partitioning.valueOf(
+                options.getOrDefault("partitioning", "edge-cut").toUpperCase().replace('-', '_'));
+        int repeat = Integer.parseInt(options.getOrDefault("repeat", "5"));
+        String jvmArgs = options.getOrDefault("jvm-args", "");
+        List<String> workerArgs = jvmArgs.isBlank() ? List.of() : Arrays.asList(jvmArgs.trim().split("\\s+"));
+
+        Graph graph = GraphGenerators.toGraph(family, vertices, seed, StorageKind.HEAP);
+        String start = GraphGenerators.vertexName(0);
+        System.out.printf("%s, %d vertices, %d edges, partitioning %s, median of %d runs%n",
+                family, graph.vertexCount(), graph.edgeCount(), partitioning, repeat);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %10s %10s %10s%n", "workers", "cut edges", "load ms",
+                "bfs ms", "sssp ms", "cold bfs", "cold sssp", "speedup", "efficiency", "cold eff.");
+
+        double ssspBase = 0;
+        double coldBase = 0;
+        for (int n : workerCounts(maxWorkers)) {
+            try (GraphCluster cluster = GraphCluster.launch(n, partitioning, workerArgs, 1)) {
+                long begin = System.nanoTime();
+                GraphCluster.Partitioned partitioned = cluster.load(graph);
+                double load = (System.nanoTime() - begin) / 1e6;
+
+                // Un premier passage chauffe le JIT des workers
+                cluster.bfs(graph, start, true);
+                cluster.distances(graph, start, false, true);
+
+                // À chaud : graphe enregistré, déjà chargé sur les workers (endpoints /graphs/{nom}/...)
+                double[] bfs = new double[repeat];
+                double[] sssp = new double[repeat];
+                for (int r = 0; r < repeat; r++) {
+                    long t0 = System.nanoTime();
+                    cluster.bfs(graph, start, true);
+                    long t1 = System.nanoTime();
+                    cluster.distances(graph, start, false, true);
+                    long t2 = System.nanoTime();
+                    bfs[r] = (t1 - t0) / 1e6;
+                    sssp[r] = (t2 - t1) / 1e6;
+                }
+                // À froid : graphe envoyé avec la requête (POST /bfs, /dijkstra...), découpé et chargé à chaque fois
+                double[] coldBfs = new double[repeat];
+                double[] coldSssp = new double[repeat];
+                for (int r = 0; r < repeat; r++) {
+                    long t0 = System.nanoTime();
+                    cluster.bfs(graph, start, false);
+                    long t1 = System.nanoTime();
+                    cluster.distances(graph, start, false, false);
+                    long t2 = System.nanoTime();
+                    coldBfs[r] = (t1 - t0) / 1e6;
+                    coldSssp[r] = (t2 - t1) / 1e6;
+                }
+                double ssspMedian = median(sssp);
+                double coldMedian = median(coldSssp);
+                if (n == 1) {
+                    ssspBase = ssspMedian;
+                    coldBase = coldMedian;
+                }
+                System.out.printf("%-8d %10d %10.1f %10.1f %10.1f %10.1f %10.1f %10.2f %9.0f%% %9.0f%%%n",
+                        n, partitioned.getCutEdges(), load, median(bfs), ssspMedian, median(coldBfs), coldMedian,
+                        ssspBase / ssspMedian, 100 * ssspBase / (n * ssspMedian), 100 * coldBase / (n * coldMedian));
+            }
+        }
+    }
+
+    private static List<Integer> workerCounts(int max) {
+        List<Integer> counts = new ArrayList<>();
+        for (int n = 1; n < max; n *= 2) counts.add(n);
+        counts.add(max);
+        return counts;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
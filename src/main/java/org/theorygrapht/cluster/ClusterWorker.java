@@ -0,0 +1,319 @@
+package org.theorygrapht.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Processus worker du mode cluster : il possède une partie des sommets (ids locaux 0..count-1)
+ * avec leurs listes d'incidence, et exécute les supersteps que lui envoie le coordinateur.
+ *
+ * Un arc vers un sommet local garde son id local ; un arc vers un sommet d'un autre worker est codé -(id global)-1
+ * et devient un message, renvoyé au coordinateur qui le route.
+ *
+ * Chaque connexion est une session indépendante, servie par son propre thread avec sa propre partie :
+ * le coordinateur peut ainsi exécuter plusieurs requêtes en même temps, et rouvrir une session après une erreur.
+ *
+ * Usage : ClusterWorker [port] [--bind adresse] [--attached]
+ * Le port effectif est écrit sur la sortie standard ("PORT n"). Le worker n'écoute que sur la boucle locale
+ * sauf adresse donnée avec --bind : le protocole n'est pas authentifié, à n'exposer que sur un réseau de confiance.
+ * Avec --attached (worker lancé par le coordinateur), le worker s'arrête quand son entrée standard se ferme,
+ * c'est-à-dire quand le coordinateur s'arrête.
+ */
+public class ClusterWorker {
+    static final byte SHUTDOWN = 0;
+    static final byte LOAD = 1;
+    static final byte RESET = 2;
+    static final byte BFS_DELIVER = 3;
+    static final byte BFS_EXPAND = 4;
+    static final byte RELAX = 5;
+    static final byte COLLECT = 6;
+    static final byte UNLOAD = 7;
+
+    static final byte OK = 0;
+    static final byte NEGATIVE_CYCLE = 1;
+
+    // Partie du graphe
+    private int count;
+    private int[] offsets = new int[1];
+    private int[] arcTargets = new int[0];
+    private int[] arcWeights = new int[0];
+    private int[] arcEdges = new int[0];
+
+    // État de l'exécution en cours
+    private boolean outgoingOnly;
+    private int vertexTotal;
+    private long[] best;
+    private int[] parentEdge;
+    private boolean[] done;
+    private int[] passes;
+    private final MessageBatch pendingLocal = new MessageBatch();
+
+    public static void main(String[] args) throws IOException {
+        int port = 0;
+        boolean attached = false;
+        InetAddress bind = InetAddress.getLoopbackAddress();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--attached" -> attached = true;
+                case "--bind" -> {
+                    if (++i == args.length) throw new IllegalArgumentException("--bind expects an address");
+                    bind = InetAddress.getByName(args[i]);
+                }
+                default -> port = Integer.parseInt(args[i]);
+            }
+        }
+        if (attached) {
+            bind = InetAddress.getLoopbackAddress();
+            Thread watcher = new Thread(ClusterWorker::exitWithParent, "cluster-parent");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+
+        try (ServerSocket server = new ServerSocket(port, 50, bind)) {
+            System.out.println("PORT " + server.getLocalPort());
+            System.out.flush();
+            while (true) {
+                Socket socket = server.accept();
+                Thread session = new Thread(() -> session(socket), "cluster-session");
+                session.start();
+            }
+        }
+    }
+
+    /**
+     * Une session : un coordinateur connecté, avec sa propre partie du graphe.
+     */
+    private static void session(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            if (!new ClusterWorker().serve(socket)) System.exit(0);
+        } catch (IOException e) {
+            // Connexion perdue : le coordinateur abandonne la session et en rouvrira une autre
+        }
+    }
+
+    /**
+     * Le coordinateur garde ouverte l'entrée standard du worker qu'il a lancé : sa fermeture signale son arrêt.
+     */
+    private static void exitWithParent() {
+        try {
+            while (System.in.read() >= 0) {
+                // rien à lire, on attend la fin du flux
+            }
+        } catch (IOException e) {
+            // flux cassé : même traitement que sa fin
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Traite les commandes d'un coordinateur jusqu'à sa déconnexion.
+     *
+     * @return faux si le coordinateur a demandé l'arrêt du worker
+     */
+    private boolean serve(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        while (true) {
+            byte command;
+            try {
+                command = in.readByte();
+            } catch (EOFException e) {
+                return true;
+            }
+            switch (command) {
+                case SHUTDOWN -> {
+                    return false;
+                }
+                case LOAD -> load(in);
+                case RESET -> reset(in.readBoolean(), in.readInt());
+                case BFS_DELIVER -> bfsDeliver(MessageBatch.readFrom(in)).writeTo(out);
+                case BFS_EXPAND -> bfsExpand(MessageBatch.readFrom(in)).writeTo(out);
+                case RELAX -> relax(MessageBatch.readFrom(in), out);
+                case COLLECT -> collect(out);
+                case UNLOAD -> unload();
+                default -> throw new IOException("Unknown command : " + command);
+            }
+            out.writeByte(OK);
+            out.flush();
+        }
+    }
+
+    private void load(DataInputStream in) throws IOException {
+        count = in.readInt();
+        offsets = readInts(in, count + 1);
+        int arcs = offsets[count];
+        arcTargets = readInts(in, arcs);
+        arcWeights = readInts(in, arcs);
+        arcEdges = readInts(in, arcs);
+    }
+
+    /**
+     * Oublie la partie et l'état d'exécution : graphe envoyé avec une seule requête.
+     */
+    private void unload() {
+        count = 0;
+        offsets = new int[1];
+        arcTargets = new int[0];
+        arcWeights = new int[0];
+        arcEdges = new int[0];
+        best = null;
+        parentEdge = null;
+        done = null;
+        passes = null;
+        pendingLocal.clear();
+    }
+
+    private void reset(boolean outgoingOnly, int vertexTotal) {
+        this.outgoingOnly = outgoingOnly;
+        this.vertexTotal = vertexTotal;
+        best = new long[count];
+        parentEdge = new int[count];
+        done = new boolean[count];
+        passes = new int[count];
+        Arrays.fill(best, Long.MAX_VALUE);
+        Arrays.fill(parentEdge, -1);
+        pendingLocal.clear();
+    }
+
+    /**
+     * BFS, première moitié d'un niveau : applique les découvertes reçues (la plus petite clé gagne)
+     * et renvoie les sommets atteints pour la première fois (id local, clé, arête).
+     */
+    private MessageBatch bfsDeliver(MessageBatch incoming) {
+        MessageBatch discovered = new MessageBatch();
+        offer(incoming, discovered);
+        offer(pendingLocal, discovered);
+        pendingLocal.clear();
+
+        for (int i = 0; i < discovered.size(); i++) {
+            int v = discovered.vertex(i);
+            done[v] = true;
+            discovered.lower(i, best[v], parentEdge[v]);
+        }
+        return discovered;
+    }
+
+    private void offer(MessageBatch messages, MessageBatch discovered) {
+        for (int i = 0; i < messages.size(); i++) {
+            int v = messages.vertex(i);
+            if (done[v]) continue;
+            if (best[v] == Long.MAX_VALUE) discovered.add(v, Long.MAX_VALUE, -1);
+            if (messages.value(i) < best[v]) {
+                best[v] = messages.value(i);
+                parentEdge[v] = messages.edge(i);
+            }
+        }
+    }
+
+    /**
+     * BFS, seconde moitié : chaque sommet de la frontière, avec son rang global, propose à ses voisins
+     * la clé (rang << 32 | position de l'arc). Les propositions locales sont gardées pour le prochain niveau,
+     * les autres sont renvoyées au coordinateur (id global).
+     */
+    private MessageBatch bfsExpand(MessageBatch frontier) {
+        MessageBatch remote = new MessageBatch();
+        for (int i = 0; i < frontier.size(); i++) {
+            int u = frontier.vertex(i);
+            long rank = frontier.value(i);
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                long key = (rank << 32) | (arc - offsets[u]);
+                int edge = arcEdges[arc] >>> 1;
+                int target = arcTargets[arc];
+                if (target >= 0) {
+                    if (!done[target]) pendingLocal.add(target, key, edge);
+                } else {
+                    remote.add(-target - 1, key, edge);
+                }
+            }
+        }
+        return remote;
+    }
+
+    /**
+     * Plus courts chemins : applique les distances reçues puis relâche localement (file FIFO) jusqu'à stabilité.
+     * Les améliorations vers d'autres workers sont combinées (minimum par sommet) avant d'être renvoyées.
+     */
+    private void relax(MessageBatch incoming, DataOutputStream out) throws IOException {
+        int[] queue = new int[Math.max(count, 1)];
+        boolean[] inQueue = done;
+        int head = 0;
+        int size = 0;
+        for (int i = 0; i < incoming.size(); i++) {
+            int v = incoming.vertex(i);
+            if (incoming.value(i) < best[v]) {
+                best[v] = incoming.value(i);
+                parentEdge[v] = incoming.edge(i);
+                if (!inQueue[v]) {
+                    inQueue[v] = true;
+                    queue[(head + size++) % queue.length] = v;
+                }
+            }
+        }
+
+        MessageBatch remote = new MessageBatch();
+        Map<Integer, Integer> slots = new HashMap<>();
+        boolean negativeCycle = false;
+        while (size > 0 && !negativeCycle) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            inQueue[u] = false;
+            if (++passes[u] > vertexTotal) {
+                negativeCycle = true;
+                break;
+            }
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                if (outgoingOnly && (arcEdges[arc] & 1) != 0) continue;
+                long alt = best[u] + arcWeights[arc];
+                int edge = arcEdges[arc] >>> 1;
+                int target = arcTargets[arc];
+                if (target >= 0) {
+                    if (alt < best[target]) {
+                        best[target] = alt;
+                        parentEdge[target] = edge;
+                        if (!inQueue[target]) {
+                            inQueue[target] = true;
+                            queue[(head + size++) % queue.length] = target;
+                        }
+                    }
+                } else {
+                    int global = -target - 1;
+                    Integer slot = slots.putIfAbsent(global, remote.size());
+                    if (slot == null) remote.add(global, alt, edge);
+                    else remote.lower(slot, alt, edge);
+                }
+            }
+        }
+        if (negativeCycle) {
+            Arrays.fill(inQueue, false);
+            remote.clear();
+        }
+        remote.writeTo(out);
+        out.writeByte(negativeCycle ? NEGATIVE_CYCLE : OK);
+    }
+
+    private void collect(DataOutputStream out) throws IOException {
+        out.writeInt(count);
+        for (int v = 0; v < count; v++) {
+            out.writeLong(best[v]);
+            out.writeInt(parentEdge[v]);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) values[i] = in.readInt();
+        return values;
+    }
+}
@@ -0,0 +1,551 @@
+package org.theorygrapht.cluster;
+
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.GraphStorage;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import static org.theorygrapht.util.GraphUtils.searchVertex;
+
+/**
+ * Coordinateur du mode cluster : répartit un graphe entre N workers (processus séparés)
+ * et y exécute BFS et plus courts chemins en supersteps synchrones (modèle BSP).
+ *
+ * À chaque superstep, tous les workers reçoivent en parallèle leur lot de messages, travaillent sur leur partie,
+ * puis renvoient les messages destinés aux autres parties ; le coordinateur les route pour le superstep suivant.
+ *
+ * Chaque requête emprunte une session : une connexion par worker, qui y garde sa propre partie chargée.
+ * Au plus {@code sessions} requêtes s'exécutent en même temps (chacune coûte une copie des parties chez les workers).
+ * Une session dont un échange a échoué est fermée : la requête suivante en rouvre une sur des connexions neuves.
+ *
+ * Un graphe enregistré reste chargé d'une requête à l'autre ({@code keepLoaded}) ; un graphe envoyé avec
+ * la requête est découpé et envoyé aux workers à chaque fois, puis retiré à la fin.
+ * Le coordinateur garde le graphe entier (il résout les noms et reconstruit les chemins) : le cluster répartit
+ * le calcul et son état, pas le stockage du graphe, dont la taille reste bornée par la mémoire du coordinateur.
+ */
+public class GraphCluster implements AutoCloseable {
+
+    /**
+     * Un graphe chargé sur le cluster : à quel worker appartient chaque sommet, et sous quel id local.
+     */
+    public static final class Partitioned {
+        private final WeakReference<Graph> graph; // ne retient pas un graphe remplacé ou fermé
+        private final int[] owner;
+        private final int[] localOf;
+        private final int[][] members;
+        private final long cutEdges;
+
+        private Partitioned(Graph graph, int[] owner, int parts) {
+            this.graph = new WeakReference<>(graph);
+            this.owner = owner;
+            this.localOf = new int[owner.length];
+            int[] sizes = new int[parts];
+            for (int v = 0; v < owner.length; v++) localOf[v] = sizes[owner[v]]++;
+            this.members = new int[parts][];
+            for (int w = 0; w < parts; w++) members[w] = new int[sizes[w]];
+            for (int v = 0; v < owner.length; v++) members[owner[v]][localOf[v]] = v;
+            this.cutEdges = Partitioning.cutEdges(graph.getStorage(), owner);
+        }
+
+        boolean isOf(Graph graph) {
+            return this.graph.get() == graph;
+        }
+
+        public long getCutEdges() {
+            return cutEdges;
+        }
+    }
+
+    private static class ShortestPaths {
+        long[] dist;
+        int[] parentEdge; // -1 = pas de prédécesseur
+
+        ShortestPaths(long[] dist, int[] parentEdge) {
+            this.dist = dist;
+            this.parentEdge = parentEdge;
+        }
+    }
+
+    /**
+     * Une connexion par worker, et la partie qui y est chargée.
+     */
+    private static final class Session {
+        private final List<WorkerConnection> connections;
+        private Partitioned loaded;
+        private boolean broken; // protocole désynchronisé : la session ne peut plus servir
+
+        private Session(List<WorkerConnection> connections) {
+            this.connections = connections;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Exchange<T> {
+        T call(int worker, DataInputStream in, DataOutputStream out) throws IOException;
+    }
+
+    private final List<WorkerEndpoint> workers;
+    private final Partitioning partitioning;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Deque<Session> idle = new ArrayDeque<>();
+    private final Set<Session> open = new HashSet<>(); // gardés par idle
+    private volatile Partitioned partitioned; // dernier découpage calculé, partagé par les sessions
+    private boolean closed; // gardé par idle
+
+    private GraphCluster(List<WorkerEndpoint> workers, Partitioning partitioning, int sessions) {
+        if (sessions < 1) throw new IllegalArgumentException("At least one cluster session is required");
+        this.workers = workers;
+        this.partitioning = partitioning;
+        this.permits = new Semaphore(sessions, true);
+        this.executor = Executors.newFixedThreadPool(workers.size() * sessions, runnable -> {
+            Thread thread = new Thread(runnable, "graph-cluster");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lance {@code count} workers locaux, chacun dans sa JVM.
+     */
+    public static GraphCluster launch(int count, Partitioning partitioning, List<String> jvmArgs,
+                                      int sessions) throws IOException {
+        List<WorkerEndpoint> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) workers.add(WorkerEndpoint.spawn(jvmArgs));
+        } catch (IOException e) {
+            closeAll(workers);
+            throw e;
+        }
+        return new GraphCluster(workers, partitioning, sessions);
+    }
+
+    /**
+     * Utilise des workers déjà démarrés (adresses host:port) ; les connexions sont ouvertes par session.
+     */
+    public static GraphCluster connect(List<String> addresses, Partitioning partitioning, int sessions) throws IOException {
+        List<WorkerEndpoint> workers = new ArrayList<>();
+        for (String address : addresses) workers.add(WorkerEndpoint.of(address));
+        GraphCluster cluster = new GraphCluster(workers, partitioning, sessions);
+        // Une première session vérifie que les workers répondent, et reste disponible
+        cluster.release(cluster.borrow());
+        return cluster;
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    /**
+     * Partitionne le graphe et envoie à chaque worker ses sommets et leurs listes d'incidence ;
+     * la partie reste chargée pour les requêtes suivantes sur ce graphe.
+     */
+    public Partitioned load(Graph graph) {
+        return withSession(graph, true, session -> load(session, graph));
+    }
+
+    private Partitioned load(Session session, Graph graph) {
+        if (session.loaded != null && session.loaded.isOf(graph)) return session.loaded;
+        Partitioned p = partitioned;
+        if (p == null || !p.isOf(graph)) {
+            p = new Partitioned(graph, partitioning.assign(graph.getStorage(), size()), size());
+            partitioned = p;
+        }
+        Partitioned toLoad = p;
+        session.loaded = null;
+        onAll(session, (w, in, out) -> {
+            out.writeByte(ClusterWorker.LOAD);
+            writePartition(graph, toLoad, w, out);
+            return null;
+        });
+        session.loaded = toLoad;
+        return toLoad;
+    }
+
+    /**
+     * Même résultat que BFS.getBFS : l'ordre de découverte du BFS séquentiel est reconstruit
+     * en classant chaque niveau par (rang du parent, position de l'arc chez le parent).
+     *
+     * @param keepLoaded vrai pour un graphe enregistré, que les requêtes suivantes réutilisent ; faux pour un graphe
+     *                   envoyé avec la requête, retiré des workers à la fin
+     */
+    public List<Edge> bfs(Graph graph, String startingVertexName, boolean keepLoaded) {
+        int start = searchVertex(graph, startingVertexName).getId();
+        return withSession(graph, keepLoaded, session -> bfs(session, graph, start));
+    }
+
+    private List<Edge> bfs(Session session, Graph graph, int start) {
+        Partitioned p = load(session, graph);
+        GraphStorage storage = graph.getStorage();
+        Vertex[] vertices = graph.getVertices();
+        reset(session, false, vertices.length);
+
+        List<Edge> traversalEdges = new ArrayList<>();
+        MessageBatch[] deliver = batches();
+        deliver[p.owner[start]].add(p.localOf[start], -1, -1);
+        int rank = 0;
+
+        while (true) {
+            MessageBatch[] toDeliver = deliver;
+            List<MessageBatch> found = onAll(session, (w, in, out) -> {
+                out.writeByte(ClusterWorker.BFS_DELIVER);
+                toDeliver[w].writeTo(out);
+                out.flush();
+                return MessageBatch.readFrom(in);
+            });
+
+            // Ordre global du niveau : le parent le plus tôt dans la file, puis son arc le plus tôt
+            List<long[]> level = new ArrayList<>();
+            for (int w = 0; w < found.size(); w++) {
+                MessageBatch batch = found.get(w);
+                for (int i = 0; i < batch.size(); i++) {
+                    level.add(new long[]{batch.value(i), p.members[w][batch.vertex(i)], batch.edge(i)});
+                }
+            }
+            if (level.isEmpty()) break;
+            level.sort(Comparator.comparingLong(entry -> entry[0]));
+
+            MessageBatch[] frontier = batches();
+            for (long[] entry : level) {
+                int v = (int) entry[1];
+                int edge = (int) entry[2];
+                if (edge >= 0) {
+                    int parent = storage.source(edge) == v ? storage.target(edge) : storage.source(edge);
+                    traversalEdges.add(new Edge(vertices[parent], vertices[v], storage.weight(edge)));
+                }
+                frontier[p.owner[v]].add(p.localOf[v], rank++, 0);
+            }
+
+            List<MessageBatch> remote = onAll(session, (w, in, out) -> {
+                out.writeByte(ClusterWorker.BFS_EXPAND);
+                frontier[w].writeTo(out);
+                out.flush();
+                return MessageBatch.readFrom(in);
+            });
+            deliver = route(p, remote);
+        }
+        return traversalEdges;
+    }
+
+    /**
+     * Plus court chemin entre deux sommets, arêtes prises dans les deux sens (comme Dijkstra.getDijkstra).
+     *
+     * @param keepLoaded voir {@link #bfs(Graph, String, boolean)}
+     */
+    public List<Edge> dijkstra(Graph graph, String startName, String endName, boolean keepLoaded) {
+        int start = searchVertex(graph, startName).getId();
+        int end = searchVertex(graph, endName).getId();
+        ShortestPaths paths = withSession(graph, keepLoaded, session -> shortestPaths(session, graph, start, false));
+        GraphStorage storage = graph.getStorage();
+
+        List<Edge> path = new ArrayList<>();
+        int current = end;
+        while (paths.parentEdge[current] >= 0) {
+            int edge = paths.parentEdge[current];
+            int parent = storage.source(edge) == current ? storage.target(edge) : storage.source(edge);
+            path.add(graph.isDirected() ? graph.edge(edge) : graph.edgeFrom(edge, parent));
+            current = parent;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Plus courts chemins depuis une source sur les arcs sortants, ou dans les deux sens si le graphe
+     * n'est pas orienté (comme BellmanFord.getBellmanFordPath) :
+     * le chemin de chaque sommet atteint, mis bout à bout dans l'ordre des sommets.
+     *
+     * @param keepLoaded voir {@link #bfs(Graph, String, boolean)}
+     */
+    public List<Edge> bellmanFord(Graph graph, String startName, boolean keepLoaded) {
+        int start = searchVertex(graph, startName).getId();
+        ShortestPaths paths = withSession(graph, keepLoaded,
+                session -> shortestPaths(session, graph, start, graph.isDirected()));
+        GraphStorage storage = graph.getStorage();
+
+        List<Edge> result = new ArrayList<>();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            if (v == start || paths.parentEdge[v] < 0) continue;
+            List<Edge> tmp = new ArrayList<>();
+            for (int cur = v; paths.parentEdge[cur] >= 0; ) {
+                int edge = paths.parentEdge[cur];
+                int parent = storage.target(edge) == cur ? storage.source(edge) : storage.target(edge);
+                tmp.add(graph.edgeFrom(edge, parent));
+                cur = parent;
+            }
+            Collections.reverse(tmp);
+            result.addAll(tmp);
+        }
+        return result;
+    }
+
+    /**
+     * @param keepLoaded voir {@link #bfs(Graph, String, boolean)}
+     * @return distances depuis la source (Long.MAX_VALUE si inatteignable)
+     */
+    public long[] distances(Graph graph, String startName, boolean outgoingOnly, boolean keepLoaded) {
+        int start = searchVertex(graph, startName).getId();
+        return withSession(graph, keepLoaded, session -> shortestPaths(session, graph, start, outgoingOnly)).dist;
+    }
+
+    private ShortestPaths shortestPaths(Session session, Graph graph, int start, boolean outgoingOnly) {
+        Partitioned p = load(session, graph);
+        int n = graph.vertexCount();
+        reset(session, outgoingOnly, n);
+
+        MessageBatch[] deliver = batches();
+        deliver[p.owner[start]].add(p.localOf[start], 0, -1);
+        for (int superstep = 0; ; superstep++) {
+            MessageBatch[] toDeliver = deliver;
+            boolean[] negativeCycle = new boolean[1];
+            List<MessageBatch> remote = onAll(session, (w, in, out) -> {
+                out.writeByte(ClusterWorker.RELAX);
+                toDeliver[w].writeTo(out);
+                out.flush();
+                MessageBatch batch = MessageBatch.readFrom(in);
+                if (in.readByte() == ClusterWorker.NEGATIVE_CYCLE) negativeCycle[0] = true;
+                return batch;
+            });
+            if (negativeCycle[0] || superstep > n) {
+                throw new IllegalArgumentException("Negative cycle reachable from " + graph.getVertices()[start].getName());
+            }
+            if (remote.stream().allMatch(batch -> batch.size() == 0)) break;
+            deliver = route(p, remote);
+        }
+
+        long[] dist = new long[n];
+        int[] parentEdge = new int[n];
+        onAll(session, (w, in, out) -> {
+            out.writeByte(ClusterWorker.COLLECT);
+            out.flush();
+            int count = in.readInt();
+            for (int local = 0; local < count; local++) {
+                int v = p.members[w][local];
+                dist[v] = in.readLong();
+                parentEdge[v] = in.readInt();
+            }
+            return null;
+        });
+        return new ShortestPaths(dist, parentEdge);
+    }
+
+    private void reset(Session session, boolean outgoingOnly, int vertexCount) {
+        onAll(session, (w, in, out) -> {
+            out.writeByte(ClusterWorker.RESET);
+            out.writeBoolean(outgoingOnly);
+            out.writeInt(vertexCount);
+            return null;
+        });
+    }
+
+    private MessageBatch[] route(Partitioned p, List<MessageBatch> remote) {
+        MessageBatch[] deliver = batches();
+        for (MessageBatch batch : remote) {
+            for (int i = 0; i < batch.size(); i++) {
+                int v = batch.vertex(i);
+                deliver[p.owner[v]].add(p.localOf[v], batch.value(i), batch.edge(i));
+            }
+        }
+        return deliver;
+    }
+
+    private MessageBatch[] batches() {
+        MessageBatch[] batches = new MessageBatch[size()];
+        for (int w = 0; w < batches.length; w++) batches[w] = new MessageBatch();
+        return batches;
+    }
+
+    private static void writePartition(Graph graph, Partitioned p, int w, DataOutputStream out) throws IOException {
+        GraphStorage storage = graph.getStorage();
+        AdjacencyCursor cursor = storage.cursor();
+        int[] members = p.members[w];
+
+        out.writeInt(members.length);
+        int offset = 0;
+        out.writeInt(offset);
+        for (int v : members) {
+            offset += storage.degree(v);
+            out.writeInt(offset);
+        }
+        for (int v : members) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                int target = cursor.target();
+                out.writeInt(p.owner[target] == w ? p.localOf[target] : -target - 1);
+            }
+        }
+        for (int v : members) {
+            cursor.reset(v);
+            while (cursor.next()) out.writeInt(cursor.weight());
+        }
+        for (int v : members) {
+            cursor.reset(v);
+            while (cursor.next()) out.writeInt(cursor.edge() << 1 | (cursor.outgoing() ? 0 : 1));
+        }
+    }
+
+    /**
+     * Exécute une requête sur une session libre, ouverte au besoin, puis la rend (ou la ferme si elle est cassée).
+     * Sans {@code keepLoaded}, la partie de {@code graph} est d'abord retirée des workers et son découpage oublié.
+     */
+    private <T> T withSession(Graph graph, boolean keepLoaded, Function<Session, T> work) {
+        Session session = borrow();
+        try {
+            return work.apply(session);
+        } finally {
+            if (!keepLoaded) unload(session, graph);
+            release(session);
+        }
+    }
+
+    private void unload(Session session, Graph graph) {
+        Partitioned p = partitioned;
+        if (p != null && p.isOf(graph)) partitioned = null;
+        if (session.loaded == null || session.broken) return;
+        session.loaded = null;
+        try {
+            onAll(session, (w, in, out) -> {
+                out.writeByte(ClusterWorker.UNLOAD);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // session marquée cassée : fermée par release, le résultat de la requête reste valable
+        }
+    }
+
+    private Session borrow() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cluster session", e);
+        }
+        synchronized (idle) {
+            if (closed) {
+                permits.release();
+                throw new IllegalStateException("Cluster is closed");
+            }
+            Session session = idle.pollFirst();
+            if (session != null) return session;
+        }
+        List<WorkerConnection> connections = new ArrayList<>();
+        try {
+            for (WorkerEndpoint worker : workers) connections.add(worker.connect());
+        } catch (IOException e) {
+            closeQuietly(connections);
+            permits.release();
+            throw new UncheckedIOException(e);
+        }
+        Session session = new Session(connections);
+        synchronized (idle) {
+            open.add(session);
+        }
+        return session;
+    }
+
+    private void release(Session session) {
+        boolean discard;
+        synchronized (idle) {
+            discard = session.broken || closed;
+            if (discard) open.remove(session);
+            else idle.addFirst(session); // la plus récente d'abord : sa partie chargée a le plus de chances de resservir
+        }
+        if (discard) closeQuietly(session.connections);
+        permits.release();
+    }
+
+    /**
+     * Envoie une commande à tous les workers de la session en parallèle et attend leurs réponses
+     * (acquittement compris). Un échec laisse des réponses en suspens : la session est alors marquée cassée.
+     */
+    private <T> List<T> onAll(Session session, Exchange<T> exchange) {
+        List<Callable<T>> calls = new ArrayList<>();
+        for (int w = 0; w < session.connections.size(); w++) {
+            int worker = w;
+            WorkerConnection connection = session.connections.get(w);
+            calls.add(() -> {
+                T result = exchange.call(worker, connection.in, connection.out);
+                connection.out.flush();
+                byte ack = connection.in.readByte();
+                if (ack != ClusterWorker.OK) throw new IOException("Worker " + worker + " failed");
+                return result;
+            });
+        }
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(calls)) results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            session.broken = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cluster workers", e);
+        } catch (ExecutionException e) {
+            session.broken = true;
+            if (e.getCause() instanceof IOException io) throw new UncheckedIOException(io);
+            throw new IllegalStateException("Cluster worker failed", e.getCause());
+        } catch (RejectedExecutionException e) {
+            session.broken = true;
+            throw new IllegalStateException("Cluster is closed", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<Session> sessions;
+        synchronized (idle) {
+            closed = true;
+            sessions = new ArrayList<>(open);
+            open.clear();
+            idle.clear();
+        }
+        executor.shutdownNow();
+        for (Session session : sessions) closeQuietly(session.connections);
+        closeAll(workers);
+    }
+
+    private static void closeQuietly(List<WorkerConnection> connections) {
+        for (WorkerConnection connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // connexion déjà perdue
+            }
+        }
+    }
+
+    private static void closeAll(List<? extends Closeable> resources) throws IOException {
+        IOException failure = null;
+        for (Closeable resource : resources) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
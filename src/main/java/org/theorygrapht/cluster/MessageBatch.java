@@ -0,0 +1,89 @@
+package org.theorygrapht.cluster;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Lot de messages (sommet, valeur, arête) échangés entre le coordinateur et les workers.
+ * Le sens de la valeur dépend de l'algorithme : clé d'ordre pour le BFS, distance pour les plus courts chemins.
+ */
+class MessageBatch {
+    private int size;
+    private int[] vertices;
+    private long[] values;
+    private int[] edges;
+
+    MessageBatch() {
+        this(16);
+    }
+
+    MessageBatch(int capacity) {
+        capacity = Math.max(capacity, 4);
+        vertices = new int[capacity];
+        values = new long[capacity];
+        edges = new int[capacity];
+    }
+
+    void add(int vertex, long value, int edge) {
+        if (size == vertices.length) {
+            int capacity = size * 2;
+            vertices = Arrays.copyOf(vertices, capacity);
+            values = Arrays.copyOf(values, capacity);
+            edges = Arrays.copyOf(edges, capacity);
+        }
+        vertices[size] = vertex;
+        values[size] = value;
+        edges[size] = edge;
+        size++;
+    }
+
+    /**
+     * Garde la plus petite valeur pour le message d'indice {@code index}.
+     */
+    void lower(int index, long value, int edge) {
+        if (value < values[index]) {
+            values[index] = value;
+            edges[index] = edge;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int vertex(int i) {
+        return vertices[i];
+    }
+
+    long value(int i) {
+        return values[i];
+    }
+
+    int edge(int i) {
+        return edges[i];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(vertices[i]);
+            out.writeLong(values[i]);
+            out.writeInt(edges[i]);
+        }
+    }
+
+    static MessageBatch readFrom(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        MessageBatch batch = new MessageBatch(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(in.readInt(), in.readLong(), in.readInt());
+        }
+        return batch;
+    }
+}
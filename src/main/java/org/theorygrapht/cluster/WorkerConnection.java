@@ -0,0 +1,35 @@
+package org.theorygrapht.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Connexion du coordinateur vers un worker, pour une session.
+ */
+class WorkerConnection implements Closeable {
+    private final Socket socket;
+    final DataInputStream in;
+    final DataOutputStream out;
+
+    WorkerConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        try {
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,119 @@
+package org.theorygrapht.cluster;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Un worker du cluster, lancé localement ou déjà démarré sur une autre machine :
+ * le coordinateur y ouvre une connexion par session.
+ */
+class WorkerEndpoint implements Closeable {
+    private static final String BOOT_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    private final String host;
+    private final List<String> jvmArgs; // null pour un worker démarré à part
+    private Process process;
+    private int port;
+
+    private WorkerEndpoint(String host, int port, List<String> jvmArgs) {
+        this.host = host;
+        this.port = port;
+        this.jvmArgs = jvmArgs;
+    }
+
+    /**
+     * Lance un worker dans une nouvelle JVM sur cette machine, avec le même classpath que le coordinateur.
+     */
+    static WorkerEndpoint spawn(List<String> jvmArgs) throws IOException {
+        WorkerEndpoint endpoint = new WorkerEndpoint(InetAddress.getLoopbackAddress().getHostAddress(), 0, jvmArgs);
+        endpoint.start();
+        return endpoint;
+    }
+
+    /**
+     * Un worker démarré à part (ClusterWorker &lt;port&gt; --bind &lt;adresse&gt;), donné par host:port.
+     */
+    static WorkerEndpoint of(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("Expected host:port, got : " + address);
+        String host = address.substring(0, colon).trim();
+        int port = Integer.parseInt(address.substring(colon + 1).trim());
+        return new WorkerEndpoint(host, port, null);
+    }
+
+    /**
+     * Ouvre une nouvelle session sur ce worker ; un worker local qui s'est arrêté est relancé.
+     */
+    synchronized WorkerConnection connect() throws IOException {
+        if (process != null && !process.isAlive()) start();
+        return new WorkerConnection(new Socket(host, port));
+    }
+
+    private void start() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"));
+        command.addAll(jvmArgs);
+        String classPath = System.getProperty("java.class.path");
+        command.add("-cp");
+        command.add(classPath);
+        if (isBootJar(classPath)) {
+            // Jar exécutable Spring Boot : les classes sont sous BOOT-INF, il faut passer par son lanceur
+            command.add("-Dloader.main=" + ClusterWorker.class.getName());
+            command.add(BOOT_LAUNCHER);
+        } else {
+            command.add(ClusterWorker.class.getName());
+        }
+        command.add("--attached");
+
+        // L'entrée standard reste ouverte : le worker s'arrête quand elle se ferme
+        Process started = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(started.getInputStream()));
+            String line = reader.readLine();
+            if (line == null || !line.startsWith("PORT ")) {
+                throw new IOException("Worker did not start : " + line);
+            }
+            port = Integer.parseInt(line.substring(5).trim());
+            process = started;
+        } catch (IOException | RuntimeException e) {
+            started.destroyForcibly();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (process == null) return;
+        try {
+            process.getOutputStream().close();
+        } finally {
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean isBootJar(String classPath) {
+        if (classPath.contains(File.pathSeparator) || !classPath.endsWith(".jar")) return false;
+        try (JarFile jar = new JarFile(classPath)) {
+            return jar.getEntry("BOOT-INF/classes/") != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
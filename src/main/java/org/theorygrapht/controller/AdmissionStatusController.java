@@ -0,0 +1,25 @@
+package org.theorygrapht.controller;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.theorygrapht.admission.AdmissionControl;
+import org.theorygrapht.admission.AdmissionStatus;
+
+/**
+ * Charge de calcul courante : budget total, part réservée et requêtes en attente.
+ */
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+public class AdmissionStatusController {
+    private final AdmissionControl admission;
+
+    public AdmissionStatusController(AdmissionControl admission) {
+        this.admission = admission;
+    }
+
+    @GetMapping("/admission")
+    public AdmissionStatus status() {
+        return admission.status();
+    }
+}
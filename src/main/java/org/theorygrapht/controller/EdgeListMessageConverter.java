@@ -0,0 +1,143 @@
+package org.theorygrapht.controller;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Vertex;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écrit une réponse List&lt;Edge&gt; au format binaire {@link #MEDIA_TYPE}, sur demande
+ * (Accept: application/vnd.theorygrapht.edges) ; JSON reste le format par défaut.
+ *
+ * Format, entiers 32 bits big-endian :
+ * <pre>
+ * nombre de noms N, puis N fois : longueur en octets + nom en UTF-8
+ * nombre d'arêtes M, puis M fois : source, cible (indices dans la table des noms), poids
+ * </pre>
+ * La table ne contient que les sommets présents dans les arêtes, dans l'ordre de première apparition.
+ */
+public class EdgeListMessageConverter extends AbstractGenericHttpMessageConverter<List<Edge>> {
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.theorygrapht.edges";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public EdgeListMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) return false;
+        ResolvableType resolved = ResolvableType.forType(type != null ? type : clazz);
+        if (!List.class.isAssignableFrom(resolved.toClass())) return false;
+        Class<?> element = resolved.asCollection().resolveGeneric(0);
+        return element != null && Edge.class.isAssignableFrom(element);
+    }
+
+    @Override
+    protected void writeInternal(List<Edge> edges, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // Les sommets d'un même graphe ont des ids denses : table id -> indice local, sans boxing
+        int maxId = -1;
+        for (Edge edge : edges) {
+            maxId = Math.max(maxId, Math.max(edge.getSource().getId(), edge.getTarget().getId()));
+        }
+        int[] localIds = new int[maxId + 1];
+        Arrays.fill(localIds, -1);
+        Map<Vertex, Integer> unindexed = new IdentityHashMap<>();
+        List<Vertex> names = new ArrayList<>();
+
+        int[] triples = new int[edges.size() * 3];
+        int i = 0;
+        for (Edge edge : edges) {
+            triples[i++] = localId(edge.getSource(), localIds, unindexed, names);
+            triples[i++] = localId(edge.getTarget(), localIds, unindexed, names);
+            triples[i++] = edge.getWeight();
+        }
+
+        OutputStream out = outputMessage.getBody();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(names.size());
+        for (Vertex vertex : names) {
+            byte[] name = vertex.getName().getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < Integer.BYTES + name.length) drain(buffer, out);
+            buffer.putInt(name.length);
+            if (name.length > buffer.remaining()) {
+                drain(buffer, out);
+                out.write(name);
+            } else {
+                buffer.put(name);
+            }
+        }
+        if (buffer.remaining() < Integer.BYTES) drain(buffer, out);
+        buffer.putInt(edges.size());
+        for (int value : triples) {
+            if (buffer.remaining() < Integer.BYTES) drain(buffer, out);
+            buffer.putInt(value);
+        }
+        drain(buffer, out);
+        out.flush();
+    }
+
+    @Override
+    public List<Edge> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Binary edge lists are response-only", inputMessage);
+    }
+
+    @Override
+    protected List<Edge> readInternal(Class<? extends List<Edge>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Binary edge lists are response-only", inputMessage);
+    }
+
+    /**
+     * Indice du sommet dans la table des noms, ajouté à la première rencontre.
+     * Un sommet hors index (id -1) est reconnu par identité, Vertex ne redéfinissant pas equals.
+     */
+    private static int localId(Vertex vertex, int[] localIds, Map<Vertex, Integer> unindexed, List<Vertex> names) {
+        int id = vertex.getId();
+        if (id >= 0) {
+            if (localIds[id] < 0) {
+                localIds[id] = names.size();
+                names.add(vertex);
+            }
+            return localIds[id];
+        }
+        Integer local = unindexed.get(vertex);
+        if (local == null) {
+            local = names.size();
+            unindexed.put(vertex, local);
+            names.add(vertex);
+        }
+        return local;
+    }
+
+    private static void drain(ByteBuffer buffer, OutputStream out) throws IOException {
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+}
@@ -1,91 +1,195 @@
 package org.theorygrapht.controller;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.web.bind.annotation.*;
 
+import org.theorygrapht.admission.AdmissionControl;
+import org.theorygrapht.cluster.GraphCluster;
+import org.theorygrapht.metrics.GraphRequestMetrics;
+import org.theorygrapht.model.BetweennessResult;
+import org.theorygrapht.model.ComponentsResult;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.ReachabilityResult;
+import org.theorygrapht.model.ShortestPathResult;
 import org.theorygrapht.util.GraphUtils;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static org.theorygrapht.service.BFS.getBFS;
 import static org.theorygrapht.service.BellmanFord.getBellmanFordPath;
 import static org.theorygrapht.service.BellmanFord.getBellmanFordTable;
+import static org.theorygrapht.service.Betweenness.getBetweenness;
+import static org.theorygrapht.service.ConnectedComponents.getComponents;
 import org.theorygrapht.model.BelmanFordTableLine;
 import static org.theorygrapht.service.DFS.getDFS;
 import static org.theorygrapht.service.Dijkstra.getDijkstra;
 import static org.theorygrapht.service.FloydWarshall.getFloydWarshall;
 import static org.theorygrapht.service.FloydWarshall.getMatrices;
 import org.theorygrapht.model.FloydResult;
+import static org.theorygrapht.service.KShortestPaths.getKShortestPaths;
 import static org.theorygrapht.service.Kruskal.getKruskal;
 import static org.theorygrapht.service.Prim.getPrim;
+import static org.theorygrapht.service.Reachability.isReachable;
+import static org.theorygrapht.service.ShortestPath.getAllPairsShortestPaths;
+import static org.theorygrapht.service.ShortestPath.getShortestPath;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
 public class GraphController {
+    private final GraphRequestMetrics metrics;
+    private final AdmissionControl admission;
+    private final GraphCluster cluster; // null hors mode cluster
+
+    public GraphController(GraphRequestMetrics metrics, AdmissionControl admission,
+                           ObjectProvider<GraphCluster> cluster) {
+        this.metrics = metrics;
+        this.admission = admission;
+        this.cluster = cluster.getIfAvailable();
+    }
 
     @PostMapping("/prim")
     public List<Edge> prim(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                           @RequestParam(defaultValue = "true") boolean directed,
                            @RequestParam String startingVertexName) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getPrim(graph, startingVertexName);
+        return run("/prim", graphJson, directed, graph -> getPrim(graph, startingVertexName));
     }
 
     @PostMapping("/kruskal")
-    public List<Edge> kruskal(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getKruskal(graph);
+    public List<Edge> kruskal(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                              @RequestParam(defaultValue = "true") boolean directed) {
+        return run("/kruskal", graphJson, directed, graph -> getKruskal(graph));
     }
 
     @PostMapping("/dijkstra")
     public List<Edge> dijkstra(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                               @RequestParam(defaultValue = "true") boolean directed,
                                @RequestParam String start,
                                @RequestParam String end) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getDijkstra(graph, start, end);
+        return run("/dijkstra", graphJson, directed, graph -> cluster != null
+                ? cluster.dijkstra(graph, start, end, false)
+                : getDijkstra(graph, start, end));
     }
 
     @PostMapping("/bfs")
     public List<Edge> bfs(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                          @RequestParam(defaultValue = "true") boolean directed,
                           @RequestParam String startingVertexName) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getBFS(graph, startingVertexName);
+        return run("/bfs", graphJson, directed, graph -> cluster != null
+                ? cluster.bfs(graph, startingVertexName, false)
+                : getBFS(graph, startingVertexName));
     }
 
     @PostMapping("/dfs")
     public List<Edge> dfs(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                          @RequestParam(defaultValue = "true") boolean directed,
                           @RequestParam String startingVertexName) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getDFS(graph, startingVertexName);
+        return run("/dfs", graphJson, directed, graph -> getDFS(graph, startingVertexName));
     }
 
     @PostMapping("/floydWarshall")
     public List<Edge> FloydWarshall(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                    @RequestParam(defaultValue = "true") boolean directed,
                                     @RequestParam String start,
                                     @RequestParam String end) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getFloydWarshall(graph, start, end);
+        return run("/floydWarshall", graphJson, directed, graph -> getFloydWarshall(graph, start, end));
     }
 
     @PostMapping("/floydWarshall/matrices")
-    public FloydResult floydWarshallMatrices(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getMatrices(graph);
+    public FloydResult floydWarshallMatrices(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                             @RequestParam(defaultValue = "true") boolean directed) {
+        return run("/floydWarshall/matrices", graphJson, directed, graph -> getMatrices(graph));
     }
 
     @PostMapping("/bellmanFord")
     public List<Edge> bellmanFord(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                  @RequestParam(defaultValue = "true") boolean directed,
                                   @RequestParam String start) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getBellmanFordPath(graph, start);
+        return run("/bellmanFord", graphJson, directed, graph -> cluster != null
+                ? cluster.bellmanFord(graph, start, false)
+                : getBellmanFordPath(graph, start));
     }
 
     @PostMapping("/bellmanFord/table")
     public List<BelmanFordTableLine> bellmanFordTable(
             @RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+            @RequestParam(defaultValue = "true") boolean directed,
             @RequestParam String start) {
-        Graph graph = GraphUtils.fromMap(graphJson);
-        return getBellmanFordTable(graph, start);
+        return run("/bellmanFord/table", graphJson, directed, graph -> getBellmanFordTable(graph, start));
+    }
+
+    /**
+     * Plus court chemin avec choix automatique de l'algorithme ; sans {@code end}, distances vers tous les sommets.
+     */
+    @PostMapping("/shortestPath")
+    public ShortestPathResult shortestPath(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                           @RequestParam(defaultValue = "true") boolean directed,
+                                           @RequestParam String start,
+                                           @RequestParam(required = false) String end) {
+        return run("/shortestPath", graphJson, directed, graph -> getShortestPath(graph, start, end));
+    }
+
+    @PostMapping("/shortestPath/all")
+    public ShortestPathResult allPairsShortestPaths(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                                    @RequestParam(defaultValue = "true") boolean directed) {
+        return run("/shortestPath/all", graphJson, directed, graph -> getAllPairsShortestPaths(graph));
+    }
+
+    @PostMapping("/components")
+    public ComponentsResult components(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                       @RequestParam(defaultValue = "true") boolean directed) {
+        return run("/components", graphJson, directed, graph -> getComponents(graph));
+    }
+
+    @PostMapping("/reachable")
+    public ReachabilityResult reachable(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                        @RequestParam(defaultValue = "true") boolean directed,
+                                        @RequestParam String start,
+                                        @RequestParam String end) {
+        return run("/reachable", graphJson, directed, graph -> isReachable(graph, start, end));
+    }
+
+    /**
+     * @param samples nombre de sources tirées au hasard (calcul approché) ; absent : toutes les sources
+     * @param limit   nombre de sommets renvoyés, les plus centraux d'abord
+     */
+    @PostMapping("/betweenness")
+    public BetweennessResult betweenness(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                         @RequestParam(defaultValue = "true") boolean directed,
+                                         @RequestParam(required = false) Integer samples,
+                                         @RequestParam(defaultValue = "42") long seed,
+                                         @RequestParam(required = false) Integer limit) {
+        return run("/betweenness", graphJson, directed, graph -> getBetweenness(graph, samples, seed, limit));
+    }
+
+    /**
+     * @return les k plus courts chemins sans boucle de start à end, du plus court au plus long
+     */
+    @PostMapping("/kShortestPaths")
+    public List<List<Edge>> kShortestPaths(@RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                                           @RequestParam(defaultValue = "true") boolean directed,
+                                           @RequestParam String start,
+                                           @RequestParam String end,
+                                           @RequestParam(defaultValue = "3") int k) {
+        return run("/kShortestPaths", graphJson, directed, graph -> getKShortestPaths(graph, start, end, k));
+    }
+
+    /**
+     * @param directed false : le graphe reçu est non orienté, chaque arête listée dans les deux sens n'est gardée qu'une fois
+     */
+    private <T> T run(String endpoint, Map<String, List<GraphInput.Neighbor>> graphJson, boolean directed,
+                      Function<Graph, T> algorithm) {
+        // Le graphe ne vit que le temps de la requête : son stockage est rendu dès le calcul fini
+        try (Graph graph = metrics.time(endpoint, GraphRequestMetrics.BUILD,
+                () -> GraphUtils.fromMap(graphJson, directed))) {
+            metrics.recordSize(endpoint, graph);
+            AdmissionControl.Permit permit = metrics.time(endpoint, GraphRequestMetrics.ADMISSION,
+                    () -> admission.admit(endpoint, graph));
+            try (permit) {
+                return metrics.time(endpoint, GraphRequestMetrics.COMPUTE, () -> algorithm.apply(graph));
+            }
+        }
     }
 }
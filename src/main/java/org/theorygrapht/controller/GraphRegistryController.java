@@ -0,0 +1,353 @@
+package org.theorygrapht.controller;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.theorygrapht.admission.AdmissionControl;
+import org.theorygrapht.cluster.GraphCluster;
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.metrics.GraphRequestMetrics;
+import org.theorygrapht.model.BelmanFordTableLine;
+import org.theorygrapht.model.BetweennessResult;
+import org.theorygrapht.model.ComponentsResult;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.EdgeUpdate;
+import org.theorygrapht.model.FloydResult;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInfo;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.ImportResult;
+import org.theorygrapht.model.ReachabilityResult;
+import org.theorygrapht.model.ShortestPathResult;
+import org.theorygrapht.store.GraphRegistry;
+import org.theorygrapht.store.GraphVersion;
+import org.theorygrapht.util.EdgeListLoader;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.theorygrapht.service.BFS.getBFS;
+import static org.theorygrapht.service.BellmanFord.getBellmanFordPath;
+import static org.theorygrapht.service.BellmanFord.getBellmanFordTable;
+import static org.theorygrapht.service.Betweenness.getBetweenness;
+import static org.theorygrapht.service.ConnectedComponents.getComponents;
+import static org.theorygrapht.service.DFS.getDFS;
+import static org.theorygrapht.service.Dijkstra.getDijkstra;
+import static org.theorygrapht.service.FloydWarshall.getFloydWarshall;
+import static org.theorygrapht.service.FloydWarshall.getMatrices;
+import static org.theorygrapht.service.KShortestPaths.getKShortestPaths;
+import static org.theorygrapht.service.Kruskal.getKruskal;
+import static org.theorygrapht.service.Prim.getPrim;
+import static org.theorygrapht.service.Reachability.areReachable;
+import static org.theorygrapht.service.Reachability.isReachable;
+import static org.theorygrapht.service.ShortestPath.getAllPairsShortestPaths;
+import static org.theorygrapht.service.ShortestPath.getShortestPath;
+
+/**
+ * Graphes enregistrés côté serveur : envoi ou génération une seule fois,
+ * puis mêmes algorithmes que {@link GraphController} sans renvoyer le graphe.
+ */
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/graphs")
+public class GraphRegistryController {
+    private static final int IMPORT_BYTES_PER_EDGE = 8; // "12 345\n" : estimation haute du nombre d'arêtes
+    private final GraphRegistry registry;
+    private final GraphRequestMetrics metrics;
+    private final AdmissionControl admission;
+    private final GraphCluster cluster; // null hors mode cluster
+    private final long importMaxBytes;
+    private final Path importDir; // null : pas d'import de fichiers du serveur
+
+    /**
+     * @param importMaxSize taille maximale d'une liste d'arêtes envoyée dans le corps
+     * @param importDir     dossier dont les fichiers peuvent être importés par leur chemin ; vide pour l'interdire
+     */
+    public GraphRegistryController(GraphRegistry registry, GraphRequestMetrics metrics, AdmissionControl admission,
+                                   ObjectProvider<GraphCluster> cluster,
+                                   @Value("${theorygrapht.import.max-size:2GB}") DataSize importMaxSize,
+                                   @Value("${theorygrapht.import.dir:}") String importDir) throws IOException {
+        this.registry = registry;
+        this.metrics = metrics;
+        this.admission = admission;
+        this.cluster = cluster.getIfAvailable();
+        this.importMaxBytes = importMaxSize.toBytes();
+        this.importDir = importDir.isBlank() ? null : Path.of(importDir).toRealPath();
+    }
+
+    @GetMapping
+    public List<GraphInfo> list() {
+        List<GraphInfo> infos = new ArrayList<>();
+        for (Map.Entry<String, GraphVersion> entry : registry.acquireAll().entrySet()) {
+            try (GraphVersion version = entry.getValue()) {
+                infos.add(new GraphInfo(entry.getKey(), version.graph(), version.version()));
+            }
+        }
+        return infos;
+    }
+
+    @PutMapping("/{name}")
+    public GraphInfo put(@PathVariable String name,
+                         @RequestBody Map<String, List<GraphInput.Neighbor>> graphJson,
+                         @RequestParam(defaultValue = "true") boolean directed) {
+        Graph graph = metrics.time("/graphs/{name}", GraphRequestMetrics.BUILD,
+                () -> GraphUtils.fromMap(graphJson, directed));
+        try (GraphVersion version = registry.put(name, graph)) {
+            return new GraphInfo(name, version.graph(), version.version());
+        }
+    }
+
+    /**
+     * Ajoute, repondère ou retire des arêtes (distance absente) sans renvoyer le graphe. Les calculs en cours
+     * finissent sur la version qu'ils ont prise ; les suivants voient la nouvelle.
+     */
+    @PatchMapping("/{name}/edges")
+    public GraphInfo updateEdges(@PathVariable String name, @RequestBody List<EdgeUpdate> updates) {
+        try (GraphVersion version = metrics.time("/graphs/{name}/edges", GraphRequestMetrics.BUILD,
+                () -> registry.update(name, updates))) {
+            return new GraphInfo(name, version.graph(), version.version());
+        }
+    }
+
+    /**
+     * Enregistre un graphe envoyé en liste d'arêtes texte ("source cible [poids]" par ligne), bien plus rapide
+     * à lire que le JSON pour les gros graphes. Le corps, limité à theorygrapht.import.max-size (413 au-delà),
+     * est copié dans un fichier temporaire, lu en parallèle par {@link EdgeListLoader} ; le débit renvoyé ne compte
+     * que la lecture et la construction.
+     */
+    @PostMapping(value = "/{name}/import", params = "!path",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ImportResult importEdgeList(@PathVariable String name, InputStream body,
+                                       @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long length,
+                                       @RequestParam(defaultValue = "true") boolean directed) throws IOException {
+        if (length != null && length > importMaxBytes) throw tooLarge();
+        Path file = Files.createTempFile("theorygrapht-", ".edges");
+        try {
+            long bytes = 0;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[64 * 1024];
+                for (int read; (read = body.read(buffer)) >= 0; ) {
+                    bytes += read;
+                    // Corps sans Content-Length (chunked) : la limite est vérifiée pendant la copie
+                    if (bytes > importMaxBytes) throw tooLarge();
+                    out.write(buffer, 0, read);
+                }
+            }
+            return importFile(name, file, bytes, directed);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Importe un fichier déjà présent sur le serveur, sous theorygrapht.import.dir, sans le copier :
+     * {@code path} est relatif à ce dossier. 403 si l'option n'est pas configurée, 404 si le fichier
+     * n'existe pas ou sort du dossier.
+     */
+    @PostMapping(value = "/{name}/import", params = "path")
+    public ImportResult importServerFile(@PathVariable String name, @RequestParam String path,
+                                         @RequestParam(defaultValue = "true") boolean directed) throws IOException {
+        if (importDir == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Server-side imports are disabled");
+        }
+        Path file;
+        try {
+            // Chemin réel : ni "..", ni lien symbolique ne sortent du dossier
+            file = importDir.resolve(path).toRealPath();
+        } catch (IOException | InvalidPathException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found : " + path);
+        }
+        if (!file.startsWith(importDir) || !Files.isRegularFile(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found : " + path);
+        }
+        return importFile(name, file, Files.size(file), directed);
+    }
+
+    /**
+     * Lecture admise comme un calcul : la taille du graphe n'est connue qu'après lecture, le nombre d'arêtes est
+     * estimé d'après celle du fichier (une ligne courte par arête), et autant de sommets que d'arêtes au plus.
+     */
+    private ImportResult importFile(String name, Path file, long bytes, boolean directed) {
+        String endpoint = "/graphs/{name}/import";
+        long edges = bytes / IMPORT_BYTES_PER_EDGE + 1;
+        AdmissionControl.Permit permit = metrics.time(endpoint, GraphRequestMetrics.ADMISSION,
+                () -> admission.admit(endpoint, edges, edges));
+        try (permit) {
+            long start = System.nanoTime();
+            Graph graph = metrics.time(endpoint, GraphRequestMetrics.BUILD, () -> {
+                try {
+                    return EdgeListLoader.load(file, GraphUtils.getDefaultStorage(), directed);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long nanos = System.nanoTime() - start;
+            try (GraphVersion version = registry.put(name, graph)) {
+                return new ImportResult(name, version.graph(), version.version(), bytes, nanos);
+            }
+        }
+    }
+
+    private ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Edge list larger than theorygrapht.import.max-size (" + importMaxBytes + " bytes)");
+    }
+
+    @PostMapping("/{name}/generate")
+    public GraphInfo generate(@PathVariable String name,
+                              @RequestParam GraphFamily family,
+                              @RequestParam int vertices,
+                              @RequestParam(defaultValue = "42") long seed,
+                              @RequestParam(defaultValue = "true") boolean directed) {
+        Graph graph = metrics.time("/graphs/{name}/generate", GraphRequestMetrics.BUILD,
+                () -> GraphGenerators.toGraph(family, vertices, seed, GraphUtils.getDefaultStorage(), directed));
+        try (GraphVersion version = registry.put(name, graph)) {
+            return new GraphInfo(name, version.graph(), version.version());
+        }
+    }
+
+    /**
+     * Télécharge un graphe synthétique au format d'adjacence, écrit au fil de l'eau.
+     */
+    @GetMapping(value = "/generate", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody download(@RequestParam GraphFamily family,
+                                          @RequestParam int vertices,
+                                          @RequestParam(defaultValue = "42") long seed) {
+        return out -> GraphGenerators.writeAdjacency(family, vertices, seed, out);
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> delete(@PathVariable String name) {
+        return registry.remove(name)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    @GetMapping("/{name}/prim")
+    public List<Edge> prim(@PathVariable String name, @RequestParam String startingVertexName) {
+        return run("/graphs/{name}/prim", name, graph -> getPrim(graph, startingVertexName));
+    }
+
+    @GetMapping("/{name}/kruskal")
+    public List<Edge> kruskal(@PathVariable String name) {
+        return run("/graphs/{name}/kruskal", name, graph -> getKruskal(graph));
+    }
+
+    @GetMapping("/{name}/dijkstra")
+    public List<Edge> dijkstra(@PathVariable String name, @RequestParam String start, @RequestParam String end) {
+        return run("/graphs/{name}/dijkstra", name, graph -> cluster != null
+                ? cluster.dijkstra(graph, start, end, true)
+                : getDijkstra(graph, start, end));
+    }
+
+    @GetMapping("/{name}/bfs")
+    public List<Edge> bfs(@PathVariable String name, @RequestParam String startingVertexName) {
+        return run("/graphs/{name}/bfs", name, graph -> cluster != null
+                ? cluster.bfs(graph, startingVertexName, true)
+                : getBFS(graph, startingVertexName));
+    }
+
+    @GetMapping("/{name}/dfs")
+    public List<Edge> dfs(@PathVariable String name, @RequestParam String startingVertexName) {
+        return run("/graphs/{name}/dfs", name, graph -> getDFS(graph, startingVertexName));
+    }
+
+    @GetMapping("/{name}/floydWarshall")
+    public List<Edge> floydWarshall(@PathVariable String name, @RequestParam String start, @RequestParam String end) {
+        return run("/graphs/{name}/floydWarshall", name, graph -> getFloydWarshall(graph, start, end));
+    }
+
+    @GetMapping("/{name}/floydWarshall/matrices")
+    public FloydResult floydWarshallMatrices(@PathVariable String name) {
+        return run("/graphs/{name}/floydWarshall/matrices", name, graph -> getMatrices(graph));
+    }
+
+    @GetMapping("/{name}/bellmanFord")
+    public List<Edge> bellmanFord(@PathVariable String name, @RequestParam String start) {
+        return run("/graphs/{name}/bellmanFord", name, graph -> cluster != null
+                ? cluster.bellmanFord(graph, start, true)
+                : getBellmanFordPath(graph, start));
+    }
+
+    @GetMapping("/{name}/bellmanFord/table")
+    public List<BelmanFordTableLine> bellmanFordTable(@PathVariable String name, @RequestParam String start) {
+        return run("/graphs/{name}/bellmanFord/table", name, graph -> getBellmanFordTable(graph, start));
+    }
+
+    @GetMapping("/{name}/shortestPath")
+    public ShortestPathResult shortestPath(@PathVariable String name, @RequestParam String start,
+                                           @RequestParam(required = false) String end) {
+        return run("/graphs/{name}/shortestPath", name, graph -> getShortestPath(graph, start, end));
+    }
+
+    @GetMapping("/{name}/shortestPath/all")
+    public ShortestPathResult allPairsShortestPaths(@PathVariable String name) {
+        return run("/graphs/{name}/shortestPath/all", name, graph -> getAllPairsShortestPaths(graph));
+    }
+
+    @GetMapping("/{name}/components")
+    public ComponentsResult components(@PathVariable String name) {
+        return run("/graphs/{name}/components", name, graph -> getComponents(graph));
+    }
+
+    /**
+     * Le premier appel construit l'index d'accessibilité du graphe, les suivants y répondent en O(1).
+     */
+    @GetMapping("/{name}/reachable")
+    public ReachabilityResult reachable(@PathVariable String name, @RequestParam String start,
+                                        @RequestParam String end) {
+        return run("/graphs/{name}/reachable", name, graph -> isReachable(graph, start, end));
+    }
+
+    /**
+     * @param pairs couples [départ, arrivée]
+     */
+    @PostMapping("/{name}/reachable")
+    public boolean[] reachable(@PathVariable String name, @RequestBody List<List<String>> pairs) {
+        return run("/graphs/{name}/reachable", name, graph -> areReachable(graph, pairs));
+    }
+
+    @GetMapping("/{name}/betweenness")
+    public BetweennessResult betweenness(@PathVariable String name,
+                                         @RequestParam(required = false) Integer samples,
+                                         @RequestParam(defaultValue = "42") long seed,
+                                         @RequestParam(required = false) Integer limit) {
+        return run("/graphs/{name}/betweenness", name, graph -> getBetweenness(graph, samples, seed, limit));
+    }
+
+    @GetMapping("/{name}/kShortestPaths")
+    public List<List<Edge>> kShortestPaths(@PathVariable String name, @RequestParam String start,
+                                           @RequestParam String end, @RequestParam(defaultValue = "3") int k) {
+        return run("/graphs/{name}/kShortestPaths", name, graph -> getKShortestPaths(graph, start, end, k));
+    }
+
+    private <T> T run(String endpoint, String name, Function<Graph, T> algorithm) {
+        try (GraphVersion version = registry.acquire(name)) {
+            Graph graph = version.graph();
+            metrics.recordSize(endpoint, graph);
+            AdmissionControl.Permit permit = metrics.time(endpoint, GraphRequestMetrics.ADMISSION,
+                    () -> admission.admit(endpoint, graph));
+            try (permit) {
+                return metrics.time(endpoint, GraphRequestMetrics.COMPUTE, () -> algorithm.apply(graph));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.theorygrapht.controller;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Documentation OpenAPI (springdoc, Swagger UI) chargée à la demande : ses beans ne sont créés qu'au premier
+ * appel de /v3/api-docs ou /swagger-ui.html, et plus au démarrage, où ils ralentissent la première réponse
+ * sur les endpoints de graphes. Activé par theorygrapht.openapi.lazy (profil Maven fast-startup).
+ */
+@Configuration
+@ConditionalOnProperty("theorygrapht.openapi.lazy")
+public class LazyOpenApiConfig {
+    private static final String SPRINGDOC = "org.springdoc.";
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyOpenApiBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringdoc(beanFactory, definition) && !neededAtStartup(beanFactory, name)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Restent au démarrage : la configuration MVC de Swagger UI (ses ressources statiques) et
+     * SpringDocUIConfiguration, qui relève la version du webjar swagger-ui utilisée dans leurs chemins.
+     */
+    private static boolean neededAtStartup(ConfigurableListableBeanFactory beanFactory, String name) {
+        Class<?> type = beanFactory.getType(name, false);
+        return type != null && (WebMvcConfigurer.class.isAssignableFrom(type)
+                || type.getName().equals(SPRINGDOC + "core.configuration.SpringDocUIConfiguration"));
+    }
+
+    /**
+     * Bean déclaré par une classe springdoc, ou par une méthode @Bean d'une configuration springdoc.
+     */
+    private static boolean isSpringdoc(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className != null && className.startsWith(SPRINGDOC)) return true;
+        String factory = definition.getFactoryBeanName();
+        if (factory == null || !beanFactory.containsBeanDefinition(factory)) return false;
+        String factoryClass = beanFactory.getBeanDefinition(factory).getBeanClassName();
+        return factoryClass != null && factoryClass.startsWith(SPRINGDOC);
+    }
+}
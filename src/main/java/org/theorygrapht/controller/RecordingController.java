@@ -0,0 +1,46 @@
+package org.theorygrapht.controller;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.theorygrapht.metrics.FlightRecording;
+import org.theorygrapht.metrics.RecordingStatus;
+
+/**
+ * Enregistrement JFR à la demande : POST /jfr/recording?duration=30s, puis GET /jfr/recording
+ * pour savoir quand le fichier est écrit (état STOPPED).
+ */
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+public class RecordingController {
+    private final FlightRecording recording;
+
+    public RecordingController(FlightRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * @param duration durée au format des propriétés Spring (30s, 5m) ou ISO-8601 (PT30S)
+     */
+    @PostMapping("/jfr/recording")
+    public ResponseEntity<RecordingStatus> start(@RequestParam(defaultValue = "30s") String duration) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(recording.start(DurationStyle.detectAndParse(duration)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid duration " + duration, e);
+        }
+    }
+
+    @GetMapping("/jfr/recording")
+    public ResponseEntity<RecordingStatus> status() {
+        RecordingStatus status = recording.status();
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,20 @@
+package org.theorygrapht.controller;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Ajoute le format binaire des listes d'arêtes après les convertisseurs par défaut :
+ * sans en-tête Accept explicite, Jackson reste choisi et la réponse est en JSON.
+ */
+@Configuration
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new EdgeListMessageConverter());
+    }
+}
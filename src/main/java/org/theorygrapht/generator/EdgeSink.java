@@ -0,0 +1,10 @@
+package org.theorygrapht.generator;
+
+/**
+ * Receives the edges produced by a {@link GraphFamily}, one call per edge.
+ * Vertices are dense ids in [0, n).
+ */
+@FunctionalInterface
+public interface EdgeSink {
+    void edge(int source, int target, int weight);
+}
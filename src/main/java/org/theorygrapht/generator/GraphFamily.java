@@ -0,0 +1,249 @@
+package org.theorygrapht.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Familles de graphes synthétiques, toutes déterministes pour une graine donnée.
+ * Chaque famille émet ses arêtes une seule fois dans un {@link EdgeSink} ;
+ * pour les familles non orientées, c'est l'appelant qui décide de les dupliquer dans les deux sens.
+ */
+public enum GraphFamily {
+    /** Grille carrée 4-connexe, poids uniformes. */
+    GRID(false) {
+        @Override
+        public int generate(int n, long seed, EdgeSink sink) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int side = side(n);
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    int v = r * side + c;
+                    if (c + 1 < side) sink.edge(v, v + 1, weight(random));
+                    if (r + 1 < side) sink.edge(v, v + side, weight(random));
+                }
+            }
+            return side * side;
+        }
+    },
+
+    /** Graphe aléatoire G(n, p) avec un degré moyen de 8, généré en O(n + m) par sauts géométriques. */
+    ERDOS_RENYI(false) {
+        @Override
+        public int generate(int n, long seed, EdgeSink sink) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double p = n > 1 ? Math.min(1.0, AVERAGE_DEGREE / (n - 1.0)) : 0.0;
+            if (p <= 0.0) return n;
+            if (p >= 1.0) {
+                for (int v = 1; v < n; v++) {
+                    for (int w = 0; w < v; w++) sink.edge(v, w, weight(random));
+                }
+                return n;
+            }
+            double logQ = Math.log(1.0 - p);
+            long v = 1;
+            long w = -1;
+            while (v < n) {
+                w += 1 + (long) Math.floor(Math.log(1.0 - random.nextDouble()) / logQ);
+                while (w >= v && v < n) {
+                    w -= v;
+                    v++;
+                }
+                if (v < n) sink.edge((int) v, (int) w, weight(random));
+            }
+            return n;
+        }
+    },
+
+    /** Attachement préférentiel : chaque nouveau sommet se relie à 4 sommets existants. */
+    BARABASI_ALBERT(false) {
+        @Override
+        public int generate(int n, long seed, EdgeSink sink) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int m = Math.min(ATTACHMENTS, Math.max(n - 1, 0));
+            int[] endpoints = new int[2 * m * Math.max(n, 1) + m * m];
+            int size = 0;
+
+            // Petit noyau complet pour démarrer
+            for (int v = 0; v <= m && v < n; v++) {
+                for (int w = 0; w < v; w++) {
+                    sink.edge(v, w, weight(random));
+                    endpoints[size++] = v;
+                    endpoints[size++] = w;
+                }
+            }
+
+            int[] chosen = new int[m];
+            for (int v = m + 1; v < n; v++) {
+                int count = 0;
+                while (count < m) {
+                    int target = endpoints[random.nextInt(size)];
+                    boolean duplicate = false;
+                    for (int i = 0; i < count; i++) {
+                        if (chosen[i] == target) {
+                            duplicate = true;
+                            break;
+                        }
+                    }
+                    if (!duplicate) chosen[count++] = target;
+                }
+                for (int i = 0; i < m; i++) {
+                    sink.edge(v, chosen[i], weight(random));
+                    endpoints[size++] = v;
+                    endpoints[size++] = chosen[i];
+                }
+            }
+            return n;
+        }
+    },
+
+    /**
+     * Réseau de type routier : grille aux coordonnées perturbées, une partie des rues
+     * verticales supprimées et quelques diagonales. Les poids suivent la distance,
+     * ce qui donne la forte localité des vrais réseaux routiers. Toujours connexe.
+     */
+    ROAD(false) {
+        @Override
+        public int generate(int n, long seed, EdgeSink sink) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int side = side(n);
+            double[] x = new double[side * side];
+            double[] y = new double[side * side];
+            for (int v = 0; v < x.length; v++) {
+                x[v] = v % side + (random.nextDouble() - 0.5) * 0.6;
+                y[v] = v / side + (random.nextDouble() - 0.5) * 0.6;
+            }
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    int v = r * side + c;
+                    if (c + 1 < side) sink.edge(v, v + 1, distance(x, y, v, v + 1));
+                    // La colonne 0 garde toutes ses rues verticales pour rester connexe
+                    if (r + 1 < side && (c == 0 || random.nextDouble() < 0.7)) {
+                        sink.edge(v, v + side, distance(x, y, v, v + side));
+                    }
+                    if (r + 1 < side && c + 1 < side && random.nextDouble() < 0.05) {
+                        sink.edge(v, v + side + 1, distance(x, y, v, v + side + 1));
+                    }
+                }
+            }
+            return side * side;
+        }
+    },
+
+    /**
+     * Graphe géométrique aléatoire : n points dans le carré unité, reliés quand leur distance
+     * est sous le rayon qui donne un degré moyen de 8. Les voisins sont cherchés par cellules.
+     */
+    RANDOM_GEOMETRIC(false) {
+        @Override
+        public int generate(int n, long seed, EdgeSink sink) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double radius = Math.sqrt(AVERAGE_DEGREE / (Math.PI * Math.max(n, 1)));
+            int cells = Math.max(1, (int) (1.0 / radius));
+            double[] x = new double[n];
+            double[] y = new double[n];
+            int[] cellHead = new int[cells * cells];
+            int[] nextInCell = new int[n];
+            Arrays.fill(cellHead, -1);
+            for (int v = 0; v < n; v++) {
+                x[v] = random.nextDouble();
+                y[v] = random.nextDouble();
+                int cell = cellOf(x[v], cells) * cells + cellOf(y[v], cells);
+                nextInCell[v] = cellHead[cell];
+                cellHead[cell] = v;
+            }
+            for (int v = 0; v < n; v++) {
+                int cx = cellOf(x[v], cells);
+                int cy = cellOf(y[v], cells);
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        int nx = cx + dx;
+                        int ny = cy + dy;
+                        if (nx < 0 || ny < 0 || nx >= cells || ny >= cells) continue;
+                        for (int w = cellHead[nx * cells + ny]; w != -1; w = nextInCell[w]) {
+                            if (w < v && Math.hypot(x[v] - x[w], y[v] - y[w]) <= radius) {
+                                sink.edge(v, w, distance(x, y, v, w, 1.0 / radius));
+                            }
+                        }
+                    }
+                }
+            }
+            return n;
+        }
+    },
+
+    /**
+     * Graphe orienté acyclique avec environ 20 % de poids négatifs, pour Bellman–Ford.
+     * L'ordre topologique est une permutation aléatoire des ids, pas l'ordre naturel.
+     */
+    NEGATIVE_DAG(true) {
+        @Override
+        public int generate(int n, long seed, EdgeSink sink) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            // Chaque sommet pointe vers quelques successeurs proches dans l'ordre topologique
+            int outDegree = (int) (AVERAGE_DEGREE / 2);
+            for (int i = 0; i + 1 < n; i++) {
+                sink.edge(order[i], order[i + 1], weight(random));
+                for (int k = 1; k < outDegree; k++) {
+                    int j = i + 1 + random.nextInt(Math.min(n - i - 1, 64));
+                    int w = random.nextInt(5) == 0 ? -1 - random.nextInt(20) : weight(random);
+                    sink.edge(order[i], order[j], w);
+                }
+            }
+            return n;
+        }
+    };
+
+    private static final double AVERAGE_DEGREE = 8.0;
+    private static final int ATTACHMENTS = 4;
+
+    private final boolean directed;
+
+    GraphFamily(boolean directed) {
+        this.directed = directed;
+    }
+
+    /**
+     * @return vrai si les arêtes émises sont des arcs (à ne pas dupliquer dans l'autre sens)
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Émet les arêtes d'un graphe d'environ n sommets.
+     *
+     * @param n    nombre de sommets souhaité (les grilles l'arrondissent à un carré)
+     * @param seed graine du générateur
+     * @param sink destination des arêtes
+     * @return nombre réel de sommets, les ids émis sont dans [0, résultat)
+     */
+    public abstract int generate(int n, long seed, EdgeSink sink);
+
+    private static int side(int n) {
+        return Math.max(1, (int) Math.round(Math.sqrt(n)));
+    }
+
+    private static int weight(SplittableRandom random) {
+        return 1 + random.nextInt(100);
+    }
+
+    private static int distance(double[] x, double[] y, int u, int v) {
+        return distance(x, y, u, v, 1.0);
+    }
+
+    private static int distance(double[] x, double[] y, int u, int v, double scale) {
+        return Math.max(1, (int) Math.round(Math.hypot(x[u] - x[v], y[u] - y[v]) * scale * 100));
+    }
+
+    private static int cellOf(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+}
@@ -0,0 +1,118 @@
+package org.theorygrapht.generator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.VertexIndex;
+import org.theorygrapht.model.storage.StorageKind;
+import org.theorygrapht.util.EdgeBuffer;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphGenerators {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    public static String vertexName(int id) {
+        return "v" + id;
+    }
+
+    /**
+     * Génère un graphe au format d'adjacence de l'API (celui de graph.json),
+     * chaque arête non orientée étant listée dans les deux sens comme le fait le front.
+     */
+    public static Map<String, List<GraphInput.Neighbor>> toAdjacency(GraphFamily family, int n, long seed) {
+        EdgeBuffer buffer = new EdgeBuffer();
+        int count = generate(family, n, seed, buffer);
+        int[] offsets = buffer.groupBySource(count);
+
+        Map<String, List<GraphInput.Neighbor>> adjacency = new LinkedHashMap<>();
+        for (int v = 0; v < count; v++) {
+            List<GraphInput.Neighbor> neighbors = new ArrayList<>(offsets[v + 1] - offsets[v]);
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                neighbors.add(neighbor(buffer.target(i), buffer.weight(i)));
+            }
+            adjacency.put(vertexName(v), neighbors);
+        }
+        return adjacency;
+    }
+
+    /**
+     * Construit directement le {@link Graph} en mémoire, sans passer par le format JSON.
+     * Le résultat est le même que GraphUtils.fromMap(toAdjacency(...)).
+     */
+    public static Graph toGraph(GraphFamily family, int n, long seed) {
+        return toGraph(family, n, seed, GraphUtils.getDefaultStorage());
+    }
+
+    public static Graph toGraph(GraphFamily family, int n, long seed, StorageKind kind) {
+        return toGraph(family, n, seed, kind, true);
+    }
+
+    /**
+     * @param directed false : graphe non orienté, chaque arête générée n'est stockée qu'une fois
+     *                 (même résultat que GraphUtils.fromMap(toAdjacency(...), false))
+     */
+    public static Graph toGraph(GraphFamily family, int n, long seed, StorageKind kind, boolean directed) {
+        EdgeBuffer buffer = new EdgeBuffer();
+        int count = directed ? generate(family, n, seed, buffer) : family.generate(n, seed, buffer);
+        buffer.groupBySource(count);
+
+        VertexIndex index = new VertexIndex(count);
+        for (int v = 0; v < count; v++) index.intern(vertexName(v));
+        return new Graph(index, buffer.toStorage(kind, count), directed);
+    }
+
+    /**
+     * Écrit le graphe au format d'adjacence JSON au fil de l'eau.
+     * Seuls des tableaux d'entiers sont gardés en mémoire, jamais de Neighbor ni de Map.
+     *
+     * @return nombre d'arcs écrits
+     */
+    public static long writeAdjacency(GraphFamily family, int n, long seed, OutputStream out) throws IOException {
+        EdgeBuffer buffer = new EdgeBuffer();
+        int count = generate(family, n, seed, buffer);
+        int[] offsets = buffer.groupBySource(count);
+
+        try (JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            for (int v = 0; v < count; v++) {
+                json.writeArrayFieldStart(vertexName(v));
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    json.writeStartObject();
+                    json.writeStringField("target", vertexName(buffer.target(i)));
+                    json.writeNumberField("distance", buffer.weight(i));
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+        }
+        return buffer.size();
+    }
+
+    private static int generate(GraphFamily family, int n, long seed, EdgeBuffer buffer) {
+        if (family.isDirected()) {
+            return family.generate(n, seed, buffer);
+        }
+        return family.generate(n, seed, (source, target, weight) -> {
+            buffer.edge(source, target, weight);
+            buffer.edge(target, source, weight);
+        });
+    }
+
+    private static GraphInput.Neighbor neighbor(int target, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(vertexName(target));
+        neighbor.setDistance(distance);
+        return neighbor;
+    }
+}
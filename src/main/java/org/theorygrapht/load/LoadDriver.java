@@ -0,0 +1,186 @@
+package org.theorygrapht.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rejoue un mélange d'appels capturés par {@link RequestCaptureFilter} contre une instance locale
+ * et affiche débit et latences (p50, p99, p999), au global et par endpoint.
+ *
+ * Usage : LoadDriver capture.jsonl [--url http://localhost:8080] [--concurrency 8]
+ *                    [--requests 10000] [--warmup 500] [--seed 42]
+ */
+public class LoadDriver {
+
+    private static class Call {
+        final String label;
+        final HttpRequest request;
+
+        Call(String label, HttpRequest request) {
+            this.label = label;
+            this.request = request;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadDriver <capture.jsonl> [--url URL] [--concurrency N] "
+                    + "[--requests N] [--warmup N] [--seed N]");
+            System.exit(2);
+        }
+        Map<String, String> options = options(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "10000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "500"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        List<Call> calls = load(Path.of(args[0]), url);
+        if (calls.isEmpty()) {
+            System.err.println("No request in capture file " + args[0]);
+            System.exit(2);
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("Replaying %d captured calls: %d warmup + %d measured requests, %d threads%n",
+                calls.size(), warmup, requests, concurrency);
+        replay(client, calls, warmup, concurrency, seed, null, null);
+
+        long[] latencies = new long[requests];
+        int[] labels = new int[requests];
+        long start = System.nanoTime();
+        long errors = replay(client, calls, requests, concurrency, seed + 1, latencies, labels);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%nThroughput: %.1f req/s (%d requests in %.2f s, %d errors)%n",
+                requests / (elapsed / 1e9), requests, elapsed / 1e9, errors);
+        report("all", latencies);
+
+        Map<String, List<Long>> byLabel = new TreeMap<>();
+        for (int i = 0; i < requests; i++) {
+            byLabel.computeIfAbsent(calls.get(labels[i]).label, k -> new ArrayList<>()).add(latencies[i]);
+        }
+        byLabel.forEach((label, values) -> report(label, values.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    /**
+     * Envoie {@code count} requêtes tirées au hasard dans la capture, sur {@code concurrency} threads.
+     * Si {@code latencies} est fourni, la latence et l'appel de la i-ème requête y sont notés.
+     *
+     * @return nombre de réponses en erreur (statut >= 400 ou exception)
+     */
+    private static long replay(HttpClient client, List<Call> calls, int count, int concurrency, long seed,
+                               long[] latencies, int[] labels) throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        Thread[] threads = new Thread[concurrency];
+        for (int t = 0; t < concurrency; t++) {
+            SplittableRandom random = new SplittableRandom(seed + t);
+            threads[t] = new Thread(() -> {
+                long i;
+                while ((i = next.getAndIncrement()) < count) {
+                    int pick = random.nextInt(calls.size());
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(calls.get(pick).request,
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) errors.incrementAndGet();
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (latencies != null) {
+                        latencies[(int) i] = System.nanoTime() - begin;
+                        labels[(int) i] = pick;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        return errors.get();
+    }
+
+    private static void report(String label, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-40s n=%-8d p50=%9.3f ms  p99=%9.3f ms  p999=%9.3f ms  max=%9.3f ms%n",
+                label, sorted.length,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static List<Call> load(Path capture, String url) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Call> calls = new ArrayList<>();
+        for (String line : Files.readAllLines(capture)) {
+            if (line.isBlank()) continue;
+            JsonNode node = mapper.readTree(line);
+            String path = node.get("path").asText();
+            JsonNode query = node.get("query");
+            String uri = url + path + (query == null || query.isNull() ? "" : "?" + query.asText());
+            byte[] body = body(node, mapper);
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body);
+            JsonNode contentType = node.get("contentType");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                    .method(node.get("method").asText(), publisher)
+                    .header("Content-Type", contentType == null || contentType.isNull()
+                            ? "application/json" : contentType.asText())
+                    .build();
+            calls.add(new Call(node.get("method").asText() + " " + path, request));
+        }
+        return calls;
+    }
+
+    /**
+     * Corps capturé : JSON (body), texte (text) ou octets en base64 (base64) ; null s'il n'y en a pas.
+     */
+    private static byte[] body(JsonNode node, ObjectMapper mapper) throws IOException {
+        JsonNode body = node.get("body");
+        if (body != null && !body.isNull()) return mapper.writeValueAsBytes(body);
+        JsonNode text = node.get("text");
+        if (text != null && !text.isNull()) return text.asText().getBytes(StandardCharsets.UTF_8);
+        JsonNode base64 = node.get("base64");
+        if (base64 != null && !base64.isNull()) return base64.binaryValue();
+        return null;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Unexpected argument : " + args[i]);
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,152 @@
+package org.theorygrapht.load;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Enregistre les appels aux endpoints de graphes dans un fichier JSON Lines
+ * (une ligne par requête : method, path, query, contentType et corps), rejoué ensuite par {@link LoadDriver}.
+ * Actif seulement si la propriété theorygrapht.capture.file est définie.
+ *
+ * Le corps est écrit tel quel s'il est du JSON valide (body), en texte s'il est du texte UTF-8 (text),
+ * en base64 sinon (base64), pour être renvoyé octet pour octet. Seuls les corps d'au plus theorygrapht.capture.max-body (1MB par défaut) sont
+ * gardés en mémoire : une requête plus grosse n'est pas enregistrée, ni les imports de listes d'arêtes.
+ */
+@Component
+@ConditionalOnProperty("theorygrapht.capture.file")
+public class RequestCaptureFilter extends OncePerRequestFilter {
+    // Un corps suivi d'autre chose que du JSON n'est pas du JSON : rejoué en texte, sans rien perdre
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private final OutputStream out;
+    private final int maxBody;
+
+    public RequestCaptureFilter(@Value("${theorygrapht.capture.file}") String file,
+                                @Value("${theorygrapht.capture.max-body:1MB}") DataSize maxBody) throws IOException {
+        this.out = new FileOutputStream(file, true);
+        this.maxBody = (int) Math.min(Integer.MAX_VALUE - 1, maxBody.toBytes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.startsWith("/swagger") || path.startsWith("/v3/")
+                || path.endsWith("/import") // listes d'arêtes de plusieurs Go, lues en flux
+                || request.getContentLengthLong() > maxBody;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Une limite de plus que maxBody : un corps tronqué se reconnaît à sa taille
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, maxBody + 1);
+        chain.doFilter(wrapper, response);
+
+        // Requête rejetée avant la fin de la lecture (415, JSON invalide) : on lit le reste pour la rejouer entière
+        try {
+            wrapper.getInputStream().readNBytes(maxBody + 1 - wrapper.getContentAsByteArray().length);
+        } catch (IllegalStateException | IOException unreadable) {
+            return;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        if (body.length > maxBody) return; // corps en chunked sans Content-Length, trop gros pour être rejoué
+
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (JsonGenerator json = MAPPER.getFactory().createGenerator(line, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("method", request.getMethod());
+            json.writeStringField("path", request.getRequestURI());
+            json.writeStringField("query", request.getQueryString());
+            if (body.length > 0) {
+                String contentType = request.getContentType();
+                json.writeStringField("contentType", contentType);
+                writeBody(json, body, contentType);
+            }
+            json.writeEndObject();
+        }
+        line.write('\n');
+        synchronized (out) {
+            line.writeTo(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Appelé par Spring (DisposableBean) à l'arrêt du contexte, et par le conteneur de servlets.
+     */
+    @Override
+    public void destroy() {
+        synchronized (out) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.warn("Could not close capture file", e);
+            }
+        }
+    }
+
+    private static void writeBody(JsonGenerator json, byte[] body, String contentType) throws IOException {
+        MediaType type = mediaType(contentType);
+        if (type == null || type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            JsonNode tree = null;
+            try {
+                tree = MAPPER.readTree(body);
+            } catch (IOException malformed) {
+                // Rejoué tel quel, en texte
+            }
+            if (tree != null && !tree.isMissingNode()) {
+                json.writeFieldName("body");
+                json.writeTree(tree);
+                return;
+            }
+        }
+        boolean textual = type == null || "text".equals(type.getType()) || type.isCompatibleWith(MediaType.APPLICATION_JSON);
+        boolean utf8 = type == null || type.getCharset() == null || StandardCharsets.UTF_8.equals(type.getCharset());
+        String text = textual && utf8 ? utf8(body) : null;
+        if (text != null) {
+            json.writeStringField("text", text);
+        } else {
+            json.writeFieldName("base64");
+            json.writeBinary(body);
+        }
+    }
+
+    private static String utf8(byte[] body) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(body)).toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    private static MediaType mediaType(String contentType) {
+        try {
+            return contentType == null ? null : MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.theorygrapht.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mesure le temps entre le lancement de la JVM et la première réponse 200 à POST /dijkstra sur graph.json,
+ * pour le jar habituel et chaque étape du profil fast-startup (jar extrait, + AOT, + archive AppCDS).
+ * Chaque configuration est lancée {@code repeat} fois dans un nouveau processus ; la médiane est affichée.
+ * Les configurations dont les fichiers manquent (profil fast-startup non construit) sont sautées.
+ *
+ * Usage : StartupTiming [--jar target/TheoryGrapht-1.0-SNAPSHOT.jar] [--fast-startup target/fast-startup]
+ *                       [--repeat 3] [--timeout 120]
+ */
+public class StartupTiming {
+
+    private record Configuration(String name, List<String> arguments, File... required) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Unexpected argument : " + args[i]);
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        File jar = new File(options.getOrDefault("jar", "target/TheoryGrapht-1.0-SNAPSHOT.jar"));
+        File dir = new File(options.getOrDefault("fast-startup", "target/fast-startup"));
+        int repeat = Integer.parseInt(options.getOrDefault("repeat", "3"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120")));
+
+        File extracted = new File(dir, jar.getName());
+        File archive = new File(dir, "application.jsa");
+        List<Configuration> configurations = List.of(
+                new Configuration("fat jar", List.of("-jar", jar.getPath()), jar),
+                new Configuration("extracted jar", List.of("-jar", extracted.getPath()), extracted),
+                new Configuration("extracted + AOT",
+                        List.of("-Dspring.aot.enabled=true", "-jar", extracted.getPath()), extracted),
+                new Configuration("extracted + AOT + AppCDS", List.of("-XX:SharedArchiveFile=" + archive.getPath(),
+                        "-Dspring.aot.enabled=true", "-jar", extracted.getPath()), extracted, archive));
+
+        byte[] graph;
+        try (InputStream in = new ClassPathResource("graph.json").getInputStream()) {
+            graph = in.readAllBytes();
+        }
+        Iterator<String> names = new ObjectMapper().readTree(graph).fieldNames();
+        String query = "?start=" + URLEncoder.encode(names.next(), StandardCharsets.UTF_8)
+                + "&end=" + URLEncoder.encode(names.next(), StandardCharsets.UTF_8);
+
+        System.out.printf("Time to first 200 on POST /dijkstra, %d CPU, median of %d%n",
+                Runtime.getRuntime().availableProcessors(), repeat);
+        for (Configuration configuration : configurations) {
+            if (!Arrays.stream(configuration.required()).allMatch(File::isFile)) {
+                System.out.printf("%-28s %10s%n", configuration.name(), "skipped");
+                continue;
+            }
+            double[] seconds = new double[repeat];
+            for (int r = 0; r < repeat; r++) seconds[r] = firstResponse(configuration, graph, query, timeout);
+            Arrays.sort(seconds);
+            System.out.printf("%-28s %8.1f s%n", configuration.name(), seconds[repeat / 2]);
+        }
+    }
+
+    /**
+     * Lance l'application sur un port libre et interroge /dijkstra jusqu'à la première réponse 200.
+     *
+     * @return secondes écoulées depuis le lancement du processus
+     */
+    private static double firstResponse(Configuration configuration, byte[] graph, String query, Duration timeout)
+            throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"));
+        command.addAll(configuration.arguments());
+        command.add("--server.port=" + port);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/dijkstra" + query))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(graph))
+                .header("Content-Type", "application/json")
+                .build();
+
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - begin < timeout.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(configuration.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - begin) / 1e9;
+                    }
+                } catch (IOException e) {
+                    // Pas encore à l'écoute
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException(configuration.name() + " did not answer within " + timeout);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
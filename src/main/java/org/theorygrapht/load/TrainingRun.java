@@ -0,0 +1,127 @@
+package org.theorygrapht.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.theorygrapht.Main;
+import org.theorygrapht.controller.EdgeListMessageConverter;
+import org.theorygrapht.controller.GraphController;
+import org.theorygrapht.model.Edge;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Exécution d'entraînement pour l'archive AppCDS du profil Maven fast-startup :
+ * démarre l'application sur un port libre, appelle chaque endpoint de {@link GraphController}
+ * sur graph.json (orienté et non orienté, en JSON et au format binaire), puis s'arrête.
+ * Lancée avec -XX:ArchiveClassesAtExit, la JVM archive à la sortie toutes les classes chargées
+ * pour servir ces requêtes, et pas seulement celles du démarrage.
+ *
+ * Les endpoints sont lus dans le mapping Spring MVC : un endpoint ajouté au contrôleur est entraîné sans
+ * toucher à cette classe, tant que ses paramètres sont directed, start, end ou startingVertexName.
+ *
+ * Usage : TrainingRun [arguments Spring Boot]
+ */
+public class TrainingRun {
+
+    public static void main(String[] args) throws Exception {
+        String[] springArgs = new String[args.length + 1];
+        springArgs[0] = "--server.port=0";
+        System.arraycopy(args, 0, springArgs, 1, args.length);
+        SpringApplication application = new SpringApplication(Main.class);
+        // En mode AOT, l'initialiseur généré est cherché d'après la classe principale : Main, pas TrainingRun
+        application.setMainApplicationClass(Main.class);
+        ConfigurableApplicationContext context = application.run(springArgs);
+
+        int errors = 0;
+        try {
+            String url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            byte[] graph;
+            try (InputStream in = new ClassPathResource("graph.json").getInputStream()) {
+                graph = in.readAllBytes();
+            }
+            Iterator<String> names = new ObjectMapper().readTree(graph).fieldNames();
+            String start = URLEncoder.encode(names.next(), StandardCharsets.UTF_8);
+            String end = URLEncoder.encode(names.next(), StandardCharsets.UTF_8);
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            RequestMappingHandlerMapping mapping = context.getBean("requestMappingHandlerMapping",
+                    RequestMappingHandlerMapping.class);
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+                HandlerMethod handler = entry.getValue();
+                if (!GraphController.class.isAssignableFrom(handler.getBeanType())) continue;
+                if (!entry.getKey().getMethodsCondition().getMethods().contains(RequestMethod.POST)) continue;
+                // Les listes d'arêtes sont aussi demandées au format binaire
+                ResolvableType returned = ResolvableType.forMethodReturnType(handler.getMethod());
+                List<String> accepts = List.class.isAssignableFrom(returned.toClass())
+                        && returned.asCollection().resolveGeneric(0) == Edge.class
+                        ? List.of("application/json", EdgeListMessageConverter.MEDIA_TYPE_VALUE)
+                        : List.of("application/json");
+                for (String path : entry.getKey().getPatternValues()) {
+                    for (boolean directed : new boolean[]{true, false}) {
+                        String query = query(handler, directed, start, end);
+                        for (String accept : accepts) {
+                            HttpRequest request = HttpRequest.newBuilder(URI.create(url + path + query))
+                                    .POST(HttpRequest.BodyPublishers.ofByteArray(graph))
+                                    .header("Content-Type", "application/json")
+                                    .header("Accept", accept)
+                                    .build();
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                System.err.printf("%s%s -> %d%n", path, query, status);
+                                errors++;
+                            }
+                        }
+                    }
+                }
+            }
+            client.send(HttpRequest.newBuilder(URI.create(url + "/admission")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.out.println("Training run finished, " + errors + " errors");
+        System.exit(errors == 0 ? 0 : 1);
+    }
+
+    private static String query(HandlerMethod handler, boolean directed, String start, String end) {
+        StringJoiner query = new StringJoiner("&", "?", "");
+        for (MethodParameter parameter : handler.getMethodParameters()) {
+            RequestParam param = parameter.getParameterAnnotation(RequestParam.class);
+            if (param == null) continue;
+            parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+            String name = param.value().isEmpty() ? parameter.getParameterName() : param.value();
+            switch (name) {
+                case "directed" -> query.add("directed=" + directed);
+                case "start", "startingVertexName" -> query.add(name + "=" + start);
+                case "end" -> query.add(name + "=" + end);
+                default -> {
+                    if (param.required() && param.defaultValue().equals(ValueConstants.DEFAULT_NONE)) {
+                        throw new IllegalStateException("No training value for parameter " + name);
+                    }
+                }
+            }
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package org.theorygrapht.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR d'une exécution d'algorithme, de {@link AlgorithmStats#start} à {@link AlgorithmStats#finish}.
+ */
+@Name("org.theorygrapht.Algorithm")
+@Label("Graph Algorithm")
+@Category("TheoryGrapht")
+@Description("One run of a graph algorithm, with graph size, counters and bytes allocated by the calling thread"
+        + " (parallel worker threads not included)")
+@StackTrace(false)
+class AlgorithmEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Edges")
+    int edges;
+
+    @Label("Visited")
+    long visited;
+
+    @Label("Relaxations")
+    long relaxations;
+
+    @Label("Heap Operations")
+    long heapOperations;
+
+    @Label("Allocated By Caller Thread")
+    @Description("Excludes allocations of parallel worker threads")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,29 @@
+package org.theorygrapht.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR d'une phase d'algorithme, entre deux appels de {@link AlgorithmStats#phase}.
+ */
+@Name("org.theorygrapht.AlgorithmPhase")
+@Label("Graph Algorithm Phase")
+@Category("TheoryGrapht")
+@Description("One phase of a graph algorithm (relaxation, table formatting, path rebuild...)")
+@StackTrace(false)
+class AlgorithmPhaseEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Allocated By Caller Thread")
+    @Description("Excludes allocations of parallel worker threads")
+    @DataAmount
+    long allocated;
+}
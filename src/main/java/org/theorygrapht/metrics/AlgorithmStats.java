@@ -0,0 +1,105 @@
+package org.theorygrapht.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.theorygrapht.model.Graph;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compteurs d'exécution d'un algorithme.
+ *
+ * Les services incrémentent des champs locaux pendant la boucle principale
+ * (pas d'appel Micrometer dans la boucle), puis {@link #finish()} publie le total
+ * une seule fois dans le registre global, que Spring Boot relie à l'Actuator.
+ *
+ * Pendant un enregistrement JFR, chaque exécution produit aussi un {@link AlgorithmEvent}
+ * (taille du graphe, compteurs, octets alloués par le thread) et chaque phase marquée
+ * par {@link #phase(String)} un {@link AlgorithmPhaseEvent}. Hors enregistrement, rien n'est mesuré.
+ */
+public final class AlgorithmStats {
+    private static final Map<String, Meters> METERS = new ConcurrentHashMap<>();
+
+    public long visited;
+    public long relaxations;
+    public long heapOperations;
+
+    private final Meters meters;
+    private final AlgorithmEvent event;
+    private final long allocatedAtStart;
+    private AlgorithmPhaseEvent phase;
+    private long allocatedAtPhase;
+
+    private AlgorithmStats(Meters meters, AlgorithmEvent event) {
+        this.meters = meters;
+        this.event = event;
+        this.allocatedAtStart = event != null ? ThreadAllocation.current() : 0;
+    }
+
+    public static AlgorithmStats start(String algorithm, Graph graph) {
+        AlgorithmEvent event = new AlgorithmEvent();
+        if (!event.isEnabled()) {
+            return new AlgorithmStats(METERS.computeIfAbsent(algorithm, Meters::new), null);
+        }
+        event.algorithm = algorithm;
+        event.vertices = graph.vertexCount();
+        event.edges = graph.edgeCount();
+        event.begin();
+        return new AlgorithmStats(METERS.computeIfAbsent(algorithm, Meters::new), event);
+    }
+
+    /**
+     * Clôt la phase en cours (s'il y en a une) et ouvre la suivante.
+     */
+    public void phase(String name) {
+        if (event == null) return;
+        endPhase();
+        AlgorithmPhaseEvent next = new AlgorithmPhaseEvent();
+        if (!next.isEnabled()) return;
+        next.algorithm = event.algorithm;
+        next.phase = name;
+        allocatedAtPhase = ThreadAllocation.current();
+        next.begin();
+        phase = next;
+    }
+
+    public void finish() {
+        if (visited > 0) meters.visited.increment(visited);
+        if (relaxations > 0) meters.relaxations.increment(relaxations);
+        if (heapOperations > 0) meters.heapOperations.increment(heapOperations);
+        if (event != null) {
+            endPhase();
+            event.end();
+            if (event.shouldCommit()) {
+                event.visited = visited;
+                event.relaxations = relaxations;
+                event.heapOperations = heapOperations;
+                event.allocated = ThreadAllocation.current() - allocatedAtStart;
+                event.commit();
+            }
+        }
+    }
+
+    private void endPhase() {
+        if (phase == null) return;
+        phase.end();
+        if (phase.shouldCommit()) {
+            phase.allocated = ThreadAllocation.current() - allocatedAtPhase;
+            phase.commit();
+        }
+        phase = null;
+    }
+
+    private static final class Meters {
+        final Counter visited;
+        final Counter relaxations;
+        final Counter heapOperations;
+
+        Meters(String algorithm) {
+            visited = Metrics.counter("graph.algorithm.visited", "algorithm", algorithm);
+            relaxations = Metrics.counter("graph.algorithm.relaxations", "algorithm", algorithm);
+            heapOperations = Metrics.counter("graph.algorithm.heap.operations", "algorithm", algorithm);
+        }
+    }
+}
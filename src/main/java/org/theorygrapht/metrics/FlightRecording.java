@@ -0,0 +1,95 @@
+package org.theorygrapht.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Enregistrements Java Flight Recorder à durée limitée, lancés à la demande (POST /jfr/recording).
+ * Le fichier .jfr est écrit dans theorygrapht.jfr.dir à la fin de la durée ; il contient les événements
+ * de la JVM (GC, allocations, échantillons de pile) et ceux des algorithmes ({@link AlgorithmEvent},
+ * {@link AlgorithmPhaseEvent}). Un seul enregistrement à la fois.
+ */
+@Component
+public class FlightRecording {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final String settings;
+    private Recording recording;
+    private Path file;
+    private Instant startedAt;
+
+    /**
+     * @param settings configuration JFR de base : "default" (surcoût ~1 %) ou "profile" (~2 %, plus d'échantillons)
+     */
+    public FlightRecording(@Value("${theorygrapht.jfr.dir:${java.io.tmpdir}/theorygrapht-jfr}") Path directory,
+                           @Value("${theorygrapht.jfr.max-duration:10m}") Duration maxDuration,
+                           @Value("${theorygrapht.jfr.settings:profile}") String settings) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.settings = settings;
+    }
+
+    /**
+     * Lance un enregistrement qui s'arrête seul au bout de {@code duration}.
+     *
+     * @throws ResponseStatusException 400 si la durée dépasse theorygrapht.jfr.max-duration,
+     *                                 409 si un enregistrement est déjà en cours
+     */
+    public synchronized RecordingStatus start(Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Recording duration must be between 0 and " + maxDuration);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A recording is already running until "
+                    + startedAt.plus(recording.getDuration()));
+        }
+        try {
+            Files.createDirectories(directory);
+            Recording next = new Recording(Configuration.getConfiguration(settings));
+            next.setName("theorygrapht");
+            next.enable(AlgorithmEvent.class);
+            next.enable(AlgorithmPhaseEvent.class);
+            next.setDuration(duration);
+            Instant now = Instant.now();
+            Path destination = directory.resolve("theorygrapht-" + FILE_TIME.format(now) + ".jfr").toAbsolutePath();
+            next.setDestination(destination);
+            next.start();
+            if (recording != null) recording.close();
+            recording = next;
+            file = destination;
+            startedAt = now;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings " + settings, e);
+        }
+        return status();
+    }
+
+    /**
+     * @return le dernier enregistrement lancé (null si aucun)
+     */
+    public synchronized RecordingStatus status() {
+        if (recording == null) return null;
+        return new RecordingStatus(file.toString(), recording.getState().name(), startedAt, recording.getDuration());
+    }
+}
@@ -0,0 +1,91 @@
+package org.theorygrapht.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.theorygrapht.model.Graph;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Timers par phase d'une requête sur un endpoint de graphe :
+ * parse (binding Jackson), build (GraphUtils.fromMap), admission (attente du budget de calcul),
+ * compute (algorithme) et serialize (écriture de la réponse).
+ * Pour chaque phase, compte aussi les octets alloués par le thread de la requête ({@link ThreadAllocation}),
+ * ce qui distingue une requête lente à cause du GC d'une requête lente à cause du calcul.
+ * Les tâches parallèles d'un algorithme n'y sont pas comptées.
+ * Garde aussi la taille (V, E) du dernier graphe reçu par endpoint.
+ */
+@Component
+public class GraphRequestMetrics {
+    public static final String PARSE = "parse";
+    public static final String BUILD = "build";
+    public static final String ADMISSION = "admission";
+    public static final String COMPUTE = "compute";
+    public static final String SERIALIZE = "serialize";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> allocations = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger[]> sizes = new ConcurrentHashMap<>();
+
+    public GraphRequestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T time(String endpoint, String phase, Supplier<T> work) {
+        long allocated = ThreadAllocation.current();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(endpoint, phase, System.nanoTime() - start);
+            recordAllocation(endpoint, phase, ThreadAllocation.current() - allocated);
+        }
+    }
+
+    public void record(String endpoint, String phase, long nanos) {
+        timers.computeIfAbsent(endpoint + ' ' + phase, k -> Timer.builder("graph.request.phase")
+                        .description("Time spent in one phase of a graph request")
+                        .tag("endpoint", endpoint)
+                        .tag("phase", phase)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAllocation(String endpoint, String phase, long bytes) {
+        allocations.computeIfAbsent(endpoint + ' ' + phase, k -> DistributionSummary.builder("graph.request.allocated")
+                        .description("Bytes allocated by the request thread only (not parallel workers) in one phase of a graph request")
+                        .baseUnit("bytes")
+                        .tag("endpoint", endpoint)
+                        .tag("phase", phase)
+                        .register(registry))
+                .record(bytes);
+    }
+
+    public void recordSize(String endpoint, Graph graph) {
+        AtomicInteger[] size = sizes.computeIfAbsent(endpoint, this::registerSizeGauges);
+        size[0].set(graph.vertexCount());
+        size[1].set(graph.edgeCount());
+    }
+
+    private AtomicInteger[] registerSizeGauges(String endpoint) {
+        AtomicInteger vertices = new AtomicInteger();
+        AtomicInteger edges = new AtomicInteger();
+        Gauge.builder("graph.size.vertices", vertices, AtomicInteger::get)
+                .description("Vertex count of the last graph received")
+                .tag("endpoint", endpoint)
+                .register(registry);
+        Gauge.builder("graph.size.edges", edges, AtomicInteger::get)
+                .description("Edge count of the last graph received")
+                .tag("endpoint", endpoint)
+                .register(registry);
+        return new AtomicInteger[]{vertices, edges};
+    }
+}
@@ -0,0 +1,19 @@
+package org.theorygrapht.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsWebConfig implements WebMvcConfigurer {
+    private final PhaseTimingAdvice phaseTimingAdvice;
+
+    public MetricsWebConfig(PhaseTimingAdvice phaseTimingAdvice) {
+        this.phaseTimingAdvice = phaseTimingAdvice;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(phaseTimingAdvice);
+    }
+}
@@ -0,0 +1,103 @@
+package org.theorygrapht.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.theorygrapht.controller.GraphController;
+import org.theorygrapht.controller.GraphRegistryController;
+
+import java.lang.reflect.Type;
+
+/**
+ * Mesure les phases que le contrôleur ne voit pas : la lecture du corps JSON
+ * (avant l'appel de la méthode) et l'écriture de la réponse (après son retour).
+ * Le début de la sérialisation est noté ici, la fin dans {@link #afterCompletion}.
+ * Les octets alloués par le thread pendant ces deux phases sont relevés de la même façon.
+ */
+@ControllerAdvice(assignableTypes = {GraphController.class, GraphRegistryController.class})
+public class PhaseTimingAdvice extends RequestBodyAdviceAdapter
+        implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+    private static final String PARSE_START = PhaseTimingAdvice.class.getName() + ".parseStart";
+    private static final String SERIALIZE_START = PhaseTimingAdvice.class.getName() + ".serializeStart";
+    private static final String PARSE_ALLOCATED = PhaseTimingAdvice.class.getName() + ".parseAllocated";
+    private static final String SERIALIZE_ALLOCATED = PhaseTimingAdvice.class.getName() + ".serializeAllocated";
+
+    private final GraphRequestMetrics metrics;
+
+    public PhaseTimingAdvice(GraphRequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        attributes.setAttribute(PARSE_ALLOCATED, ThreadAllocation.current(), RequestAttributes.SCOPE_REQUEST);
+        attributes.setAttribute(PARSE_START, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        Object start = attributes.getAttribute(PARSE_START, RequestAttributes.SCOPE_REQUEST);
+        Object allocated = attributes.getAttribute(PARSE_ALLOCATED, RequestAttributes.SCOPE_REQUEST);
+        Object endpoint = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (start != null && endpoint != null) {
+            metrics.record(endpoint.toString(), GraphRequestMetrics.PARSE, System.nanoTime() - (Long) start);
+            metrics.recordAllocation(endpoint.toString(), GraphRequestMetrics.PARSE,
+                    ThreadAllocation.current() - (Long) allocated);
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(SERIALIZE_ALLOCATED, ThreadAllocation.current());
+            servletRequest.getServletRequest().setAttribute(SERIALIZE_START, System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(SERIALIZE_START);
+        Object allocated = request.getAttribute(SERIALIZE_ALLOCATED);
+        Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (start != null && endpoint != null) {
+            metrics.record(endpoint.toString(), GraphRequestMetrics.SERIALIZE, System.nanoTime() - (Long) start);
+            metrics.recordAllocation(endpoint.toString(), GraphRequestMetrics.SERIALIZE,
+                    ThreadAllocation.current() - (Long) allocated);
+        }
+    }
+}
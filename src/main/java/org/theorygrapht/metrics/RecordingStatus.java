@@ -0,0 +1,37 @@
+package org.theorygrapht.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * État d'un enregistrement JFR : fichier de destination, état JFR (RUNNING, STOPPED...) et fenêtre couverte.
+ */
+public class RecordingStatus {
+    private final String file;
+    private final String state;
+    private final Instant startedAt;
+    private final Instant endsAt;
+
+    public RecordingStatus(String file, String state, Instant startedAt, Duration duration) {
+        this.file = file;
+        this.state = state;
+        this.startedAt = startedAt;
+        this.endsAt = startedAt.plus(duration);
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+}
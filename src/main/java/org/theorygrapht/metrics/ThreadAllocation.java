@@ -0,0 +1,31 @@
+package org.theorygrapht.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Octets alloués par le thread courant depuis son démarrage (compteur TLAB de la JVM HotSpot).
+ * Une différence entre deux lectures donne les allocations d'un bout de code ; 0 si la JVM ne les compte pas.
+ *
+ * Seul le thread appelant est compté : ce qu'allouent les tâches parallèles (IntStream.parallel(), pool
+ * ForkJoin commun partagé par toutes les requêtes) n'y figure pas, et un moteur parallèle paraît donc
+ * allouer moins qu'il ne le fait. Les événements d'allocation de JFR donnent le total, par thread.
+ */
+public final class ThreadAllocation {
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private ThreadAllocation() {
+    }
+
+    public static long current() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
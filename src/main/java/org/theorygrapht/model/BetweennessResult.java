@@ -0,0 +1,64 @@
+package org.theorygrapht.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Réponse de /betweenness : le moteur de plus court chemin utilisé, le nombre de sources parcourues et,
+ * en mode échantillonné, l'erreur maximale des scores au seuil de confiance donné.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BetweennessResult {
+    private final String engine;
+    private final boolean exact;
+    private final int sources;
+    private final Double errorBound;
+    private final Double confidence;
+    private final Map<String, Double> scores;
+
+    public BetweennessResult(String engine, boolean exact, int sources, Double errorBound, Double confidence,
+                             Map<String, Double> scores) {
+        this.engine = engine;
+        this.exact = exact;
+        this.sources = sources;
+        this.errorBound = errorBound;
+        this.confidence = confidence;
+        this.scores = scores;
+    }
+
+    /**
+     * @return BFS (poids tous égaux) ou DIJKSTRA
+     */
+    public String getEngine() {
+        return engine;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    public int getSources() {
+        return sources;
+    }
+
+    /**
+     * @return écart maximal entre un score estimé et le score exact, pour tous les sommets à la fois ;
+     * null en mode exact
+     */
+    public Double getErrorBound() {
+        return errorBound;
+    }
+
+    public Double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * @return nom du sommet -> intermédiarité (nombre de paires dont il est un intermédiaire, pondéré par la part
+     * des plus courts chemins qui y passent), les plus centraux d'abord
+     */
+    public Map<String, Double> getScores() {
+        return scores;
+    }
+}
@@ -0,0 +1,36 @@
+package org.theorygrapht.model;
+
+import java.util.Map;
+
+/**
+ * Composantes connexes d'un graphe : nombre, taille de chacune et composante de chaque sommet.
+ */
+public class ComponentsResult {
+    private final int count;
+    private final int[] sizes;
+    private final Map<String, Integer> components;
+
+    public ComponentsResult(int count, int[] sizes, Map<String, Integer> components) {
+        this.count = count;
+        this.sizes = sizes;
+        this.components = components;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return taille de chaque composante, indexée par id de composante
+     */
+    public int[] getSizes() {
+        return sizes;
+    }
+
+    /**
+     * @return nom du sommet -> id de sa composante (0..count-1, dans l'ordre du premier sommet de chacune)
+     */
+    public Map<String, Integer> getComponents() {
+        return components;
+    }
+}
@@ -0,0 +1,47 @@
+package org.theorygrapht.model;
+
+/**
+ * Modification d'une arête d'un graphe enregistré : ajout, ou nouveau poids si l'arête existe déjà ;
+ * sans distance, l'arête est retirée. Dans un graphe non orienté, source et cible sont interchangeables.
+ */
+public class EdgeUpdate {
+    private String source;
+    private String target;
+    private Integer distance;
+
+    public EdgeUpdate() {
+    }
+
+    public EdgeUpdate(String source, String target, Integer distance) {
+        this.source = source;
+        this.target = target;
+        this.distance = distance;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    /**
+     * @return nouveau poids, null pour retirer l'arête
+     */
+    public Integer getDistance() {
+        return distance;
+    }
+
+    public void setDistance(Integer distance) {
+        this.distance = distance;
+    }
+}
@@ -1,32 +1,173 @@
 package org.theorygrapht.model;
 
+import org.theorygrapht.model.storage.CsrGraphStorage;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Graph {
-    private Vertex[] vertices;
-    private Edge[] edges;
-    private Map<Vertex, List<Edge>> adjacencyList;
+/**
+ * Un graphe = l'index de ses sommets + un {@link GraphStorage} (topologie et poids, sur le tas ou hors tas).
+ * Les services parcourent directement le stockage par ids ; les objets {@link Edge} et la liste
+ * d'adjacence ne sont construits qu'à la demande, pour les réponses et le code qui en a besoin.
+ *
+ * Un graphe non orienté stocke chaque arête une seule fois (source -> cible) ; les algorithmes
+ * l'empruntent alors dans les deux sens, via les arcs entrants de la cible.
+ *
+ * Un graphe ne change pas une fois construit : les getters rendent des copies ou des vues en lecture seule,
+ * et une modification produit un nouveau graphe (voir GraphUtils.update). Plusieurs requêtes peuvent donc
+ * le parcourir en même temps.
+ */
+public class Graph implements AutoCloseable {
+    private final VertexIndex vertexIndex;
+    private final Vertex[] vertices;
+    private final GraphStorage storage;
+    private final boolean directed;
+    private volatile Edge[] edges;
+    private volatile Map<Vertex, List<Edge>> adjacencyList;
 
-    public Graph() {
+    public Graph(Vertex[] vertices, Edge[] edges, Map<Vertex, List<Edge>> adjacencyList) {
+        this(VertexIndex.of(vertices), edges);
+        Map<Vertex, List<Edge>> lists = new HashMap<>();
+        adjacencyList.forEach((v, list) -> lists.put(v, List.copyOf(list)));
+        this.adjacencyList = Collections.unmodifiableMap(lists);
     }
 
-    public Graph(Vertex[] vertices, Edge[] edges, Map<Vertex, List<Edge>> adjacencyList) {
-        this.vertices = vertices;
-        this.edges = edges;
-        this.adjacencyList = adjacencyList;
+    private Graph(VertexIndex vertexIndex, Edge[] edges) {
+        this(vertexIndex, toStorage(vertexIndex, edges));
+        this.edges = edges.clone();
+    }
+
+    public Graph(VertexIndex vertexIndex, GraphStorage storage) {
+        this(vertexIndex, storage, true);
+    }
+
+    public Graph(VertexIndex vertexIndex, GraphStorage storage, boolean directed) {
+        this.vertexIndex = vertexIndex;
+        this.vertices = vertexIndex.toArray();
+        this.storage = storage;
+        this.directed = directed;
     }
 
+    /**
+     * @return copie du tableau des sommets, indexé par id
+     */
     public Vertex[] getVertices() {
-        return vertices;
+        return vertices.clone();
     }
 
 
+    /**
+     * @return copie du tableau des arêtes, indexé par id
+     */
     public Edge[] getEdges() {
-        return edges;
+        return allEdges().clone();
     }
 
+    /**
+     * @return vue en lecture seule : sommet -> arêtes incidentes
+     */
     public Map<Vertex, List<Edge>> getAdjacencyList() {
-        return adjacencyList;
+        Map<Vertex, List<Edge>> result = adjacencyList;
+        if (result == null) {
+            Map<Vertex, List<Edge>> lists = new HashMap<>();
+            for (Vertex v : vertices) lists.put(v, new ArrayList<>());
+            for (Edge e : allEdges()) {
+                lists.get(e.getSource()).add(e);
+                lists.get(e.getTarget()).add(e);
+            }
+            lists.replaceAll((v, list) -> Collections.unmodifiableList(list));
+            result = Collections.unmodifiableMap(lists);
+            adjacencyList = result;
+        }
+        return result;
+    }
+
+    private Edge[] allEdges() {
+        Edge[] result = edges;
+        if (result == null) {
+            result = new Edge[storage.edgeCount()];
+            EdgeReader reader = storage.edgeReader();
+            for (int e = 0; e < result.length; e++) {
+                result[e] = new Edge(vertices[reader.source(e)], vertices[reader.target(e)], reader.weight(e));
+            }
+            edges = result;
+        }
+        return result;
+    }
+
+    public VertexIndex getVertexIndex() {
+        return vertexIndex;
+    }
+
+    public GraphStorage getStorage() {
+        return storage;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    public int edgeCount() {
+        return storage.edgeCount();
+    }
+
+    /**
+     * @return l'arête d'id donné, sans construire tout le tableau d'arêtes
+     */
+    public Edge edge(int id) {
+        return edge(id, storage);
+    }
+
+    /**
+     * Comme {@link #edge(int)}, en lisant l'arête avec le lecteur de l'appelant ({@link GraphStorage#edgeReader()}).
+     */
+    public Edge edge(int id, EdgeReader reader) {
+        Edge[] all = edges;
+        if (all != null) return all[id];
+        return new Edge(vertices[reader.source(id)], vertices[reader.target(id)], reader.weight(id));
+    }
+
+    /**
+     * @return l'arête d'id donné orientée depuis {@code from} : telle quelle si {@code from} en est la source,
+     * retournée sinon (arête d'un graphe non orienté prise dans l'autre sens)
+     */
+    public Edge edgeFrom(int id, int from) {
+        return edgeFrom(id, from, storage);
+    }
+
+    public Edge edgeFrom(int id, int from, EdgeReader reader) {
+        if (reader.source(id) == from) return edge(id, reader);
+        return new Edge(vertices[from], vertices[reader.source(id)], reader.weight(id));
+    }
+
+    /**
+     * Libère le stockage (immédiatement s'il est hors tas). Personne ne doit plus lire le graphe,
+     * sur aucun thread (voir {@link GraphStorage#close()}).
+     */
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    private static GraphStorage toStorage(VertexIndex index, Edge[] edges) {
+        int[] sources = new int[edges.length];
+        int[] targets = new int[edges.length];
+        int[] weights = new int[edges.length];
+        for (int e = 0; e < edges.length; e++) {
+            sources[e] = edges[e].getSource().getId();
+            targets[e] = edges[e].getTarget().getId();
+            weights[e] = edges[e].getWeight();
+        }
+        return CsrGraphStorage.build(StorageKind.HEAP, index.size(), edges.length, sources, targets, weights);
     }
 }
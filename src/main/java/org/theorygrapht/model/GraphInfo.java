@@ -0,0 +1,40 @@
+package org.theorygrapht.model;
+
+/**
+ * Résumé d'un graphe enregistré côté serveur.
+ */
+public class GraphInfo {
+    private final String name;
+    private final int vertices;
+    private final int edges;
+    private final boolean directed;
+    private final long version;
+
+    public GraphInfo(String name, Graph graph, long version) {
+        this.name = name;
+        this.vertices = graph.vertexCount();
+        this.edges = graph.edgeCount();
+        this.directed = graph.isDirected();
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public int getEdges() {
+        return edges;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
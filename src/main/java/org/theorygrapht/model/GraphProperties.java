@@ -0,0 +1,65 @@
+package org.theorygrapht.model;
+
+/**
+ * Propriétés d'un graphe relevées en une passe, qui guident le choix d'un algorithme de plus court chemin.
+ */
+public class GraphProperties {
+    private final int vertices;
+    private final int edges;
+    private final boolean directed;
+    private final boolean negativeWeights;
+    private final boolean unitWeights;
+    private final boolean acyclic;
+    private final double density;
+
+    public GraphProperties(int vertices, int edges, boolean directed, boolean negativeWeights,
+                           boolean unitWeights, boolean acyclic, double density) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.directed = directed;
+        this.negativeWeights = negativeWeights;
+        this.unitWeights = unitWeights;
+        this.acyclic = acyclic;
+        this.density = density;
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public int getEdges() {
+        return edges;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * @return vrai si au moins une arête a un poids négatif
+     */
+    public boolean isNegativeWeights() {
+        return negativeWeights;
+    }
+
+    /**
+     * @return vrai si toutes les arêtes ont le même poids (un BFS suffit alors)
+     */
+    public boolean isUnitWeights() {
+        return unitWeights;
+    }
+
+    /**
+     * @return vrai si le graphe est orienté et sans circuit
+     */
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * @return E / (V (V - 1)), entre 0 et 1 hors arêtes multiples
+     */
+    public double getDensity() {
+        return density;
+    }
+}
@@ -0,0 +1,29 @@
+package org.theorygrapht.model;
+
+/**
+ * Résumé d'un graphe importé depuis une liste d'arêtes, avec le débit de l'import.
+ */
+public class ImportResult extends GraphInfo {
+    private final long bytes;
+    private final double seconds;
+    private final long edgesPerSecond;
+
+    public ImportResult(String name, Graph graph, long version, long bytes, long nanos) {
+        super(name, graph, version);
+        this.bytes = bytes;
+        this.seconds = nanos / 1e9;
+        this.edgesPerSecond = nanos == 0 ? 0 : Math.round(graph.edgeCount() * 1e9 / nanos);
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public double getSeconds() {
+        return seconds;
+    }
+
+    public long getEdgesPerSecond() {
+        return edgesPerSecond;
+    }
+}
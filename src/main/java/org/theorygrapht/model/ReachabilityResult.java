@@ -0,0 +1,34 @@
+package org.theorygrapht.model;
+
+/**
+ * Réponse à « to est-il atteignable depuis from ? », avec l'index qui a répondu (CLOSURE ou INTERVALS).
+ */
+public class ReachabilityResult {
+    private final String from;
+    private final String to;
+    private final boolean reachable;
+    private final String index;
+
+    public ReachabilityResult(String from, String to, boolean reachable, String index) {
+        this.from = from;
+        this.to = to;
+        this.reachable = reachable;
+        this.index = index;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public boolean isReachable() {
+        return reachable;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,80 @@
+package org.theorygrapht.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réponse de /shortestPath : le moteur choisi, pourquoi, les propriétés du graphe qui ont guidé ce choix,
+ * puis selon la requête un chemin (paire de sommets), des distances (une source) ou une matrice (toutes les paires).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ShortestPathResult {
+    private final String engine;
+    private final String reason;
+    private final GraphProperties properties;
+    private List<Edge> path;
+    private Integer distance;
+    private Map<String, Integer> distances;
+    private Map<String, Map<String, Integer>> matrix;
+
+    public ShortestPathResult(String engine, String reason, GraphProperties properties) {
+        this.engine = engine;
+        this.reason = reason;
+        this.properties = properties;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public GraphProperties getProperties() {
+        return properties;
+    }
+
+    public List<Edge> getPath() {
+        return path;
+    }
+
+    public void setPath(List<Edge> path) {
+        this.path = path;
+    }
+
+    /**
+     * @return longueur du chemin, null si la cible est inatteignable
+     */
+    public Integer getDistance() {
+        return distance;
+    }
+
+    public void setDistance(Integer distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * @return distance de chaque sommet atteint depuis la source
+     */
+    public Map<String, Integer> getDistances() {
+        return distances;
+    }
+
+    public void setDistances(Map<String, Integer> distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * @return distances entre toutes les paires (absentes si inatteignables)
+     */
+    public Map<String, Map<String, Integer>> getMatrix() {
+        return matrix;
+    }
+
+    public void setMatrix(Map<String, Map<String, Integer>> matrix) {
+        this.matrix = matrix;
+    }
+}
@@ -1,7 +1,14 @@
 package org.theorygrapht.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Sommet d'un graphe. Son nom ne change pas : une même instance est partagée par les versions successives
+ * d'un graphe enregistré.
+ */
 public class Vertex {
-    private String name;
+    private final String name;
+    private int id = -1;
 
     public Vertex(String name) {
         this.name = name;
@@ -11,8 +18,16 @@ public class Vertex {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
+    /**
+     * @return id dense attribué par le {@link VertexIndex} du graphe, -1 si le sommet n'est pas indexé
+     */
+    @JsonIgnore
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
     }
 
     @Override
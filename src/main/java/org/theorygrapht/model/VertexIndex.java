@@ -0,0 +1,165 @@
+package org.theorygrapht.model;
+
+import java.util.Arrays;
+
+/**
+ * Table des symboles des sommets : chaque nom est interné une seule fois et reçoit un id dense
+ * (0, 1, 2, ...) qui sert d'indice dans les tableaux des algorithmes.
+ *
+ * Deux tables de hachage à adressage ouvert donnent une recherche en O(1) :
+ * l'une sur le nom exact, l'autre sur le nom replié (insensible à la casse, comme equalsIgnoreCase).
+ * Les hachages repliés sont calculés une seule fois, à l'insertion.
+ */
+public class VertexIndex {
+    private Vertex[] vertices;
+    private String[] folded;
+    private int[] foldedHashes;
+    private int size;
+
+    // id + 1 de chaque entrée, 0 = case vide
+    private int[] exactTable;
+    private int[] foldedTable;
+
+    public VertexIndex() {
+        this(16);
+    }
+
+    public VertexIndex(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        vertices = new Vertex[capacity];
+        folded = new String[capacity];
+        foldedHashes = new int[capacity];
+        int tableSize = tableSizeFor(capacity);
+        exactTable = new int[tableSize];
+        foldedTable = new int[tableSize];
+    }
+
+    /**
+     * Indexe des sommets déjà créés, dans l'ordre du tableau.
+     */
+    public static VertexIndex of(Vertex[] vertices) {
+        VertexIndex index = new VertexIndex(vertices.length);
+        for (Vertex v : vertices) index.add(v);
+        return index;
+    }
+
+    /**
+     * @return un nouvel index avec les mêmes sommets (mêmes instances, mêmes ids), à compléter sans toucher celui-ci
+     */
+    public VertexIndex copy() {
+        return of(toArray());
+    }
+
+    /**
+     * Renvoie l'id du sommet portant exactement ce nom, en le créant s'il n'existe pas encore.
+     */
+    public int intern(String name) {
+        int id = exactId(name);
+        return id >= 0 ? id : add(new Vertex(name));
+    }
+
+    /**
+     * Cherche un sommet par nom : d'abord le nom exact, sinon sans tenir compte de la casse
+     * (le premier sommet inséré l'emporte en cas d'ambiguïté).
+     *
+     * @return id du sommet, ou -1 s'il n'existe pas
+     */
+    public int indexOf(String name) {
+        if (name == null) return -1;
+        int id = exactId(name);
+        if (id >= 0) return id;
+
+        String key = fold(name);
+        int hash = key.hashCode();
+        int mask = foldedTable.length - 1;
+        for (int slot = mix(hash) & mask; foldedTable[slot] != 0; slot = (slot + 1) & mask) {
+            int candidate = foldedTable[slot] - 1;
+            if (foldedHashes[candidate] == hash && folded[candidate].equals(key)) return candidate;
+        }
+        return -1;
+    }
+
+    public Vertex vertex(int id) {
+        return vertices[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Vertex[] toArray() {
+        return Arrays.copyOf(vertices, size);
+    }
+
+    private int exactId(String name) {
+        int mask = exactTable.length - 1;
+        for (int slot = mix(name.hashCode()) & mask; exactTable[slot] != 0; slot = (slot + 1) & mask) {
+            int candidate = exactTable[slot] - 1;
+            if (vertices[candidate].getName().equals(name)) return candidate;
+        }
+        return -1;
+    }
+
+    private int add(Vertex vertex) {
+        if (size == vertices.length) grow();
+        int id = size++;
+        String name = vertex.getName();
+        vertex.setId(id);
+        vertices[id] = vertex;
+        folded[id] = fold(name);
+        foldedHashes[id] = folded[id].hashCode();
+        insert(exactTable, mix(name.hashCode()), id, false);
+        insert(foldedTable, mix(foldedHashes[id]), id, true);
+        return id;
+    }
+
+    private void insert(int[] table, int hash, int id, boolean skipIfFoldedPresent) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            if (skipIfFoldedPresent && folded[table[slot] - 1].equals(folded[id])) return;
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+    }
+
+    private void grow() {
+        int capacity = vertices.length * 2;
+        vertices = Arrays.copyOf(vertices, capacity);
+        folded = Arrays.copyOf(folded, capacity);
+        foldedHashes = Arrays.copyOf(foldedHashes, capacity);
+        exactTable = new int[tableSizeFor(capacity)];
+        foldedTable = new int[exactTable.length];
+        for (int id = 0; id < size; id++) {
+            insert(exactTable, mix(vertices[id].getName().hashCode()), id, false);
+            insert(foldedTable, mix(foldedHashes[id]), id, true);
+        }
+    }
+
+    // Tables remplies à 50 % au plus
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 2;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Repli de casse équivalent à celui de String.equalsIgnoreCase, caractère par caractère.
+     */
+    static String fold(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.toLowerCase(Character.toUpperCase(c)) != c) {
+                char[] chars = name.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    chars[j] = Character.toLowerCase(Character.toUpperCase(chars[j]));
+                }
+                return new String(chars);
+            }
+        }
+        return name;
+    }
+}
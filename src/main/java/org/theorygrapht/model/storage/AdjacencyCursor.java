@@ -0,0 +1,53 @@
+package org.theorygrapht.model.storage;
+
+/**
+ * Parcourt la liste d'incidence d'un sommet :
+ * <pre>
+ * cursor.reset(v);
+ * while (cursor.next()) { cursor.target(); cursor.weight(); ... }
+ * </pre>
+ */
+public interface AdjacencyCursor {
+    /**
+     * Se place avant le premier arc du sommet.
+     */
+    default void reset(int vertex) {
+        reset(vertex, 0);
+    }
+
+    /**
+     * Se place avant le {@code from}-ième arc du sommet (0 = début de liste).
+     */
+    void reset(int vertex, int from);
+
+    boolean next();
+
+    /**
+     * @return jeton opaque (positif) de l'arc courant, pour reprendre plus tard avec {@link #resume(int, long)}
+     */
+    long mark();
+
+    /**
+     * Reprend la liste du sommet juste après l'arc marqué, sans la redécoder depuis le début.
+     */
+    void resume(int vertex, long mark);
+
+    /**
+     * @return rang de l'arc courant dans la liste du sommet
+     */
+    int position();
+
+    /**
+     * @return l'autre extrémité de l'arête courante
+     */
+    int target();
+
+    int weight();
+
+    int edge();
+
+    /**
+     * @return vrai si l'arête courante part du sommet parcouru (source == sommet)
+     */
+    boolean outgoing();
+}
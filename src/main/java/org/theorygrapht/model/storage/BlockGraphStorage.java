@@ -0,0 +1,454 @@
+package org.theorygrapht.model.storage;
+
+import java.util.Arrays;
+
+/**
+ * Stockage sur le tas découpé en blocs, pour les graphes modifiés par versions successives.
+ * Les arêtes sont rangées par pages de {@value #EDGE_PAGE}, les listes d'incidence par blocs de
+ * {@value #VERTEX_BLOCK} sommets (même disposition que le CSR, mais locale au bloc).
+ *
+ * Un stockage n'est jamais modifié : {@link #edit()} prépare la version suivante, qui ne copie que les pages
+ * et blocs touchés (copie à l'écriture) et partage tous les autres avec celle-ci. {@link #close()} ne fait rien,
+ * les blocs partagés sont rendus par le GC quand plus aucune version ne les référence.
+ * Toujours sur le tas : {@code GraphUtils.update} reconstruit ensuite dans leur mode les graphes hors tas ou compressés.
+ */
+public final class BlockGraphStorage implements GraphStorage {
+    private static final int VERTEX_SHIFT = 10;
+    private static final int VERTEX_BLOCK = 1 << VERTEX_SHIFT;
+    private static final int VERTEX_MASK = VERTEX_BLOCK - 1;
+    private static final int EDGE_SHIFT = 12;
+    private static final int EDGE_PAGE = 1 << EDGE_SHIFT;
+    private static final int EDGE_MASK = EDGE_PAGE - 1;
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int[][] sources;
+    private final int[][] targets;
+    private final int[][] weights;
+    private final Block[] blocks;
+
+    /**
+     * Listes d'incidence d'un bloc de sommets : tranche [offsets[i], offsets[i + 1]) pour son i-ème sommet.
+     */
+    private static final class Block {
+        final int[] offsets;
+        final int[] arcTargets;
+        final int[] arcWeights;
+        final int[] arcEdges; // (edge << 1) | 1 si l'arc est entrant
+
+        Block(int[] offsets, int[] arcTargets, int[] arcWeights, int[] arcEdges) {
+            this.offsets = offsets;
+            this.arcTargets = arcTargets;
+            this.arcWeights = arcWeights;
+            this.arcEdges = arcEdges;
+        }
+    }
+
+    private BlockGraphStorage(int vertexCount, int edgeCount, int[][] sources, int[][] targets, int[][] weights,
+                              Block[] blocks) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.blocks = blocks;
+    }
+
+    /**
+     * @return ce stockage s'il est déjà par blocs, sinon une copie (listes d'incidence dans le même ordre)
+     */
+    public static BlockGraphStorage copyOf(GraphStorage storage) {
+        if (storage instanceof BlockGraphStorage blocks) return blocks;
+        Editor editor = new BlockGraphStorage(0, 0, new int[0][], new int[0][], new int[0][], new Block[0]).edit();
+        int n = storage.vertexCount();
+        int m = storage.edgeCount();
+        for (int v = 0; v < n; v++) editor.addVertex();
+        for (int e = 0; e < m; e++) editor.setEdge(e, storage.source(e), storage.target(e), storage.weight(e));
+        editor.edgeCount = m;
+        AdjacencyCursor cursor = storage.cursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                editor.appendArc(v, cursor.target(), cursor.weight(), (cursor.edge() << 1) | (cursor.outgoing() ? 0 : 1));
+            }
+        }
+        return editor.build();
+    }
+
+    /**
+     * Prépare la version suivante ; ce stockage reste inchangé.
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int source(int edge) {
+        return sources[edge >>> EDGE_SHIFT][edge & EDGE_MASK];
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets[edge >>> EDGE_SHIFT][edge & EDGE_MASK];
+    }
+
+    @Override
+    public int weight(int edge) {
+        return weights[edge >>> EDGE_SHIFT][edge & EDGE_MASK];
+    }
+
+    @Override
+    public int degree(int vertex) {
+        int[] offsets = blocks[vertex >>> VERTEX_SHIFT].offsets;
+        int i = vertex & VERTEX_MASK;
+        return offsets[i + 1] - offsets[i];
+    }
+
+    @Override
+    public AdjacencyCursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public StorageKind kind() {
+        return StorageKind.HEAP;
+    }
+
+    /**
+     * @return octets des pages et blocs de cette version, y compris ceux partagés avec d'autres
+     */
+    @Override
+    public long byteSize() {
+        long ints = 3L * sources.length * EDGE_PAGE;
+        for (Block block : blocks) ints += block.offsets.length + 3L * block.arcTargets.length;
+        return 4 * ints;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Construit la version suivante. Une page ou un bloc est copié au premier changement, puis modifié sur place ;
+     * les listes d'un bloc copié sont dépliées sommet par sommet le temps de l'édition.
+     * Un éditeur n'est utilisé que par un seul thread.
+     */
+    public final class Editor {
+        private int vertices = vertexCount;
+        private int edgeCount = BlockGraphStorage.this.edgeCount;
+        private int[][] sources = BlockGraphStorage.this.sources.clone();
+        private int[][] targets = BlockGraphStorage.this.targets.clone();
+        private int[][] weights = BlockGraphStorage.this.weights.clone();
+        private boolean[] ownedPages = new boolean[sources.length];
+        private Block[] blocks = BlockGraphStorage.this.blocks.clone();
+        private int[][][] editing = new int[blocks.length][][]; // [bloc][sommet] = triplets (cible, poids, arête)
+        private int[][] editingSizes = new int[blocks.length][];
+
+        private Editor() {
+        }
+
+        public int vertexCount() {
+            return vertices;
+        }
+
+        public int edgeCount() {
+            return edgeCount;
+        }
+
+        public int source(int edge) {
+            return sources[edge >>> EDGE_SHIFT][edge & EDGE_MASK];
+        }
+
+        public int target(int edge) {
+            return targets[edge >>> EDGE_SHIFT][edge & EDGE_MASK];
+        }
+
+        /**
+         * @return id du nouveau sommet, sans arc
+         */
+        public int addVertex() {
+            int v = vertices++;
+            int b = v >>> VERTEX_SHIFT;
+            if (b == blocks.length) {
+                blocks = Arrays.copyOf(blocks, b + 1);
+                editing = Arrays.copyOf(editing, b + 1);
+                editingSizes = Arrays.copyOf(editingSizes, b + 1);
+                blocks[b] = new Block(new int[1], new int[0], new int[0], new int[0]);
+            }
+            unfold(b);
+            return v;
+        }
+
+        /**
+         * @param either vrai pour un graphe non orienté : l'arête peut aussi aller de {@code v} à {@code u}
+         * @return id d'une arête de {@code u} vers {@code v}, -1 s'il n'y en a pas
+         */
+        public int findEdge(int u, int v, boolean either) {
+            int b = u >>> VERTEX_SHIFT;
+            int i = u & VERTEX_MASK;
+            if (editing[b] != null) {
+                int[] arcs = editing[b][i];
+                for (int a = 0, size = editingSizes[b][i]; a < size; a += 3) {
+                    if (arcs[a] == v && (either || (arcs[a + 2] & 1) == 0)) return arcs[a + 2] >>> 1;
+                }
+                return -1;
+            }
+            Block block = blocks[b];
+            for (int a = block.offsets[i]; a < block.offsets[i + 1]; a++) {
+                if (block.arcTargets[a] == v && (either || (block.arcEdges[a] & 1) == 0)) return block.arcEdges[a] >>> 1;
+            }
+            return -1;
+        }
+
+        /**
+         * @return id de la nouvelle arête (le nombre d'arêtes avant l'ajout)
+         */
+        public int addEdge(int u, int v, int weight) {
+            int e = edgeCount++;
+            setEdge(e, u, v, weight);
+            appendArc(u, v, weight, e << 1);
+            appendArc(v, u, weight, (e << 1) | 1);
+            return e;
+        }
+
+        public void setWeight(int edge, int weight) {
+            int u = source(edge);
+            int v = target(edge);
+            ownPage(edge >>> EDGE_SHIFT);
+            weights[edge >>> EDGE_SHIFT][edge & EDGE_MASK] = weight;
+            setArcWeight(u, edge << 1, weight);
+            setArcWeight(v, (edge << 1) | 1, weight);
+        }
+
+        /**
+         * Retire l'arête ; la dernière arête prend son id, pour que les ids restent 0..E-1,
+         * et sa place dans les listes d'incidence de ses extrémités.
+         */
+        public void removeEdge(int edge) {
+            removeArc(source(edge), edge << 1);
+            removeArc(target(edge), (edge << 1) | 1);
+            int last = --edgeCount;
+            if (edge != last) {
+                int u = source(last);
+                int v = target(last);
+                setEdge(edge, u, v, weights[last >>> EDGE_SHIFT][last & EDGE_MASK]);
+                renameArc(u, last << 1, edge << 1);
+                renameArc(v, (last << 1) | 1, (edge << 1) | 1);
+            }
+        }
+
+        public BlockGraphStorage build() {
+            int pages = (edgeCount + EDGE_MASK) >>> EDGE_SHIFT;
+            Block[] built = blocks.clone();
+            for (int b = 0; b < built.length; b++) {
+                if (editing[b] != null) built[b] = fold(b);
+            }
+            return new BlockGraphStorage(vertices, edgeCount, Arrays.copyOf(sources, pages),
+                    Arrays.copyOf(targets, pages), Arrays.copyOf(weights, pages), built);
+        }
+
+        private void setEdge(int edge, int u, int v, int weight) {
+            int p = edge >>> EDGE_SHIFT;
+            ownPage(p);
+            sources[p][edge & EDGE_MASK] = u;
+            targets[p][edge & EDGE_MASK] = v;
+            weights[p][edge & EDGE_MASK] = weight;
+        }
+
+        /**
+         * Copie la page p (sources, cibles et poids) si elle est encore partagée, ou la crée.
+         */
+        private void ownPage(int p) {
+            if (p >= sources.length) {
+                int length = Math.max(p + 1, sources.length * 2);
+                sources = Arrays.copyOf(sources, length);
+                targets = Arrays.copyOf(targets, length);
+                weights = Arrays.copyOf(weights, length);
+                ownedPages = Arrays.copyOf(ownedPages, length);
+            }
+            if (!ownedPages[p]) {
+                sources[p] = sources[p] == null ? new int[EDGE_PAGE] : sources[p].clone();
+                targets[p] = targets[p] == null ? new int[EDGE_PAGE] : targets[p].clone();
+                weights[p] = weights[p] == null ? new int[EDGE_PAGE] : weights[p].clone();
+                ownedPages[p] = true;
+            }
+        }
+
+        private void appendArc(int vertex, int target, int weight, int code) {
+            int b = vertex >>> VERTEX_SHIFT;
+            int i = vertex & VERTEX_MASK;
+            unfold(b);
+            int[] arcs = editing[b][i];
+            int size = editingSizes[b][i];
+            if (size + 3 > arcs.length) arcs = editing[b][i] = Arrays.copyOf(arcs, Math.max(6, 2 * arcs.length));
+            arcs[size] = target;
+            arcs[size + 1] = weight;
+            arcs[size + 2] = code;
+            editingSizes[b][i] = size + 3;
+        }
+
+        private void setArcWeight(int vertex, int code, int weight) {
+            int b = vertex >>> VERTEX_SHIFT;
+            int i = vertex & VERTEX_MASK;
+            unfold(b);
+            int[] arcs = editing[b][i];
+            for (int a = 0, size = editingSizes[b][i]; a < size; a += 3) {
+                if (arcs[a + 2] == code) {
+                    arcs[a + 1] = weight;
+                    return;
+                }
+            }
+            throw new IllegalStateException("Arc " + code + " not found at vertex " + vertex);
+        }
+
+        private void removeArc(int vertex, int code) {
+            int b = vertex >>> VERTEX_SHIFT;
+            int i = vertex & VERTEX_MASK;
+            unfold(b);
+            int[] arcs = editing[b][i];
+            int size = editingSizes[b][i];
+            for (int a = 0; a < size; a += 3) {
+                if (arcs[a + 2] == code) {
+                    System.arraycopy(arcs, a + 3, arcs, a, size - a - 3);
+                    editingSizes[b][i] = size - 3;
+                    return;
+                }
+            }
+            throw new IllegalStateException("Arc " + code + " not found at vertex " + vertex);
+        }
+
+        /**
+         * Renomme un arc de {@code from} en {@code to} (plus petit) et le recule à sa place : la liste reste
+         * dans l'ordre des arêtes, comme après une reconstruction en CSR.
+         */
+        private void renameArc(int vertex, int from, int to) {
+            int b = vertex >>> VERTEX_SHIFT;
+            int i = vertex & VERTEX_MASK;
+            unfold(b);
+            int[] arcs = editing[b][i];
+            for (int a = 0, size = editingSizes[b][i]; a < size; a += 3) {
+                if (arcs[a + 2] == from) {
+                    int target = arcs[a];
+                    int weight = arcs[a + 1];
+                    for (; a > 0 && arcs[a - 1] > to; a -= 3) System.arraycopy(arcs, a - 3, arcs, a, 3);
+                    arcs[a] = target;
+                    arcs[a + 1] = weight;
+                    arcs[a + 2] = to;
+                    return;
+                }
+            }
+            throw new IllegalStateException("Arc " + from + " not found at vertex " + vertex);
+        }
+
+        /**
+         * Déplie un bloc partagé en listes par sommet, modifiables.
+         */
+        private void unfold(int b) {
+            if (editing[b] != null) return;
+            Block block = blocks[b];
+            int[][] lists = new int[VERTEX_BLOCK][];
+            int[] sizes = new int[VERTEX_BLOCK];
+            int size = block.offsets.length - 1;
+            for (int i = 0; i < VERTEX_BLOCK; i++) {
+                int from = i < size ? block.offsets[i] : 0;
+                int to = i < size ? block.offsets[i + 1] : 0;
+                int[] arcs = new int[3 * (to - from)];
+                for (int a = from, k = 0; a < to; a++, k += 3) {
+                    arcs[k] = block.arcTargets[a];
+                    arcs[k + 1] = block.arcWeights[a];
+                    arcs[k + 2] = block.arcEdges[a];
+                }
+                lists[i] = arcs;
+                sizes[i] = arcs.length;
+            }
+            editing[b] = lists;
+            editingSizes[b] = sizes;
+        }
+
+        private Block fold(int b) {
+            int size = Math.min(VERTEX_BLOCK, vertices - (b << VERTEX_SHIFT));
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < size; i++) offsets[i + 1] = offsets[i] + editingSizes[b][i] / 3;
+            int arcs = offsets[size];
+            int[] arcTargets = new int[arcs];
+            int[] arcWeights = new int[arcs];
+            int[] arcEdges = new int[arcs];
+            for (int i = 0; i < size; i++) {
+                int[] list = editing[b][i];
+                for (int k = 0, a = offsets[i]; k < editingSizes[b][i]; k += 3, a++) {
+                    arcTargets[a] = list[k];
+                    arcWeights[a] = list[k + 1];
+                    arcEdges[a] = list[k + 2];
+                }
+            }
+            return new Block(offsets, arcTargets, arcWeights, arcEdges);
+        }
+    }
+
+    private final class Cursor implements AdjacencyCursor {
+        private Block block;
+        private int first;
+        private int arc;
+        private int end;
+
+        @Override
+        public void reset(int vertex, int from) {
+            block = blocks[vertex >>> VERTEX_SHIFT];
+            int i = vertex & VERTEX_MASK;
+            first = block.offsets[i];
+            end = block.offsets[i + 1];
+            arc = first + from - 1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++arc < end;
+        }
+
+        @Override
+        public long mark() {
+            return arc;
+        }
+
+        @Override
+        public void resume(int vertex, long mark) {
+            reset(vertex, 0);
+            arc = (int) mark;
+        }
+
+        @Override
+        public int position() {
+            return arc - first;
+        }
+
+        @Override
+        public int target() {
+            return block.arcTargets[arc];
+        }
+
+        @Override
+        public int weight() {
+            return block.arcWeights[arc];
+        }
+
+        @Override
+        public int edge() {
+            return block.arcEdges[arc] >>> 1;
+        }
+
+        @Override
+        public boolean outgoing() {
+            return (block.arcEdges[arc] & 1) == 0;
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package org.theorygrapht.model.storage;
+
+import java.util.Arrays;
+
+/**
+ * Stockage compressé pour les gros graphes, où la bande passante mémoire domine.
+ *
+ * Chaque liste d'incidence est triée par voisin puis découpée en blocs de {@value #BLOCK} arcs.
+ * Dans un bloc, un arc = écart avec le voisin précédent, étiquette et poids, en varint ; le premier arc
+ * d'un bloc repart d'un voisin absolu (relatif au sommet). L'étiquette d'un arc sortant est le rang de
+ * son arête parmi celles du sommet (les arêtes d'une même source se suivent), celle d'un arc entrant
+ * ne dit rien : son arête n'est retrouvée dans la liste de la source que si on la demande.
+ * Une liste de plus d'un bloc commence par un index de sauts (position de chaque bloc), ce qui permet
+ * à {@link AdjacencyCursor#reset(int, int)} de reprendre au milieu d'une liste sans tout décoder.
+ *
+ * La table des arêtes donne, par blocs de {@value #EDGE_BLOCK} ids, la source de chaque arête et le rang de son arc
+ * sortant dans la liste de la source : cible et poids sont relus dans la liste, sans être stockés deux fois.
+ * Le lecteur rendu par {@link #edgeReader()} garde le dernier bloc de la table et la dernière arête décodés :
+ * les algorithmes indexés par arête (Kruskal, Prim) lisent source, cible et poids de la même arête coup sur coup,
+ * ou les arêtes dans l'ordre. Le stockage lui-même reste immuable et partageable entre threads.
+ * Contrairement au CSR, les voisins sont parcourus par id croissant et non dans l'ordre des arêtes.
+ */
+public final class CompressedGraphStorage implements GraphStorage {
+    static final int BLOCK = 64;
+    static final int EDGE_BLOCK = 32;
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final boolean signedWeights;
+    private final int[] vertexOffsets; // position de la liste de chaque sommet dans arcs
+    private final byte[] arcs;
+    private final int[] edgeBlocks; // position de chaque bloc de la table des arêtes
+    private final byte[] edges;
+
+    private CompressedGraphStorage(int vertexCount, int edgeCount, boolean signedWeights, int[] vertexOffsets,
+                                   byte[] arcs, int[] edgeBlocks, byte[] edges) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.signedWeights = signedWeights;
+        this.vertexOffsets = vertexOffsets;
+        this.arcs = arcs;
+        this.edgeBlocks = edgeBlocks;
+        this.edges = edges;
+    }
+
+    public static CompressedGraphStorage build(int vertexCount, int edgeCount,
+                                               int[] edgeSources, int[] edgeTargets, int[] edgeWeights) {
+        if (edgeCount >= 1 << 30) {
+            throw new IllegalArgumentException("Too many edges : " + edgeCount);
+        }
+        boolean signedWeights = false;
+        for (int e = 0; e < edgeCount; e++) signedWeights |= edgeWeights[e] < 0;
+
+        // Arcs (voisin << 32 | arête << 1 | entrant) regroupés par sommet ; trier une liste la range
+        // par voisin, puis par arête (l'arc sortant d'une arête avant son arc entrant, pour une boucle)
+        int[] start = new int[vertexCount + 1];
+        int[] base = new int[vertexCount];
+        Arrays.fill(base, Integer.MAX_VALUE);
+        for (int e = 0; e < edgeCount; e++) {
+            start[edgeSources[e] + 1]++;
+            start[edgeTargets[e] + 1]++;
+            base[edgeSources[e]] = Math.min(base[edgeSources[e]], e);
+        }
+        for (int v = 0; v < vertexCount; v++) start[v + 1] += start[v];
+        long[] sorted = new long[2 * edgeCount];
+        int[] fill = Arrays.copyOf(start, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edgeSources[e];
+            int v = edgeTargets[e];
+            sorted[fill[u]++] = ((long) v << 32) | (e << 1);
+            sorted[fill[v]++] = ((long) u << 32) | (e << 1) | 1;
+        }
+
+        ByteWriter out = new ByteWriter((int) Math.min(Integer.MAX_VALUE - 8, 16L + 6L * edgeCount));
+        int[] vertexOffsets = new int[vertexCount + 1];
+        int[] ranks = new int[edgeCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexOffsets[v] = out.size();
+            int first = base[v] == Integer.MAX_VALUE ? 0 : base[v];
+            Arrays.sort(sorted, start[v], start[v + 1]);
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                if ((sorted[i] & 1) == 0) ranks[(int) sorted[i] >>> 1] = i - start[v];
+            }
+            writeList(out, v, first, sorted, start[v], start[v + 1], edgeWeights, signedWeights);
+        }
+        vertexOffsets[vertexCount] = out.size();
+        byte[] arcs = out.toArray();
+
+        ByteWriter table = new ByteWriter((int) Math.min(Integer.MAX_VALUE - 8, 16L + 4L * edgeCount));
+        int[] edgeBlocks = new int[(edgeCount + EDGE_BLOCK - 1) / EDGE_BLOCK];
+        int previousSource = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (e % EDGE_BLOCK == 0) {
+                edgeBlocks[e / EDGE_BLOCK] = table.size();
+                previousSource = 0;
+            }
+            table.writeVarint(zigzag(edgeSources[e] - previousSource));
+            table.writeVarint(ranks[e]);
+            previousSource = edgeSources[e];
+        }
+
+        return new CompressedGraphStorage(vertexCount, edgeCount, signedWeights, vertexOffsets, arcs,
+                edgeBlocks, table.toArray());
+    }
+
+    private static void writeList(ByteWriter out, int v, int base, long[] sorted, int from, int to,
+                                  int[] weights, boolean signedWeights) {
+        int degree = to - from;
+        out.writeVarint(degree);
+        out.writeVarint(base);
+        int blocks = (degree + BLOCK - 1) / BLOCK;
+        int skipIndex = out.size();
+        for (int b = 1; b < blocks; b++) out.writeInt(0);
+        int listStart = out.size();
+
+        int previousTarget = 0;
+        for (int i = 0; i < degree; i++) {
+            long arc = sorted[from + i];
+            int target = (int) (arc >>> 32);
+            int edge = (int) arc >>> 1;
+            if (i % BLOCK == 0) {
+                if (i > 0) out.putInt(skipIndex + 4 * (i / BLOCK - 1), out.size() - listStart);
+                out.writeVarint(zigzag(target - v));
+            } else {
+                out.writeVarint(target - previousTarget);
+            }
+            out.writeVarint((arc & 1) == 0 ? (edge - base) << 1 : 1);
+            out.writeVarint(signedWeights ? zigzag(weights[edge]) : weights[edge]);
+            previousTarget = target;
+        }
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int source(int edge) {
+        return (int) (locate(edge) >>> 32);
+    }
+
+    @Override
+    public int target(int edge) {
+        return (int) (readArc(locate(edge)) >>> 32);
+    }
+
+    @Override
+    public int weight(int edge) {
+        return (int) readArc(locate(edge));
+    }
+
+    /**
+     * Lecteur propre à l'appelant, qui garde le bloc de la table et l'arête décodés en dernier.
+     */
+    @Override
+    public EdgeReader edgeReader() {
+        return new EdgeDecoder();
+    }
+
+    /**
+     * Source et rang de l'arc sortant, en décodant le bloc de la table jusqu'à l'arête.
+     *
+     * @return source << 32 | rang
+     */
+    private long locate(int edge) {
+        int[] pos = {edgeBlocks[edge / EDGE_BLOCK]};
+        int source = 0;
+        int rank = 0;
+        for (int i = 0; i <= edge % EDGE_BLOCK; i++) {
+            source += unzigzag(readVarint(edges, pos));
+            rank = readVarint(edges, pos);
+        }
+        return (long) source << 32 | rank;
+    }
+
+    /**
+     * Même lecture que Cursor.reset(source, rang) puis next(), sans curseur.
+     *
+     * @param located source << 32 | rang
+     * @return cible << 32 | poids
+     */
+    private long readArc(long located) {
+        int source = (int) (located >>> 32);
+        int rank = (int) located;
+        int[] pos = {vertexOffsets[source]};
+        int degree = readVarint(arcs, pos);
+        readVarint(arcs, pos); // base
+        int blocks = (degree + BLOCK - 1) / BLOCK;
+        int skipIndex = pos[0];
+        int listStart = skipIndex + 4 * Math.max(0, blocks - 1);
+        int b = rank / BLOCK;
+        pos[0] = b == 0 ? listStart : listStart + readInt(arcs, skipIndex + 4 * (b - 1));
+        int target = source + unzigzag(readVarint(arcs, pos));
+        int weight;
+        for (int i = b * BLOCK; ; i++) {
+            readVarint(arcs, pos); // étiquette
+            weight = readVarint(arcs, pos);
+            if (i == rank) break;
+            target += readVarint(arcs, pos);
+        }
+        return (long) target << 32 | ((signedWeights ? unzigzag(weight) : weight) & 0xFFFFFFFFL);
+    }
+
+    private final class EdgeDecoder implements EdgeReader {
+        private int blockIndex = -1;
+        private final int[] sources = new int[EDGE_BLOCK];
+        private final int[] ranks = new int[EDGE_BLOCK];
+        private int edge = -1;
+        private int source;
+        private int target;
+        private int weight;
+
+        @Override
+        public int source(int edge) {
+            decode(edge);
+            return source;
+        }
+
+        @Override
+        public int target(int edge) {
+            decode(edge);
+            return target;
+        }
+
+        @Override
+        public int weight(int edge) {
+            decode(edge);
+            return weight;
+        }
+
+        private void decode(int edge) {
+            if (edge == this.edge) return;
+            int index = edge / EDGE_BLOCK;
+            // Un parcours dans l'ordre des ids commence chaque bloc par sa première arête : le bloc entier est décodé.
+            // Un accès au hasard ne décode que le début du bloc, jusqu'à son arête
+            if (blockIndex != index && edge % EDGE_BLOCK == 0) decodeBlock(index);
+            long located = blockIndex == index
+                    ? (long) sources[edge % EDGE_BLOCK] << 32 | ranks[edge % EDGE_BLOCK]
+                    : locate(edge);
+            long arc = readArc(located);
+            this.edge = edge;
+            source = (int) (located >>> 32);
+            target = (int) (arc >>> 32);
+            weight = (int) arc;
+        }
+
+        private void decodeBlock(int index) {
+            int[] pos = {edgeBlocks[index]};
+            int source = 0;
+            for (int i = 0, count = Math.min(EDGE_BLOCK, edgeCount - index * EDGE_BLOCK); i < count; i++) {
+                source += unzigzag(readVarint(edges, pos));
+                sources[i] = source;
+                ranks[i] = readVarint(edges, pos);
+            }
+            blockIndex = index;
+        }
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return readVarint(arcs, new int[]{vertexOffsets[vertex]});
+    }
+
+    @Override
+    public AdjacencyCursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public StorageKind kind() {
+        return StorageKind.COMPRESSED;
+    }
+
+    @Override
+    public long byteSize() {
+        return arcs.length + edges.length + 4L * (vertexOffsets.length + edgeBlocks.length);
+    }
+
+    @Override
+    public void close() {
+        // Rien à libérer : tout est sur le tas
+    }
+
+    private final class Cursor implements AdjacencyCursor {
+        private int vertex;
+        private int base;
+        private int listStart;
+        private int listEnd;
+        private int skipIndex;
+        private int blocks;
+        private int nextBlock; // prochain bloc, qui commence à nextBlockStart
+        private int nextBlockStart;
+        private int position; // -1 si inconnu (après resume), calculé à la demande
+        private int pos;
+        private int target;
+        private int tag;
+        private int weight;
+        // Arcs entrants déjà vus vers le voisin courant (-1 si inconnu, après un saut dans la liste)
+        private int incomingBefore;
+        private boolean previousIncoming;
+
+        @Override
+        public void reset(int vertex, int from) {
+            int block = from / BLOCK;
+            open(vertex);
+            pos = block == 0 ? listStart : blockStart(block);
+            nextBlock = block;
+            nextBlockStart = pos;
+            position = block * BLOCK - 1;
+            target = -1;
+            incomingBefore = block == 0 ? 0 : -1;
+            previousIncoming = false;
+            for (int skip = from % BLOCK; skip > 0; skip--) next();
+        }
+
+        @Override
+        public long mark() {
+            return (long) (pos - vertexOffsets[vertex]) << 32 | (target & 0xFFFFFFFFL);
+        }
+
+        @Override
+        public void resume(int vertex, long mark) {
+            open(vertex);
+            pos = vertexOffsets[vertex] + (int) (mark >>> 32);
+            target = (int) mark;
+            position = -1;
+            incomingBefore = -1;
+            previousIncoming = false;
+
+            // Premier bloc qui commence à pos ou après (recherche dichotomique dans l'index de sauts)
+            int low = 1;
+            int high = blocks;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (blockStart(middle) < pos) low = middle + 1;
+                else high = middle;
+            }
+            nextBlock = low;
+            nextBlockStart = low < blocks ? blockStart(low) : Integer.MAX_VALUE;
+        }
+
+        private void open(int vertex) {
+            this.vertex = vertex;
+            pos = vertexOffsets[vertex];
+            listEnd = vertexOffsets[vertex + 1];
+            int degree = readVarint();
+            base = readVarint();
+            skipIndex = pos;
+            blocks = (degree + BLOCK - 1) / BLOCK;
+            listStart = pos + 4 * Math.max(0, blocks - 1);
+        }
+
+        private int blockStart(int block) {
+            return listStart + readInt(skipIndex + 4 * (block - 1));
+        }
+
+        @Override
+        public boolean next() {
+            if (pos >= listEnd) return false;
+            if (position >= 0 || target < 0) position++;
+            int previousTarget = target;
+            if (pos == nextBlockStart) {
+                target = vertex + unzigzag(readVarint());
+                nextBlock++;
+                nextBlockStart = nextBlock < blocks ? blockStart(nextBlock) : Integer.MAX_VALUE;
+            } else {
+                target += readVarint();
+            }
+            tag = readVarint();
+            int w = readVarint();
+            weight = signedWeights ? unzigzag(w) : w;
+
+            if (target != previousTarget) {
+                incomingBefore = previousTarget < 0 && incomingBefore < 0 ? -1 : 0;
+            } else if (incomingBefore >= 0 && previousIncoming) {
+                incomingBefore++;
+            }
+            previousIncoming = (tag & 1) != 0;
+            return true;
+        }
+
+        @Override
+        public int position() {
+            if (position < 0) {
+                Cursor scan = new Cursor();
+                scan.reset(vertex);
+                while (scan.next() && scan.pos < pos) {
+                    // compte les arcs jusqu'à l'arc courant
+                }
+                position = scan.position;
+            }
+            return position;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+        @Override
+        public int edge() {
+            return (tag & 1) == 0 ? base + (tag >>> 1) : incomingEdge();
+        }
+
+        @Override
+        public boolean outgoing() {
+            return (tag & 1) == 0;
+        }
+
+        /**
+         * Les arcs entrants depuis un voisin et les arcs sortants de ce voisin vers nous sont triés par arête :
+         * le j-ième des uns est le j-ième des autres.
+         */
+        private int incomingEdge() {
+            int rank = incomingBefore;
+            if (rank < 0) {
+                rank = 0;
+                Cursor scan = new Cursor();
+                scan.reset(vertex);
+                while (scan.next() && scan.pos < pos) {
+                    if (scan.target == target && (scan.tag & 1) != 0) rank++;
+                }
+            }
+            Cursor source = new Cursor();
+            source.reset(target);
+            while (source.next()) {
+                if (source.target == vertex && (source.tag & 1) == 0 && rank-- == 0) {
+                    return source.base + (source.tag >>> 1);
+                }
+            }
+            throw new IllegalStateException("Edge not found for arc " + target + " -> " + vertex);
+        }
+
+        private int readVarint() {
+            byte[] bytes = arcs;
+            int b = bytes[pos++];
+            if (b >= 0) return b;
+            int value = b & 0x7F;
+            for (int shift = 7; ; shift += 7) {
+                b = bytes[pos++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+        }
+
+        private int readInt(int at) {
+            return CompressedGraphStorage.readInt(arcs, at);
+        }
+    }
+
+    private static int readInt(byte[] bytes, int at) {
+        return (bytes[at] & 0xFF) << 24 | (bytes[at + 1] & 0xFF) << 16 | (bytes[at + 2] & 0xFF) << 8 | (bytes[at + 3] & 0xFF);
+    }
+
+    private static int readVarint(byte[] bytes, int[] pos) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = bytes[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    private static final class ByteWriter {
+        private byte[] bytes;
+        private int size;
+
+        ByteWriter(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            putInt(size, value);
+            size += 4;
+        }
+
+        void putInt(int at, int value) {
+            bytes[at] = (byte) (value >>> 24);
+            bytes[at + 1] = (byte) (value >>> 16);
+            bytes[at + 2] = (byte) (value >>> 8);
+            bytes[at + 3] = (byte) value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                long capacity = Math.max((long) bytes.length * 3 / 2, (long) size + extra);
+                if (capacity > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Graph too large for compressed storage");
+                }
+                bytes = Arrays.copyOf(bytes, (int) capacity);
+            }
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
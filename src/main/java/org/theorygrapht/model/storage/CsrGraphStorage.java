@@ -0,0 +1,181 @@
+package org.theorygrapht.model.storage;
+
+/**
+ * Stockage CSR (compressed sparse row) : une table d'arêtes (source, cible, poids)
+ * et, pour chaque sommet, une tranche contiguë d'arcs (voisin, poids, arête + sens).
+ * Le même code sert au tas et hors tas, seul le {@link IntArray} sous-jacent change.
+ */
+public final class CsrGraphStorage implements GraphStorage {
+    private final StorageKind kind;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final IntArray sources;
+    private final IntArray targets;
+    private final IntArray weights;
+    private final IntArray offsets;
+    private final IntArray arcTargets;
+    private final IntArray arcWeights;
+    private final IntArray arcEdges; // (edge << 1) | 1 si l'arc est entrant
+
+    private CsrGraphStorage(StorageKind kind, int vertexCount, int edgeCount) {
+        if (edgeCount >= 1 << 30) {
+            throw new IllegalArgumentException("Too many edges : " + edgeCount);
+        }
+        this.kind = kind;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        sources = kind.allocate(edgeCount);
+        targets = kind.allocate(edgeCount);
+        weights = kind.allocate(edgeCount);
+        offsets = kind.allocate(vertexCount + 1L);
+        arcTargets = kind.allocate(2L * edgeCount);
+        arcWeights = kind.allocate(2L * edgeCount);
+        arcEdges = kind.allocate(2L * edgeCount);
+    }
+
+    /**
+     * Construit le stockage à partir de la liste des arêtes.
+     * Les listes d'incidence gardent l'ordre des arêtes ; chaque arête y apparaît
+     * chez sa source (arc sortant) puis chez sa cible (arc entrant).
+     */
+    public static CsrGraphStorage build(StorageKind kind, int vertexCount, int edgeCount,
+                                        int[] edgeSources, int[] edgeTargets, int[] edgeWeights) {
+        CsrGraphStorage storage = new CsrGraphStorage(kind, vertexCount, edgeCount);
+        int[] start = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            storage.sources.set(e, edgeSources[e]);
+            storage.targets.set(e, edgeTargets[e]);
+            storage.weights.set(e, edgeWeights[e]);
+            start[edgeSources[e] + 1]++;
+            start[edgeTargets[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) start[v + 1] += start[v];
+        for (int v = 0; v <= vertexCount; v++) storage.offsets.set(v, start[v]);
+
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edgeSources[e];
+            int v = edgeTargets[e];
+            int out = start[u]++;
+            storage.arcTargets.set(out, v);
+            storage.arcWeights.set(out, edgeWeights[e]);
+            storage.arcEdges.set(out, e << 1);
+            int in = start[v]++;
+            storage.arcTargets.set(in, u);
+            storage.arcWeights.set(in, edgeWeights[e]);
+            storage.arcEdges.set(in, (e << 1) | 1);
+        }
+        return storage;
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int source(int edge) {
+        return sources.get(edge);
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    @Override
+    public int weight(int edge) {
+        return weights.get(edge);
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return offsets.get(vertex + 1) - offsets.get(vertex);
+    }
+
+    @Override
+    public AdjacencyCursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public StorageKind kind() {
+        return kind;
+    }
+
+    @Override
+    public long byteSize() {
+        return sources.byteSize() + targets.byteSize() + weights.byteSize() + offsets.byteSize()
+                + arcTargets.byteSize() + arcWeights.byteSize() + arcEdges.byteSize();
+    }
+
+    @Override
+    public void close() {
+        sources.release();
+        targets.release();
+        weights.release();
+        offsets.release();
+        arcTargets.release();
+        arcWeights.release();
+        arcEdges.release();
+    }
+
+    private final class Cursor implements AdjacencyCursor {
+        private int first;
+        private int arc;
+        private int end;
+
+        @Override
+        public void reset(int vertex, int from) {
+            first = offsets.get(vertex);
+            end = offsets.get(vertex + 1);
+            arc = first + from - 1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++arc < end;
+        }
+
+        @Override
+        public long mark() {
+            return arc;
+        }
+
+        @Override
+        public void resume(int vertex, long mark) {
+            first = offsets.get(vertex);
+            end = offsets.get(vertex + 1);
+            arc = (int) mark;
+        }
+
+        @Override
+        public int position() {
+            return arc - first;
+        }
+
+        @Override
+        public int target() {
+            return arcTargets.get(arc);
+        }
+
+        @Override
+        public int weight() {
+            return arcWeights.get(arc);
+        }
+
+        @Override
+        public int edge() {
+            return arcEdges.get(arc) >>> 1;
+        }
+
+        @Override
+        public boolean outgoing() {
+            return (arcEdges.get(arc) & 1) == 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.theorygrapht.model.storage;
+
+/**
+ * Lit la table des arêtes par id. Un lecteur obtenu par {@link GraphStorage#edgeReader()} n'est utilisé
+ * que par un seul thread : il peut garder ce qu'il a décodé pour les lectures suivantes.
+ */
+public interface EdgeReader {
+    int source(int edge);
+
+    int target(int edge);
+
+    int weight(int edge);
+}
@@ -0,0 +1,48 @@
+package org.theorygrapht.model.storage;
+
+/**
+ * Topologie et poids d'un graphe, adressés par ids denses.
+ *
+ * Les arêtes sont numérotées 0..E-1 dans l'ordre d'arrivée. Chaque sommet a une liste d'incidence
+ * (ses arêtes sortantes et entrantes, dans l'ordre des arêtes), parcourue avec un {@link AdjacencyCursor}.
+ * {@link #close()} rend la mémoire tout de suite ; le stockage n'est plus utilisable ensuite.
+ */
+public interface GraphStorage extends EdgeReader, AutoCloseable {
+    int vertexCount();
+
+    int edgeCount();
+
+    /**
+     * @return nombre d'arcs incidents au sommet (une boucle compte deux fois)
+     */
+    int degree(int vertex);
+
+    /**
+     * Nouveau curseur de parcours ; un curseur n'est utilisé que par un seul thread.
+     */
+    AdjacencyCursor cursor();
+
+    /**
+     * Lecteur de la table des arêtes pour un seul thread, à préférer pour lire beaucoup d'arêtes par id.
+     * Par défaut le stockage lui-même ; un stockage qui décode ses arêtes y garde son état de décodage.
+     */
+    default EdgeReader edgeReader() {
+        return this;
+    }
+
+    StorageKind kind();
+
+    /**
+     * @return octets occupés par la topologie et les poids
+     */
+    long byteSize();
+
+    /**
+     * Rend la mémoire. L'appelant doit garantir qu'aucun autre thread ne lit plus ce stockage : hors tas,
+     * une lecture concurrente lirait de la mémoire libérée. Dans l'application, un graphe reçu n'est fermé
+     * qu'après son calcul (tâches parallèles terminées) et un graphe enregistré qu'à la fin de son dernier
+     * lecteur ({@code GraphVersion}).
+     */
+    @Override
+    void close();
+}
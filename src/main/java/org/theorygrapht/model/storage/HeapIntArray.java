@@ -0,0 +1,34 @@
+package org.theorygrapht.model.storage;
+
+final class HeapIntArray implements IntArray {
+    private int[] values;
+
+    HeapIntArray(long length) {
+        this.values = new int[Math.toIntExact(length)];
+    }
+
+    @Override
+    public int get(long index) {
+        return values[(int) index];
+    }
+
+    @Override
+    public void set(long index, int value) {
+        values[(int) index] = value;
+    }
+
+    @Override
+    public long length() {
+        return values.length;
+    }
+
+    @Override
+    public long byteSize() {
+        return 4L * values.length;
+    }
+
+    @Override
+    public void release() {
+        values = null;
+    }
+}
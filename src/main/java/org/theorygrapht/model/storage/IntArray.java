@@ -0,0 +1,16 @@
+package org.theorygrapht.model.storage;
+
+/**
+ * Tableau d'entiers de taille fixe, sur le tas ou hors tas selon le {@link StorageKind}.
+ */
+interface IntArray {
+    int get(long index);
+
+    void set(long index, int value);
+
+    long length();
+
+    long byteSize();
+
+    void release();
+}
@@ -0,0 +1,93 @@
+package org.theorygrapht.model.storage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Tableau d'entiers en mémoire native, découpé en pages de 2^28 entiers (1 Gio)
+ * pour dépasser la limite de 2 Gio d'un ByteBuffer.
+ *
+ * {@link #release()} libère la mémoire tout de suite via le Cleaner du buffer,
+ * sans attendre le GC. Aucune lecture ne doit être en cours à ce moment, sur aucun thread : un accès
+ * concurrent lirait de la mémoire rendue (voir {@link GraphStorage#close()}). Les pages sont allouées par ByteBuffer.allocateDirect,
+ * donc bornées par -XX:MaxDirectMemorySize et pas par -Xmx.
+ */
+final class OffHeapIntArray implements IntArray {
+    private static final int PAGE_SHIFT = 28;
+    private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Pas de libération explicite possible : la mémoire sera rendue au passage du GC
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private final long length;
+    private ByteBuffer[] buffers;
+    private IntBuffer[] pages;
+
+    OffHeapIntArray(long length) {
+        this.length = length;
+        int pageCount = (int) ((length + PAGE_MASK) >>> PAGE_SHIFT);
+        buffers = new ByteBuffer[pageCount];
+        pages = new IntBuffer[pageCount];
+        for (int p = 0; p < pageCount; p++) {
+            long ints = Math.min(PAGE_MASK + 1, length - ((long) p << PAGE_SHIFT));
+            buffers[p] = ByteBuffer.allocateDirect((int) (ints * 4)).order(ByteOrder.nativeOrder());
+            pages[p] = buffers[p].asIntBuffer();
+        }
+    }
+
+    @Override
+    public int get(long index) {
+        return pages[(int) (index >>> PAGE_SHIFT)].get((int) (index & PAGE_MASK));
+    }
+
+    @Override
+    public void set(long index, int value) {
+        pages[(int) (index >>> PAGE_SHIFT)].put((int) (index & PAGE_MASK), value);
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long byteSize() {
+        return 4L * length;
+    }
+
+    // synchronized : deux close() concurrents ne libèrent qu'une fois
+    @Override
+    public synchronized void release() {
+        ByteBuffer[] toFree = buffers;
+        // Un accès tardif du même thread lève une NPE au lieu de lire de la mémoire rendue ; les autres threads
+        // ne sont pas protégés, c'est à l'appelant de garantir qu'ils ont fini
+        buffers = null;
+        pages = null;
+        if (toFree == null || INVOKE_CLEANER == null) return;
+        for (ByteBuffer buffer : toFree) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } catch (ReflectiveOperationException e) {
+                return;
+            }
+        }
+    }
+}
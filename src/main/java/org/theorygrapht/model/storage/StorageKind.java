@@ -0,0 +1,27 @@
+package org.theorygrapht.model.storage;
+
+/**
+ * Où et comment sont rangés la topologie et les poids d'un graphe.
+ */
+public enum StorageKind {
+    /** Tableaux int[] classiques. */
+    HEAP,
+    /** Mémoire native (buffers directs) : hors du tas, donc sans effet sur les pauses du GC. */
+    OFF_HEAP,
+    /** Listes de voisins triées et compressées (écarts en varint), sur le tas : 3 à 5 fois plus compact. */
+    COMPRESSED;
+
+    /**
+     * Construit le stockage de ce type à partir de la liste des arêtes (source, cible, poids).
+     */
+    public GraphStorage build(int vertexCount, int edgeCount, int[] sources, int[] targets, int[] weights) {
+        if (this == COMPRESSED) {
+            return CompressedGraphStorage.build(vertexCount, edgeCount, sources, targets, weights);
+        }
+        return CsrGraphStorage.build(this, vertexCount, edgeCount, sources, targets, weights);
+    }
+
+    IntArray allocate(long length) {
+        return this == OFF_HEAP ? new OffHeapIntArray(length) : new HeapIntArray(length);
+    }
+}
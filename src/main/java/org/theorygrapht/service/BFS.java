@@ -1,8 +1,10 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
 
 import java.util.*;
 
@@ -13,6 +15,9 @@ import static org.theorygrapht.util.GraphUtils.searchVertex;
  *
  * Version simple qui parcourt le graphe couche par couche
  * et construit un arbre de parcours.
+ *
+ * Chaque arête est empruntée dans les deux sens, même si le graphe est orienté (comportement d'origine,
+ * comme DFS et Dijkstra) ; ShortestPath et Reachability, eux, suivent le sens des arcs.
  */
 public class BFS {
     /**
@@ -25,31 +30,35 @@ public class BFS {
      */
     public static List<Edge> getBFS(Graph graph, String startingVertexName) {
         Vertex[] vertices = graph.getVertices();
-        Vertex start = searchVertex(vertices, startingVertexName);
+        int start = searchVertex(graph, startingVertexName).getId();
+        AlgorithmStats stats = AlgorithmStats.start("bfs", graph);
 
-        Set<Vertex> visited = new HashSet<>();
-        Queue<Vertex> queue = new LinkedList<>();
+        boolean[] visited = new boolean[vertices.length];
+        int[] queue = new int[vertices.length];
+        int head = 0;
+        int tail = 0;
         List<Edge> traversalEdges = new ArrayList<>();
+        AdjacencyCursor cursor = graph.getStorage().cursor();
 
-        visited.add(start);
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            Vertex current = queue.poll();
+        visited[start] = true;
+        queue[tail++] = start;
 
-            for (Edge edge : graph.getAdjacencyList().get(current)) {
-                Vertex neighbor = edge.getSource().equals(current)
-                        ? edge.getTarget()
-                        : edge.getSource();
+        while (head < tail) {
+            int current = queue[head++];
+            stats.visited++;
 
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
-                    traversalEdges.add(new Edge(current, neighbor, edge.getWeight()));
+            cursor.reset(current);
+            while (cursor.next()) {
+                int neighbor = cursor.target();
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                    traversalEdges.add(new Edge(vertices[current], vertices[neighbor], cursor.weight()));
                 }
             }
         }
 
+        stats.finish();
         return traversalEdges;
     }
 }
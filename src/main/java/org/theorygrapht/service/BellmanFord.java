@@ -1,8 +1,10 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
 
 import java.util.*;
 
@@ -13,133 +15,172 @@ public class BellmanFord {
 
     public static List<BelmanFordTableLine> getBellmanFordTable(Graph graph, String startingVertexName) {
         Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
+        int n = vertices.length;
 
-        Vertex start = searchVertex(vertices, startingVertexName);
+        int start = searchVertex(graph, startingVertexName).getId();
+        AlgorithmStats stats = AlgorithmStats.start("bellmanFordTable", graph);
+        AdjacencyCursor cursor = graph.getStorage().cursor();
 
-        Map<Vertex, Integer> dist = new HashMap<>();
-        Map<Vertex, Vertex> pred = new HashMap<>();
-        for (Vertex v : vertices) {
-            dist.put(v, Integer.MAX_VALUE);
-            pred.put(v, null);
-        }
-        dist.put(start, 0);
+        int[] dist = new int[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(pred, -1);
+        dist[start] = 0;
 
         // SPFA-like variant with a processing queue L
-        Deque<Vertex> queue = new ArrayDeque<>();
-        Map<Vertex, Boolean> inQueue = new HashMap<>();
-        for (Vertex v : vertices) inQueue.put(v, false);
+        Deque<Integer> queue = new ArrayDeque<>();
+        boolean[] inQueue = new boolean[n];
+        int[] passes = new int[n]; // plus de n passages sur un sommet : cycle négatif, la file ne se viderait jamais
         queue.add(start);
-        inQueue.put(start, true);
+        inQueue[start] = true;
 
         List<BelmanFordTableLine> steps = new ArrayList<>();
 
         while (!queue.isEmpty()) {
             // Snapshot BEFORE relaxing the chosen vertex (matches the screenshot logic)
+            stats.phase("snapshot");
             List<String> listSnapshot = new ArrayList<>();
-            for (Vertex vv : queue) listSnapshot.add(vv.getName());
-            Vertex t = queue.peekFirst();
-            Integer choiceDist = dist.get(t) == Integer.MAX_VALUE ? null : dist.get(t);
-            steps.add(snapshot(vertices, dist, pred, listSnapshot, t.getName(), choiceDist));
+            for (int vv : queue) listSnapshot.add(vertices[vv].getName());
+            int t = queue.peekFirst();
+            Integer choiceDist = dist[t] == Integer.MAX_VALUE ? null : dist[t];
+            steps.add(snapshot(vertices, dist, pred, listSnapshot, vertices[t].getName(), choiceDist));
 
             // Pop and relax
-            t = queue.pollFirst();
-            inQueue.put(t, false);
-            for (Edge e : edges) {
-                if (!e.getSource().equals(t)) continue; // only outgoing edges
-                Vertex u = t;
-                Vertex v = e.getTarget();
-                int w = e.getWeight();
-                if (dist.get(u) != Integer.MAX_VALUE && dist.get(u) + w < dist.get(v)) {
-                    dist.put(v, dist.get(u) + w);
-                    pred.put(v, u);
-                    if (!inQueue.get(v)) {
+            stats.phase("relax");
+            queue.pollFirst();
+            inQueue[t] = false;
+            stats.visited++;
+            if (++passes[t] > n) {
+                stats.finish();
+                throw new IllegalArgumentException("Negative cycle reachable from " + vertices[start].getName());
+            }
+            if (dist[t] == Integer.MAX_VALUE) continue;
+            cursor.reset(t);
+            while (cursor.next()) {
+                if (graph.isDirected() && !cursor.outgoing()) continue; // only outgoing edges (directed)
+                int v = cursor.target();
+                int alt = dist[t] + cursor.weight();
+                if (alt < dist[v]) {
+                    dist[v] = alt;
+                    pred[v] = t;
+                    stats.relaxations++;
+                    if (!inQueue[v]) {
                         queue.addLast(v);
-                        inQueue.put(v, true);
+                        inQueue[v] = true;
                     }
                 }
             }
         }
 
         // Final row when queue is empty, with distances AFTER last relaxation
-    steps.add(snapshot(vertices, dist, pred, Collections.emptyList(), null, null));
+        stats.phase("snapshot");
+        steps.add(snapshot(vertices, dist, pred, Collections.emptyList(), null, null));
 
+        stats.finish();
         return steps;
     }
 
     private static BelmanFordTableLine snapshot(Vertex[] vertices,
-                                                Map<Vertex, Integer> dist,
-                                                Map<Vertex, Vertex> pred,
+                                                int[] dist,
+                                                int[] pred,
                                                 List<String> list,
                                                 String choiceName,
                                                 Integer choiceDistance) {
         Map<String, String> row = new LinkedHashMap<>();
         // Keep a stable order using the current array order
-        for (Vertex v : vertices) {
-            Integer d = dist.get(v);
-            String out = (d == null || d == Integer.MAX_VALUE) ? "∞" : String.valueOf(d);
-            String p = pred.get(v) == null ? "*" : pred.get(v).getName();
-            row.put(v.getName(), "(" + out + ", " + p + ")");
+        for (int v = 0; v < vertices.length; v++) {
+            String out = dist[v] == Integer.MAX_VALUE ? "∞" : String.valueOf(dist[v]);
+            String p = pred[v] < 0 ? "*" : vertices[pred[v]].getName();
+            row.put(vertices[v].getName(), "(" + out + ", " + p + ")");
         }
         return new BelmanFordTableLine(row, list, choiceName, choiceDistance);
     }
 
+    /**
+     * Plus courts chemins depuis une source, poids négatifs autorisés.
+     * L est une file FIFO : un sommet retiré plus de V fois signale un cycle de poids négatif.
+     *
+     * @throws IllegalArgumentException si un cycle négatif est atteignable depuis la source
+     */
     public static List<Edge> getBellmanFordPath(Graph graph, String startName) {
 
         Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
+        int n = vertices.length;
 
-        Vertex s = searchVertex(vertices, startName);
+        int s = searchVertex(graph, startName).getId();
+        AlgorithmStats stats = AlgorithmStats.start("bellmanFord", graph);
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        boolean directed = graph.isDirected(); // non orienté : chaque arête se relâche dans les deux sens
 
         // Initialisations
-        Map<Vertex, Integer> dist = new HashMap<>();
-        Map<Vertex, Vertex> pere = new HashMap<>();
-
-        for (Vertex v : vertices) {
-            dist.put(v, Integer.MAX_VALUE);
-            pere.put(v, null);
-        }
-
-        dist.put(s, 0);
-        Set<Vertex> L = new HashSet<>();
-        L.add(s);
-
-    // Boucle principale : tant que L != Ø (directed)
-
-        while (!L.isEmpty()) {
-
-            // Choisir t dans L (on prend n'importe lequel)
-            Iterator<Vertex> it = L.iterator();
-            Vertex t = it.next();
-            it.remove(); // L = L - {t}
+        int[] dist = new int[n];
+        int[] pere = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(pere, -1);
+        dist[s] = 0;
+
+        int[] L = new int[n];
+        boolean[] inL = new boolean[n];
+        int[] passes = new int[n];
+        int head = 0;
+        int size = 0;
+        L[0] = s;
+        inL[s] = true;
+        size++;
+
+        // Boucle principale : tant que L != Ø (directed)
+        stats.phase("relax");
+
+        while (size > 0) {
+
+            // Choisir t dans L (le plus ancien)
+            int t = L[head];
+            head = (head + 1) % n;
+            size--;
+            inL[t] = false; // L = L - {t}
+            stats.visited++;
+            if (++passes[t] > n) {
+                stats.finish();
+                throw new IllegalArgumentException("Negative cycle reachable from " + vertices[s].getName());
+            }
 
             // Pour tout voisin k de t
-            for (Edge e : edges) {
-                Vertex u = e.getSource();
-                Vertex v = e.getTarget();
-
-                if (u.equals(t)) {
-                    // relax outgoing edge t -> v
-                    relax(u, v, e.getWeight(), dist, pere, L);
+            cursor.reset(t);
+            while (cursor.next()) {
+                if (directed && !cursor.outgoing()) continue;
+                int k = cursor.target();
+                // relax outgoing edge t -> k
+                int alt = dist[t] + cursor.weight();
+                if (alt < dist[k]) {
+                    dist[k] = alt;
+                    pere[k] = t;
+                    stats.relaxations++;
+                    if (!inL[k]) {
+                        L[(head + size) % n] = k;
+                        inL[k] = true;
+                        size++;
+                    }
                 }
             }
         }
 
         // Reconstruction du chemin : liste d'arêtes
+        stats.phase("path");
         List<Edge> result = new ArrayList<>();
 
-        for (Vertex v : vertices) {
-            if (v.equals(s)) continue;
-            if (pere.get(v) == null) continue;
+        for (int v = 0; v < n; v++) {
+            if (v == s) continue;
+            if (pere[v] < 0) continue;
 
-            Vertex cur = v;
+            int cur = v;
             List<Edge> tmp = new ArrayList<>();
 
-            while (pere.get(cur) != null) {
-                Vertex p = pere.get(cur);
-                for (Edge e : edges) {
-                    if (e.getSource().equals(p) && e.getTarget().equals(cur)) {
-                        tmp.add(e);
+            while (pere[cur] >= 0) {
+                int p = pere[cur];
+                cursor.reset(p);
+                while (cursor.next()) {
+                    if ((cursor.outgoing() || !directed) && cursor.target() == cur) {
+                        tmp.add(graph.edgeFrom(cursor.edge(), p));
                         break;
                     }
                 }
@@ -150,20 +191,8 @@ public class BellmanFord {
             result.addAll(tmp);
         }
 
+        stats.finish();
         return result;
     }
 
-    // Relaxation + ajout à L
-    private static void relax(Vertex t, Vertex k, int w,
-                              Map<Vertex, Integer> dist,
-                              Map<Vertex, Vertex> pere,
-                              Set<Vertex> L) {
-
-        if (dist.get(t) != Integer.MAX_VALUE && dist.get(k) > dist.get(t) + w) {
-            dist.put(k, dist.get(t) + w);
-            pere.put(k, t);
-            L.add(k);
-        }
-    }
-
 }
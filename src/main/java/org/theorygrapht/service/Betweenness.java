@@ -0,0 +1,230 @@
+package org.theorygrapht.service;
+
+import org.theorygrapht.metrics.AlgorithmStats;
+import org.theorygrapht.model.BetweennessResult;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.util.IndexedMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Centralité d'intermédiarité (betweenness) par l'algorithme de Brandes : un plus court chemin depuis chaque
+ * source compte les chemins les plus courts (sigma), puis les dépendances (delta) remontent dans l'ordre inverse
+ * de visite. BFS si tous les poids sont égaux, Dijkstra sinon, comme pour {@link ShortestPath}.
+ *
+ * Les sources sont traitées en parallèle par blocs ; chaque tâche prend un espace de travail (tableaux de
+ * parcours et accumulateur) qu'aucune autre n'utilise en même temps, et les accumulateurs sont sommés à la fin.
+ *
+ * Mode approché : k sources tirées au hasard, résultat multiplié par V / k. L'inégalité de Hoeffding,
+ * avec une borne de l'union sur les V sommets, donne l'erreur maximale au seuil de {@value #CONFIDENCE}.
+ */
+public class Betweenness {
+    private static final double CONFIDENCE = 0.95;
+    private static final int BLOCK = 16; // sources par tâche
+
+    private static class Workspace {
+        final int[] dist;
+        final double[] sigma;
+        final double[] delta;
+        final int[] order; // sommets dans l'ordre de visite (distance croissante)
+        final double[] centrality;
+        final IndexedMinHeap heap;
+        final AdjacencyCursor cursor;
+        long visited;
+        long relaxations;
+        long heapOperations;
+
+        Workspace(Graph graph, boolean weighted) {
+            int n = graph.vertexCount();
+            dist = new int[n];
+            sigma = new double[n];
+            delta = new double[n];
+            order = new int[n];
+            centrality = new double[n];
+            heap = weighted ? new IndexedMinHeap(n) : null;
+            cursor = graph.getStorage().cursor();
+            Arrays.fill(dist, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * @param samples nombre de sources tirées au hasard ; null (ou au moins V) pour le calcul exact
+     * @param seed    graine du tirage des sources
+     * @param limit   nombre de sommets renvoyés, les plus centraux d'abord ; null pour tous
+     * @throws IllegalArgumentException si un poids est négatif ou nul (hors poids tous égaux)
+     */
+    public static BetweennessResult getBetweenness(Graph graph, Integer samples, long seed, Integer limit) {
+        int n = graph.vertexCount();
+        AlgorithmStats stats = AlgorithmStats.start("betweenness", graph);
+        stats.phase("analyze");
+        ShortestPath.Analysis analysis = ShortestPath.analyze(graph);
+        boolean weighted = analysis.properties.getEdges() > 0 && !analysis.properties.isUnitWeights();
+        if (weighted && analysis.weight <= 0) {
+            throw new IllegalArgumentException("Betweenness needs positive weights (min weight " + analysis.weight + ")");
+        }
+        if (samples != null && samples < 1) throw new IllegalArgumentException("samples must be at least 1");
+
+        int[] sources = sources(n, samples, seed);
+        boolean exact = sources.length == n;
+        boolean both = !graph.isDirected();
+        int weight = weighted ? 0 : Math.max(1, analysis.weight);
+
+        stats.phase(weighted ? "DIJKSTRA" : "BFS");
+        ConcurrentLinkedQueue<Workspace> free = new ConcurrentLinkedQueue<>();
+        List<Workspace> all = Collections.synchronizedList(new ArrayList<>());
+        IntStream.range(0, (sources.length + BLOCK - 1) / BLOCK).parallel().forEach(b -> {
+            Workspace ws = free.poll();
+            if (ws == null) {
+                ws = new Workspace(graph, weighted);
+                all.add(ws);
+            }
+            for (int i = b * BLOCK, to = Math.min(sources.length, i + BLOCK); i < to; i++) {
+                accumulate(ws, sources[i], both, weight);
+            }
+            free.offer(ws);
+        });
+
+        stats.phase("merge");
+        double[] centrality = new double[n];
+        for (Workspace ws : all) {
+            for (int v = 0; v < n; v++) centrality[v] += ws.centrality[v];
+            stats.visited += ws.visited;
+            stats.relaxations += ws.relaxations;
+            stats.heapOperations += ws.heapOperations;
+        }
+        // Non orienté : chaque paire {s, t} est comptée depuis s et depuis t
+        double scale = (exact ? 1 : (double) n / sources.length) / (both ? 2 : 1);
+        for (int v = 0; v < n; v++) centrality[v] *= scale;
+
+        Double errorBound = null;
+        if (!exact) {
+            // Contribution d'une source, ramenée à l'intermédiarité normalisée : dans [0, V / (V - 1)]
+            double range = (double) n / (n - 1);
+            double epsilon = range * Math.sqrt(Math.log(2.0 * n / (1 - CONFIDENCE)) / (2.0 * sources.length));
+            errorBound = epsilon * (n - 1) * (n - 2) / (both ? 2 : 1);
+        }
+        stats.finish();
+
+        Integer[] ranking = new Integer[n];
+        for (int v = 0; v < n; v++) ranking[v] = v;
+        Arrays.sort(ranking, (a, b) -> Double.compare(centrality[b], centrality[a]));
+        Vertex[] vertices = graph.getVertices();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (int i = 0, to = limit == null ? n : Math.min(n, limit); i < to; i++) {
+            scores.put(vertices[ranking[i]].getName(), centrality[ranking[i]]);
+        }
+        return new BetweennessResult(weighted ? "DIJKSTRA" : "BFS", exact, sources.length, errorBound,
+                exact ? null : CONFIDENCE, scores);
+    }
+
+    /**
+     * Toutes les sources, ou k sources distinctes (Fisher-Yates partiel).
+     */
+    private static int[] sources(int n, Integer samples, long seed) {
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) all[v] = v;
+        if (samples == null || samples >= n) return all;
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < samples; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = all[i];
+            all[i] = all[j];
+            all[j] = tmp;
+        }
+        return Arrays.copyOf(all, samples);
+    }
+
+    /**
+     * Une source : plus courts chemins en comptant sigma, puis remontée des dépendances. Les prédécesseurs ne sont
+     * pas stockés : on les retrouve dans la liste d'incidence (dist[v] + poids == dist[w]).
+     * Seuls les sommets visités sont remis à zéro, ce qui garde le mode échantillonné proportionnel à k.
+     */
+    private static void accumulate(Workspace ws, int s, boolean both, int weight) {
+        int[] dist = ws.dist;
+        double[] sigma = ws.sigma;
+        double[] delta = ws.delta;
+        int[] order = ws.order;
+        AdjacencyCursor cursor = ws.cursor;
+        int count = 0;
+        dist[s] = 0;
+        sigma[s] = 1;
+
+        if (ws.heap == null) {
+            order[count++] = s;
+            for (int head = 0; head < count; head++) {
+                int u = order[head];
+                cursor.reset(u);
+                while (cursor.next()) {
+                    if (!both && !cursor.outgoing()) continue;
+                    int v = cursor.target();
+                    if (dist[v] == Integer.MAX_VALUE) {
+                        dist[v] = dist[u] + weight;
+                        order[count++] = v;
+                    }
+                    if (dist[v] == dist[u] + weight) {
+                        sigma[v] += sigma[u];
+                        ws.relaxations++;
+                    }
+                }
+            }
+        } else {
+            IndexedMinHeap heap = ws.heap;
+            heap.push(s, 0);
+            ws.heapOperations++;
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                ws.heapOperations++;
+                order[count++] = u;
+                cursor.reset(u);
+                while (cursor.next()) {
+                    if (!both && !cursor.outgoing()) continue;
+                    int v = cursor.target();
+                    int alt = dist[u] + cursor.weight();
+                    if (alt < dist[v]) {
+                        dist[v] = alt;
+                        sigma[v] = sigma[u];
+                        heap.push(v, alt);
+                        ws.relaxations++;
+                        ws.heapOperations++;
+                    } else if (alt == dist[v]) {
+                        sigma[v] += sigma[u];
+                    }
+                }
+            }
+        }
+        ws.visited += count;
+
+        // Ordre inverse de visite : les successeurs d'un sommet sont plus loin, donc déjà traités
+        for (int i = count - 1; i > 0; i--) {
+            int w = order[i];
+            double coefficient = (1 + delta[w]) / sigma[w];
+            cursor.reset(w);
+            while (cursor.next()) {
+                if (!both && cursor.outgoing()) continue; // arcs entrants de w
+                int v = cursor.target();
+                if (dist[v] != Integer.MAX_VALUE
+                        && dist[v] + (weight > 0 ? weight : cursor.weight()) == dist[w]) {
+                    delta[v] += sigma[v] * coefficient;
+                }
+            }
+            ws.centrality[w] += delta[w];
+        }
+
+        for (int i = 0; i < count; i++) {
+            int v = order[i];
+            dist[v] = Integer.MAX_VALUE;
+            sigma[v] = 0;
+            delta[v] = 0;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.theorygrapht.service;
+
+import org.theorygrapht.metrics.AlgorithmStats;
+import org.theorygrapht.model.ComponentsResult;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.GraphStorage;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Composantes connexes (faibles : le sens des arêtes est ignoré), calculées en parallèle
+ * avec un union-find sans verrou, à la manière d'Afforest :
+ * <ol>
+ *     <li>chaque sommet est relié à ses {@value #NEIGHBOR_ROUNDS} premiers voisins ;</li>
+ *     <li>un échantillon de sommets donne la composante géante, presque complète après l'étape 1 ;</li>
+ *     <li>seuls les sommets hors de cette composante parcourent le reste de leurs arcs.</li>
+ * </ol>
+ * Une arête figure dans la liste de ses deux extrémités : si l'une est déjà dans la composante géante,
+ * l'autre la traite, sinon les deux sont dans la même composante. Sur un graphe bien connexe,
+ * la plupart des arcs ne sont donc jamais lus.
+ *
+ * Le résultat est gardé par graphe (référence faible) : un graphe enregistré ne le calcule qu'une fois.
+ */
+public class ConnectedComponents {
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+    private static final int CHUNK = 4096; // sommets par tâche
+
+    private static final Map<Graph, int[]> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @return composante de chaque sommet (numérotées dans l'ordre de leur premier sommet) et taille de chacune
+     */
+    public static ComponentsResult getComponents(Graph graph) {
+        int[] labels = labels(graph);
+        Vertex[] vertices = graph.getVertices();
+        int count = 0;
+        for (int label : labels) count = Math.max(count, label + 1);
+        int[] sizes = new int[count];
+        Map<String, Integer> components = new LinkedHashMap<>();
+        for (int v = 0; v < vertices.length; v++) {
+            sizes[labels[v]]++;
+            components.put(vertices[v].getName(), labels[v]);
+        }
+        return new ComponentsResult(count, sizes, components);
+    }
+
+    /**
+     * Précontrôle des algorithmes d'arbre couvrant : O(V + E) réparti sur les cœurs, au lieu de tout le calcul.
+     *
+     * @throws IllegalArgumentException si le graphe a plusieurs composantes
+     */
+    public static void requireConnected(Graph graph) {
+        int[] labels = labels(graph);
+        int count = 0;
+        for (int label : labels) count = Math.max(count, label + 1);
+        if (count > 1) {
+            throw new IllegalArgumentException("This is a disconnected graph (" + count + " components)");
+        }
+    }
+
+    /**
+     * Condition nécessaire pour qu'un chemin existe, même dans un graphe orienté.
+     */
+    public static boolean sameComponent(Graph graph, int u, int v) {
+        int[] labels = labels(graph);
+        return labels[u] == labels[v];
+    }
+
+    /**
+     * @return pour chaque sommet, l'id de sa composante (0..k-1, dans l'ordre du premier sommet de chacune)
+     */
+    static int[] labels(Graph graph) {
+        int[] labels = CACHE.get(graph);
+        if (labels == null) {
+            labels = compute(graph);
+            CACHE.put(graph, labels);
+        }
+        return labels;
+    }
+
+    private static int[] compute(Graph graph) {
+        GraphStorage storage = graph.getStorage();
+        int n = graph.vertexCount();
+        AlgorithmStats stats = AlgorithmStats.start("components", graph);
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        int chunks = (n + CHUNK - 1) / CHUNK;
+
+        chunks(chunks).forEach(c -> {
+            for (int v = c * CHUNK, to = Math.min(n, v + CHUNK); v < to; v++) parent.setPlain(v, v);
+        });
+
+        // 1. Les premiers voisins de chaque sommet
+        stats.phase("neighbors");
+        chunks(chunks).forEach(c -> {
+            AdjacencyCursor cursor = storage.cursor();
+            for (int v = c * CHUNK, to = Math.min(n, v + CHUNK); v < to; v++) {
+                cursor.reset(v);
+                for (int i = 0; i < NEIGHBOR_ROUNDS && cursor.next(); i++) link(parent, v, cursor.target());
+            }
+        });
+        compress(parent, chunks, n);
+
+        // 2. Composante géante d'après un échantillon
+        stats.phase("sample");
+        int giant = n == 0 ? -1 : mostFrequentRoot(parent, n);
+
+        // 3. Le reste des arcs, pour les sommets hors de la composante géante
+        stats.phase("remaining");
+        chunks(chunks).forEach(c -> {
+            AdjacencyCursor cursor = storage.cursor();
+            for (int v = c * CHUNK, to = Math.min(n, v + CHUNK); v < to; v++) {
+                if (storage.degree(v) <= NEIGHBOR_ROUNDS || find(parent, v) == giant) continue;
+                cursor.reset(v, NEIGHBOR_ROUNDS);
+                while (cursor.next()) link(parent, v, cursor.target());
+            }
+        });
+        compress(parent, chunks, n);
+
+        // Racines -> ids denses, dans l'ordre des sommets
+        stats.phase("label");
+        int[] labels = new int[n];
+        int[] idOfRoot = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = parent.getPlain(v);
+            if (root == v) idOfRoot[v] = count++;
+            labels[v] = idOfRoot[root]; // la racine est le plus petit sommet de sa composante, vu avant
+        }
+        stats.visited = n;
+        stats.finish();
+        return labels;
+    }
+
+    private static IntStream chunks(int chunks) {
+        return IntStream.range(0, chunks).parallel();
+    }
+
+    /**
+     * Unit les arbres de u et v en accrochant la plus grande racine sous la plus petite, par CAS :
+     * la racine d'un arbre reste son plus petit sommet.
+     */
+    private static void link(AtomicIntegerArray parent, int u, int v) {
+        int p1 = parent.get(u);
+        int p2 = parent.get(v);
+        while (p1 != p2) {
+            int high = Math.max(p1, p2);
+            int low = Math.min(p1, p2);
+            int pHigh = parent.get(high);
+            if (pHigh == low || (pHigh == high && parent.compareAndSet(high, high, low))) break;
+            p1 = parent.get(parent.get(high));
+            p2 = parent.get(low);
+        }
+    }
+
+    private static int find(AtomicIntegerArray parent, int v) {
+        int p = parent.get(v);
+        while (p != v) {
+            v = p;
+            p = parent.get(v);
+        }
+        return v;
+    }
+
+    /**
+     * Aplatit les arbres : chaque sommet pointe ensuite directement sur sa racine.
+     */
+    private static void compress(AtomicIntegerArray parent, int chunks, int n) {
+        chunks(chunks).forEach(c -> {
+            for (int v = c * CHUNK, to = Math.min(n, v + CHUNK); v < to; v++) {
+                int p = parent.get(v);
+                while (p != parent.get(p)) p = parent.get(p);
+                parent.set(v, p);
+            }
+        });
+    }
+
+    private static int mostFrequentRoot(AtomicIntegerArray parent, int n) {
+        SplittableRandom random = new SplittableRandom(n);
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        int best = parent.get(0);
+        int bestCount = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            int root = parent.get(random.nextInt(n));
+            int count = counts.merge(root, 1, Integer::sum);
+            if (count > bestCount) {
+                best = root;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
@@ -1,8 +1,10 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
 
 import java.util.*;
 
@@ -10,14 +12,15 @@ import static org.theorygrapht.util.GraphUtils.searchVertex;
 
 /**
  * Parcours en profondeur (DFS) en version itérative.
+ * Comme BFS, les arêtes sont empruntées dans les deux sens, même si le graphe est orienté.
  */
 public class DFS {
 
     /**
      * Calcule un arbre de DFS sous forme d'arêtes de parcours,
      * orientées du sommet courant vers le voisin découvert.
-     * On utilise une pile et un index par sommet pour vraiment plonger
-     * jusqu'au bout avant de revenir en arrière.
+     * On utilise une pile et, par sommet, la position où reprendre sa liste de voisins
+     * pour vraiment plonger jusqu'au bout avant de revenir en arrière.
      *
      * @param graph              graphe d'entrée
      * @param startingVertexName nom du sommet de départ
@@ -25,47 +28,49 @@ public class DFS {
      */
     public static List<Edge> getDFS(Graph graph, String startingVertexName) {
         Vertex[] vertices = graph.getVertices();
-        Vertex start = searchVertex(vertices, startingVertexName);
-        if (start == null) return Collections.emptyList();
+        int start = searchVertex(graph, startingVertexName).getId();
+        AlgorithmStats stats = AlgorithmStats.start("dfs", graph);
 
-        Set<Vertex> visited = new HashSet<>();
-        Deque<Vertex> stack = new ArrayDeque<>();
+        boolean[] visited = new boolean[vertices.length];
+        int[] stack = new int[vertices.length];
+        long[] resumeAt = new long[vertices.length]; // -1 = liste pas encore commencée
+        Arrays.fill(resumeAt, -1);
+        int top = 0;
         List<Edge> traversalEdges = new ArrayList<>();
-        Map<Vertex, Integer> nextIndex = new HashMap<>();
+        AdjacencyCursor cursor = graph.getStorage().cursor();
 
-        visited.add(start);
-        stack.push(start);
-        nextIndex.put(start, 0);
+        visited[start] = true;
+        stats.visited++;
+        stack[top++] = start;
 
-        while (!stack.isEmpty()) {
-            Vertex current = stack.peek();
-
-            List<Edge> edges = graph.getAdjacencyList().getOrDefault(current, Collections.emptyList());
-            int i = nextIndex.getOrDefault(current, 0);
+        while (top > 0) {
+            int current = stack[top - 1];
             boolean dived = false;
 
-            for (; i < edges.size(); i++) {
-                Edge edge = edges.get(i);
-                Vertex neighbor = edge.getSource().equals(current) ? edge.getTarget() : edge.getSource();
+            if (resumeAt[current] < 0) cursor.reset(current);
+            else cursor.resume(current, resumeAt[current]);
+            while (cursor.next()) {
+                int neighbor = cursor.target();
 
-                if (!visited.contains(neighbor)) {
-                    nextIndex.put(current, i + 1);
+                if (!visited[neighbor]) {
+                    resumeAt[current] = cursor.mark();
 
-                    visited.add(neighbor);
-                    traversalEdges.add(new Edge(current, neighbor, edge.getWeight()));
+                    visited[neighbor] = true;
+                    stats.visited++;
+                    traversalEdges.add(new Edge(vertices[current], vertices[neighbor], cursor.weight()));
 
-                    stack.push(neighbor);
-                    nextIndex.put(neighbor, 0);
+                    stack[top++] = neighbor;
                     dived = true;
                     break;
                 }
             }
 
             if (!dived) {
-                stack.pop();
+                top--;
             }
         }
 
+        stats.finish();
         return traversalEdges;
     }
 }
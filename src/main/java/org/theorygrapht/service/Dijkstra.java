@@ -1,8 +1,11 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.util.IndexedMinHeap;
 
 import java.util.*;
 
@@ -10,52 +13,57 @@ import static org.theorygrapht.util.GraphUtils.searchVertex;
 
 /**
  * Algorithme de Dijkstra (chemins les plus courts avec poids non négatifs).
+ * Comme BFS, les arêtes sont empruntées dans les deux sens, même si le graphe est orienté :
+ * ShortestPath donne les chemins qui respectent le sens des arcs.
  */
 public class Dijkstra {
 
     private static class DijkstraResult {
-        Map<Vertex, Integer> dist;
-        Map<Vertex, Vertex> prev;
+        int[] dist;
+        int[] prev; // -1 = pas de prédécesseur
 
-        DijkstraResult(Map<Vertex, Integer> dist, Map<Vertex, Vertex> prev) {
+        DijkstraResult(int[] dist, int[] prev) {
             this.dist = dist;
             this.prev = prev;
         }
     }
 
     private static DijkstraResult computeDijkstra(Graph graph, String startName) {
-        Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
-        Vertex start = searchVertex(vertices, startName);
-
-        Map<Vertex, Integer> dist = new HashMap<>();
-        Map<Vertex, Vertex> prev = new HashMap<>();
+        int n = graph.vertexCount();
+        int start = searchVertex(graph, startName).getId();
+        AlgorithmStats stats = AlgorithmStats.start("dijkstra", graph);
 
-        for (Vertex v : vertices) dist.put(v, Integer.MAX_VALUE);
-        dist.put(start, 0);
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(prev, -1);
+        dist[start] = 0;
 
-        PriorityQueue<Vertex> pq = new PriorityQueue<>(Comparator.comparingInt(dist::get));
-        pq.add(start);
+        IndexedMinHeap pq = new IndexedMinHeap(n);
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        pq.push(start, 0);
+        stats.heapOperations++;
 
         while (!pq.isEmpty()) {
-            Vertex u = pq.poll();
-
-            for (Edge e : edges) {
-                Vertex neighbor = null;
-                if (e.getSource().equals(u)) neighbor = e.getTarget();
-                else if (e.getTarget().equals(u)) neighbor = e.getSource();
-                else continue;
-
-                int alt = dist.get(u) + e.getWeight();
-                if (alt < dist.get(neighbor)) {
-                    dist.put(neighbor, alt);
-                    prev.put(neighbor, u);
-                    pq.remove(neighbor);
-                    pq.add(neighbor);
+            int u = pq.poll();
+            stats.visited++;
+            stats.heapOperations++;
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                int neighbor = cursor.target();
+                int alt = dist[u] + cursor.weight();
+                if (alt < dist[neighbor]) {
+                    dist[neighbor] = alt;
+                    prev[neighbor] = u;
+                    pq.push(neighbor, alt);
+                    stats.relaxations++;
+                    stats.heapOperations++;
                 }
             }
         }
 
+        stats.finish();
         return new DijkstraResult(dist, prev);
     }
 
@@ -69,19 +77,18 @@ public class Dijkstra {
      */
     public static List<Edge> getDijkstra(Graph graph, String startName, String endName) {
         DijkstraResult res = computeDijkstra(graph, startName);
-        Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
+        AdjacencyCursor cursor = graph.getStorage().cursor();
 
-        Vertex end = searchVertex(vertices, endName);
+        int end = searchVertex(graph, endName).getId();
         List<Edge> path = new ArrayList<>();
-        Vertex current = end;
-
-        while (res.prev.containsKey(current)) {
-            Vertex predecessor = res.prev.get(current);
-            for (Edge e : edges) {
-                if ((e.getSource().equals(predecessor) && e.getTarget().equals(current)) ||
-                        (e.getSource().equals(current) && e.getTarget().equals(predecessor))) {
-                    path.add(e);
+        int current = end;
+
+        while (res.prev[current] >= 0) {
+            int predecessor = res.prev[current];
+            cursor.reset(predecessor);
+            while (cursor.next()) {
+                if (cursor.target() == current) {
+                    path.add(graph.isDirected() ? graph.edge(cursor.edge()) : graph.edgeFrom(cursor.edge(), predecessor));
                     break;
                 }
             }
@@ -101,10 +108,11 @@ public class Dijkstra {
      */
     public static Map<String, Integer> getDijkstraFinalMatrix(Graph graph, String startName) {
         DijkstraResult res = computeDijkstra(graph, startName);
+        Vertex[] vertices = graph.getVertices();
 
         Map<String, Integer> result = new HashMap<>();
-        for (Vertex v : res.dist.keySet()) {
-            result.put(v.getName(), res.dist.get(v));
+        for (int v = 0; v < vertices.length; v++) {
+            result.put(vertices[v].getName(), res.dist[v]);
         }
         return result;
     }
@@ -119,55 +127,49 @@ public class Dijkstra {
      */
     public static List<Map<String, String>> getDijkstraTable(Graph graph, String startName) {
         Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
-        Vertex start = searchVertex(vertices, startName);
-
-        Map<Vertex, Integer> dist = new HashMap<>();
-        Set<Vertex> visited = new HashSet<>();
+        int start = searchVertex(graph, startName).getId();
+        AdjacencyCursor cursor = graph.getStorage().cursor();
 
-        for (Vertex v : vertices) dist.put(v, Integer.MAX_VALUE);
-        dist.put(start, 0);
+        int[] dist = new int[vertices.length];
+        boolean[] visited = new boolean[vertices.length];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[start] = 0;
 
-        PriorityQueue<Vertex> pq = new PriorityQueue<>(Comparator.comparingInt(dist::get));
+        PriorityQueue<Integer> pq = new PriorityQueue<>(Comparator.comparingInt(v -> dist[v]));
         pq.add(start);
 
         List<Map<String, String>> table = new ArrayList<>();
 
         while (!pq.isEmpty()) {
-            Vertex u = pq.poll();
-            if (visited.contains(u)) continue;
-            visited.add(u);
+            int u = pq.poll();
+            if (visited[u]) continue;
+            visited[u] = true;
+            String name = vertices[u].getName();
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (visited[v]) continue;
+                int alt = dist[u] + cursor.weight();
+                if (alt < dist[v]) dist[v] = alt;
+            }
 
             Map<String, String> row = new LinkedHashMap<>();
-            row.put("C", u.getName() + ", " + dist.get(u));
-
-            for (Vertex v : vertices) {
-                if (v.equals(u)) {
-                    row.put(v.getName(), "(" + u.getName() + ", " + dist.get(u) + ")");
-                } else if (visited.contains(v)) {
-                    row.put(v.getName(), "-");
+            row.put("C", name + ", " + dist[u]);
+            for (int v = 0; v < vertices.length; v++) {
+                if (v == u) {
+                    row.put(vertices[v].getName(), "(" + name + ", " + dist[u] + ")");
+                } else if (visited[v]) {
+                    row.put(vertices[v].getName(), "-");
                 } else {
-                    int oldDist = dist.get(v);
-                    for (Edge e : edges) {
-                        if ((e.getSource().equals(u) && e.getTarget().equals(v)) ||
-                                (e.getTarget().equals(u) && e.getSource().equals(v))) {
-                            int alt = dist.get(u) + e.getWeight();
-                            if (alt < oldDist) {
-                                dist.put(v, alt);
-                                oldDist = alt;
-                            }
-                        }
-                    }
-                    row.put(v.getName(), oldDist == Integer.MAX_VALUE ? "inf" : "(" + u.getName() + ", " + oldDist + ")");
+                    row.put(vertices[v].getName(), dist[v] == Integer.MAX_VALUE ? "inf" : "(" + name + ", " + dist[v] + ")");
                 }
             }
             table.add(row);
 
-            for (Edge e : edges) {
-                if (e.getSource().equals(u) && !visited.contains(e.getTarget()))
-                    pq.add(e.getTarget());
-                else if (e.getTarget().equals(u) && !visited.contains(e.getSource()))
-                    pq.add(e.getSource());
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (!visited[cursor.target()]) pq.add(cursor.target());
             }
         }
         return table;
@@ -1,19 +1,90 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.FloydResult;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.model.storage.GraphStorage;
 
 import java.util.*;
 
+import static org.theorygrapht.util.GraphUtils.searchVertex;
+
 /**
  * Floyd–Warshall : calcul des plus courts chemins pour toutes les paires de sommets.
  * On renvoie les matrices (distances et "next/père") et on propose aussi
  * une méthode utilitaire pour reconstruire un chemin entre deux sommets.
+ * Le calcul se fait sur des tableaux indexés par l'id des sommets ; les noms
+ * n'apparaissent qu'à la construction du résultat.
  */
 public class FloydWarshall {
 
+    private static class Matrices {
+        int[][] dist;
+        int[][] next; // id du sommet suivant, -1 si aucun chemin
+
+        Matrices(int[][] dist, int[][] next) {
+            this.dist = dist;
+            this.next = next;
+        }
+    }
+
+    private static Matrices compute(Graph graph) {
+        GraphStorage storage = graph.getStorage();
+        AlgorithmStats stats = AlgorithmStats.start("floydWarshall", graph);
+        int n = graph.vertexCount();
+
+        stats.phase("init");
+        int[][] dist = new int[n][n];
+        int[][] next = new int[n][n];
+        for (int u = 0; u < n; u++) {
+            Arrays.fill(dist[u], Integer.MAX_VALUE);
+            Arrays.fill(next[u], -1);
+            dist[u][u] = 0;
+        }
+
+        // Arêtes multiples : seule la plus légère compte
+        EdgeReader edges = storage.edgeReader();
+        for (int e = 0; e < storage.edgeCount(); e++) {
+            int u = edges.source(e);
+            int v = edges.target(e);
+            int w = edges.weight(e);
+            if (w < dist[u][v]) {
+                dist[u][v] = w;
+                next[u][v] = v;
+            }
+            if (!graph.isDirected() && w < dist[v][u]) {
+                dist[v][u] = w;
+                next[v][u] = u;
+            }
+        }
+
+        stats.phase("relax");
+        for (int k = 0; k < n; k++) {
+            int[] distK = dist[k];
+            for (int i = 0; i < n; i++) {
+                int dik = dist[i][k];
+                if (dik == Integer.MAX_VALUE) continue;
+                int[] distI = dist[i];
+                int[] nextI = next[i];
+                for (int j = 0; j < n; j++) {
+                    int dkj = distK[j];
+                    if (dkj != Integer.MAX_VALUE && dik + dkj < distI[j]) {
+                        distI[j] = dik + dkj;
+                        nextI[j] = nextI[k];
+                        stats.relaxations++;
+                    }
+                }
+            }
+        }
+
+        stats.finish();
+        return new Matrices(dist, next);
+    }
+
     /**
      * Calcule les matrices de Floyd–Warshall pour un graphe.
      *
@@ -22,52 +93,34 @@ public class FloydWarshall {
      */
     public static FloydResult getMatrices(Graph graph) {
         Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
+        Matrices m = compute(graph);
 
         List<String> order = new ArrayList<>();
         for (Vertex v : vertices) order.add(v.getName());
 
         Map<String, Map<String, Integer>> dist = new LinkedHashMap<>();
         Map<String, Map<String, String>> next = new LinkedHashMap<>();
-
-        for (String u : order) {
+        for (int u = 0; u < vertices.length; u++) {
             Map<String, Integer> distRow = new LinkedHashMap<>();
             Map<String, String> nextRow = new LinkedHashMap<>();
-            for (String v : order) {
-                distRow.put(v, u.equals(v) ? 0 : Integer.MAX_VALUE);
-                nextRow.put(v, null);
-            }
-            dist.put(u, distRow);
-            next.put(u, nextRow);
-        }
-
-        for (Edge e : edges) {
-            String u = e.getSource().getName();
-            String v = e.getTarget().getName();
-            int w = e.getWeight();
-            dist.get(u).put(v, w);
-            next.get(u).put(v, v);
-        }
-
-        for (String k : order) {
-            for (String i : order) {
-                for (String j : order) {
-                    int dik = dist.get(i).get(k);
-                    int dkj = dist.get(k).get(j);
-                    int dij = dist.get(i).get(j);
-
-                    if (dik != Integer.MAX_VALUE && dkj != Integer.MAX_VALUE &&
-                            dik + dkj < dij) {
-                        dist.get(i).put(j, dik + dkj);
-                        next.get(i).put(j, next.get(i).get(k));
-                    }
-                }
+            for (int v = 0; v < vertices.length; v++) {
+                distRow.put(order.get(v), m.dist[u][v]);
+                nextRow.put(order.get(v), m.next[u][v] < 0 ? null : order.get(m.next[u][v]));
             }
+            dist.put(order.get(u), distRow);
+            next.put(order.get(u), nextRow);
         }
 
         return new FloydResult(dist, next, order);
     }
 
+    /**
+     * @return matrice des distances indexée par id de sommet (Integer.MAX_VALUE si pas de chemin)
+     */
+    public static int[][] getDistances(Graph graph) {
+        return compute(graph).dist;
+    }
+
     /**
      * Reconstruit un plus court chemin entre deux sommets à partir de la matrice "next".
      *
@@ -75,27 +128,39 @@ public class FloydWarshall {
      * @param startName nom du sommet de départ
      * @param endName   nom du sommet d'arrivée
      * @return liste d'arêtes dans l'ordre du chemin (vide s'il n'y a pas de chemin)
+     * @throws IllegalArgumentException si le chemin passe par un cycle négatif
      */
     public static List<Edge> getFloydWarshall(Graph graph, String startName, String endName) {
-        FloydResult result = getMatrices(graph);
-        Map<String, Map<String, String>> next = result.next;
-        Edge[] edges = graph.getEdges();
+        int start = searchVertex(graph, startName).getId();
+        int end = searchVertex(graph, endName).getId();
+        // Composantes différentes : pas de chemin, inutile de payer V^3
+        if (!ConnectedComponents.sameComponent(graph, start, end)) return Collections.emptyList();
+        Matrices m = compute(graph);
 
-        if (next.get(startName).get(endName) == null) return Collections.emptyList();
+        if (m.next[start][end] < 0) return Collections.emptyList();
 
         List<Edge> pathEdges = new ArrayList<>();
-        String current = startName;
-
-        while (!current.equals(endName)) {
-            String nxt = next.get(current).get(endName);
-            if (nxt == null) break;
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        int current = start;
+
+        while (current != end) {
+            int nxt = m.next[current][end];
+            if (nxt < 0) break;
+            // Un chemin simple a au plus n - 1 arêtes : au-delà, "next" tourne dans un cycle négatif
+            if (pathEdges.size() >= graph.vertexCount()) {
+                throw new IllegalArgumentException("Negative cycle on the path from " + startName + " to " + endName);
+            }
 
-            for (Edge e : edges) {
-                if (e.getSource().getName().equals(current) && e.getTarget().getName().equals(nxt)) {
-                    pathEdges.add(e);
-                    break;
+            // L'arête la plus légère vers nxt, celle retenue par compute
+            int best = -1;
+            cursor.reset(current);
+            while (cursor.next()) {
+                if ((cursor.outgoing() || !graph.isDirected()) && cursor.target() == nxt
+                        && (best < 0 || cursor.weight() < graph.getStorage().weight(best))) {
+                    best = cursor.edge();
                 }
             }
+            pathEdges.add(graph.edgeFrom(best, current));
 
             current = nxt;
         }
@@ -0,0 +1,342 @@
+package org.theorygrapht.service;
+
+import org.theorygrapht.metrics.AlgorithmStats;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.util.IndexedMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.theorygrapht.util.GraphUtils.searchVertex;
+
+/**
+ * Les k plus courts chemins sans boucle entre deux sommets (algorithme de Yen, poids non négatifs).
+ *
+ * Un arbre des plus courts chemins vers l'arrivée (Dijkstra sur les arcs inversés) est calculé une fois :
+ * <ul>
+ *     <li>si le chemin de l'arbre depuis le sommet de déviation évite les arêtes et sommets interdits,
+ *     c'est directement le meilleur chemin de déviation ;</li>
+ *     <li>sinon ses distances servent d'heuristique (minorant) à une recherche A*.</li>
+ * </ul>
+ * Les arêtes et sommets interdits sont des bitsets de l'espace de travail, le graphe n'est jamais copié.
+ * Les déviations d'un même chemin sont calculées en parallèle, et seulement à partir de l'indice où ce chemin
+ * s'est lui-même écarté de son parent (Lawler) : les préfixes plus courts ont déjà été explorés.
+ */
+public class KShortestPaths {
+
+    private static class Path implements Comparable<Path> {
+        final int[] vertices; // edges.length + 1 sommets
+        final int[] edges;
+        final long cost;
+        final int deviation;  // indice du sommet de déviation qui a produit ce chemin
+
+        Path(int[] vertices, int[] edges, long cost, int deviation) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.cost = cost;
+            this.deviation = deviation;
+        }
+
+        @Override
+        public int compareTo(Path other) {
+            if (cost != other.cost) return Long.compare(cost, other.cost);
+            if (edges.length != other.edges.length) return Integer.compare(edges.length, other.edges.length);
+            return Arrays.compare(edges, other.edges);
+        }
+    }
+
+    private static class Tree {
+        final int[] dist; // distance jusqu'à l'arrivée, Integer.MAX_VALUE si inatteignable
+        final int[] next; // arête à suivre vers l'arrivée, -1 à l'arrivée
+
+        Tree(int[] dist, int[] next) {
+            this.dist = dist;
+            this.next = next;
+        }
+    }
+
+    private static class Workspace {
+        final int[] g;
+        final int[] parentEdge;
+        final boolean[] closed;
+        final int[] touched;
+        int touchedCount;
+        final long[] removedVertices;
+        final long[] maskedEdges;
+        final IndexedMinHeap heap;
+        final AdjacencyCursor cursor;
+        long visited;
+        long relaxations;
+        long heapOperations;
+
+        Workspace(Graph graph) {
+            int n = graph.vertexCount();
+            g = new int[n];
+            parentEdge = new int[n];
+            closed = new boolean[n];
+            touched = new int[n];
+            removedVertices = new long[(n + 63) >>> 6];
+            maskedEdges = new long[(graph.edgeCount() + 63) >>> 6];
+            heap = new IndexedMinHeap(n);
+            cursor = graph.getStorage().cursor();
+            Arrays.fill(g, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * @param k nombre de chemins voulus
+     * @return au plus k chemins, du plus court au plus long, chacun au format de /dijkstra
+     * @throws IllegalArgumentException si un poids est négatif
+     */
+    public static List<List<Edge>> getKShortestPaths(Graph graph, String startName, String endName, int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be at least 1");
+        int start = searchVertex(graph, startName).getId();
+        int end = searchVertex(graph, endName).getId();
+        if (ShortestPath.analyze(graph).properties.isNegativeWeights()) {
+            throw new IllegalArgumentException("k shortest paths need non-negative weights");
+        }
+        AlgorithmStats stats = AlgorithmStats.start("kShortestPaths", graph);
+        stats.phase("tree");
+        Tree tree = reverseTree(graph, end, stats);
+
+        List<Path> accepted = new ArrayList<>();
+        if (tree.dist[start] != Integer.MAX_VALUE) {
+            accepted.add(treePath(graph, tree, new int[]{start}, new int[0], 0, start, 0));
+        }
+
+        stats.phase("spur");
+        ConcurrentLinkedQueue<Workspace> free = new ConcurrentLinkedQueue<>();
+        List<Workspace> all = Collections.synchronizedList(new ArrayList<>());
+        TreeSet<Path> candidates = new TreeSet<>();
+        while (!accepted.isEmpty() && accepted.size() < k) {
+            Path last = accepted.get(accepted.size() - 1);
+            List<Path> spurs = IntStream.range(last.deviation, last.edges.length).parallel().mapToObj(i -> {
+                Workspace ws = free.poll();
+                if (ws == null) {
+                    ws = new Workspace(graph);
+                    all.add(ws);
+                }
+                try {
+                    return spur(graph, tree, accepted, last, i, end, ws);
+                } finally {
+                    free.offer(ws);
+                }
+            }).filter(Objects::nonNull).toList();
+            candidates.addAll(spurs);
+            // Seuls les k - |acceptés| meilleurs candidats peuvent encore servir
+            while (candidates.size() > k - accepted.size()) candidates.pollLast();
+            if (candidates.isEmpty()) break;
+            accepted.add(candidates.pollFirst());
+        }
+
+        for (Workspace ws : all) {
+            stats.visited += ws.visited;
+            stats.relaxations += ws.relaxations;
+            stats.heapOperations += ws.heapOperations;
+        }
+        stats.finish();
+
+        List<List<Edge>> result = new ArrayList<>();
+        for (Path path : accepted) {
+            List<Edge> edges = new ArrayList<>(path.edges.length);
+            for (int i = 0; i < path.edges.length; i++) edges.add(graph.edgeFrom(path.edges[i], path.vertices[i]));
+            result.add(edges);
+        }
+        return result;
+    }
+
+    /**
+     * Dijkstra depuis l'arrivée en remontant les arcs : distance de chaque sommet à l'arrivée.
+     */
+    private static Tree reverseTree(Graph graph, int end, AlgorithmStats stats) {
+        int n = graph.vertexCount();
+        boolean both = !graph.isDirected();
+        int[] dist = new int[n];
+        int[] next = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(next, -1);
+        dist[end] = 0;
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        heap.push(end, 0);
+        stats.heapOperations++;
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            stats.visited++;
+            stats.heapOperations++;
+            cursor.reset(v);
+            while (cursor.next()) {
+                if (!both && cursor.outgoing()) continue; // arcs entrants de v
+                int u = cursor.target();
+                int alt = dist[v] + cursor.weight();
+                if (alt < dist[u]) {
+                    dist[u] = alt;
+                    next[u] = cursor.edge();
+                    heap.push(u, alt);
+                    stats.relaxations++;
+                    stats.heapOperations++;
+                }
+            }
+        }
+        return new Tree(dist, next);
+    }
+
+    /**
+     * Meilleur chemin qui suit {@code last} jusqu'à son i-ème sommet puis s'en écarte, ou null.
+     */
+    private static Path spur(Graph graph, Tree tree, List<Path> accepted, Path last, int i, int end, Workspace ws) {
+        GraphStorage storage = graph.getStorage();
+        int spur = last.vertices[i];
+        // Racine : les sommets avant la déviation sont interdits, ainsi que l'arête suivante de chaque chemin
+        // déjà retenu qui partage cette racine
+        for (int r = 0; r < i; r++) set(ws.removedVertices, last.vertices[r]);
+        for (Path path : accepted) {
+            if (path.edges.length > i && Arrays.equals(path.edges, 0, i, last.edges, 0, i)) {
+                set(ws.maskedEdges, path.edges[i]);
+            }
+        }
+        long rootCost = 0;
+        for (int r = 0; r < i; r++) rootCost += storage.weight(last.edges[r]);
+        int[] rootVertices = Arrays.copyOf(last.vertices, i + 1);
+        int[] rootEdges = Arrays.copyOf(last.edges, i);
+
+        Path path;
+        if (treeAvailable(storage, tree, spur, end, ws)) {
+            path = treePath(graph, tree, rootVertices, rootEdges, rootCost, spur, i);
+        } else {
+            path = search(graph, tree, rootVertices, rootEdges, rootCost, spur, end, i, ws);
+        }
+
+        for (int r = 0; r < i; r++) clear(ws.removedVertices, last.vertices[r]);
+        for (Path p : accepted) {
+            if (p.edges.length > i) clear(ws.maskedEdges, p.edges[i]);
+        }
+        return path;
+    }
+
+    private static boolean treeAvailable(GraphStorage storage, Tree tree, int spur, int end, Workspace ws) {
+        if (tree.dist[spur] == Integer.MAX_VALUE) return false;
+        for (int v = spur; v != end; ) {
+            int e = tree.next[v];
+            if (get(ws.maskedEdges, e)) return false;
+            v = storage.source(e) == v ? storage.target(e) : storage.source(e);
+            if (get(ws.removedVertices, v)) return false;
+        }
+        return true;
+    }
+
+    private static Path treePath(Graph graph, Tree tree, int[] rootVertices, int[] rootEdges, long rootCost,
+                                 int spur, int deviation) {
+        GraphStorage storage = graph.getStorage();
+        int[] vertices = Arrays.copyOf(rootVertices, rootVertices.length + 16);
+        int[] edges = Arrays.copyOf(rootEdges, vertices.length);
+        int count = rootEdges.length;
+        for (int v = spur; tree.next[v] >= 0; ) {
+            int e = tree.next[v];
+            v = storage.source(e) == v ? storage.target(e) : storage.source(e);
+            if (count + 1 >= vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[count++] = e;
+            vertices[count] = v;
+        }
+        return new Path(Arrays.copyOf(vertices, count + 1), Arrays.copyOf(edges, count),
+                rootCost + tree.dist[spur], deviation);
+    }
+
+    /**
+     * A* du sommet de déviation vers l'arrivée, guidé par les distances de l'arbre : elles restent des minorants
+     * quand des arêtes sont retirées, et un sommet qui n'atteignait pas l'arrivée ne l'atteint toujours pas.
+     */
+    private static Path search(Graph graph, Tree tree, int[] rootVertices, int[] rootEdges, long rootCost,
+                               int spur, int end, int deviation, Workspace ws) {
+        boolean both = !graph.isDirected();
+        AdjacencyCursor cursor = ws.cursor;
+        IndexedMinHeap heap = ws.heap;
+        int[] g = ws.g;
+        g[spur] = 0;
+        ws.parentEdge[spur] = -1;
+        ws.touched[ws.touchedCount++] = spur;
+        heap.push(spur, tree.dist[spur]);
+        ws.heapOperations++;
+        boolean found = false;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            ws.heapOperations++;
+            if (u == end) {
+                found = true;
+                break;
+            }
+            ws.closed[u] = true;
+            ws.visited++;
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (!both && !cursor.outgoing()) continue;
+                int v = cursor.target();
+                if (ws.closed[v] || tree.dist[v] == Integer.MAX_VALUE
+                        || get(ws.removedVertices, v) || get(ws.maskedEdges, cursor.edge())) continue;
+                int alt = g[u] + cursor.weight();
+                if (alt < g[v]) {
+                    if (g[v] == Integer.MAX_VALUE) ws.touched[ws.touchedCount++] = v;
+                    g[v] = alt;
+                    ws.parentEdge[v] = cursor.edge();
+                    heap.push(v, alt + tree.dist[v]);
+                    ws.relaxations++;
+                    ws.heapOperations++;
+                }
+            }
+        }
+
+        Path path = null;
+        if (found) {
+            GraphStorage storage = graph.getStorage();
+            List<Integer> spurEdges = new ArrayList<>();
+            for (int v = end; ws.parentEdge[v] >= 0; ) {
+                int e = ws.parentEdge[v];
+                spurEdges.add(e);
+                v = storage.target(e) == v ? storage.source(e) : storage.target(e);
+            }
+            Collections.reverse(spurEdges);
+            int length = rootEdges.length + spurEdges.size();
+            int[] vertices = Arrays.copyOf(rootVertices, length + 1);
+            int[] edges = Arrays.copyOf(rootEdges, length);
+            for (int j = rootEdges.length; j < length; j++) {
+                int e = spurEdges.get(j - rootEdges.length);
+                edges[j] = e;
+                vertices[j + 1] = storage.source(e) == vertices[j] ? storage.target(e) : storage.source(e);
+            }
+            path = new Path(vertices, edges, rootCost + g[end], deviation);
+        }
+
+        while (!heap.isEmpty()) heap.poll();
+        for (int t = 0; t < ws.touchedCount; t++) {
+            int v = ws.touched[t];
+            g[v] = Integer.MAX_VALUE;
+            ws.closed[v] = false;
+        }
+        ws.touchedCount = 0;
+        return path;
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static void clear(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    private static boolean get(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+}
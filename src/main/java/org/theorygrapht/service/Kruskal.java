@@ -1,8 +1,11 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
-import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.util.LongMinHeap;
 
 import java.util.*;
 
@@ -12,34 +15,50 @@ import java.util.*;
 public class Kruskal {
     /**
      * Calcule un arbre couvrant minimal avec Kruskal.
+     * Les arêtes sont triées par (poids, id) encodés dans un long, ce qui garde
+     * l'ordre d'arrivée entre arêtes de même poids.
      *
      * @param graph graphe non orienté et connexe
      * @return liste d'arêtes qui composent le MST
      */
     public static List<Edge> getKruskal(Graph graph) {
-        List<Edge> edges = new ArrayList<>(Arrays.asList(graph.getEdges()));
-        edges.sort(Comparator.comparingInt(Edge::getWeight));
-        Map<Vertex, Vertex> parent = new HashMap<>();
-        for (Vertex v : graph.getVertices()) {
-            parent.put(v, v);
+        GraphStorage storage = graph.getStorage();
+        EdgeReader edges = storage.edgeReader();
+        int m = storage.edgeCount();
+        AlgorithmStats stats = AlgorithmStats.start("kruskal", graph);
+        stats.phase("sort");
+        long[] order = new long[m];
+        for (int e = 0; e < m; e++) {
+            order[e] = LongMinHeap.pack(edges.weight(e), e);
         }
+        Arrays.sort(order);
 
+        int[] parent = new int[graph.vertexCount()];
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+        }
+
+        stats.phase("union");
         List<Edge> mst = new ArrayList<>();
-        for (Edge e : edges) {
-            Vertex root1 = find(parent, e.getSource());
-            Vertex root2 = find(parent, e.getTarget());
-            if (!root1.equals(root2)) {
-                mst.add(e);
-                parent.put(root1, root2);
+        for (long packed : order) {
+            int e = LongMinHeap.id(packed);
+            int root1 = find(parent, edges.source(e));
+            int root2 = find(parent, edges.target(e));
+            if (root1 != root2) {
+                mst.add(graph.edge(e, edges));
+                parent[root1] = root2;
             }
         }
+        stats.visited = m;
+        stats.finish();
         return mst;
     }
 
-    private static Vertex find(Map<Vertex, Vertex> parent, Vertex v) {
-        if (!parent.get(v).equals(v)) {
-            parent.put(v, find(parent, parent.get(v)));
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
         }
-        return parent.get(v);
+        return v;
     }
 }
@@ -1,8 +1,11 @@
 package org.theorygrapht.service;
 
+import org.theorygrapht.metrics.AlgorithmStats;
 import org.theorygrapht.model.Edge;
 import org.theorygrapht.model.Graph;
-import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.util.LongMinHeap;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +18,10 @@ import static org.theorygrapht.util.GraphUtils.searchVertex;
 public class Prim {
     /**
      * Calcule un MST avec Prim en partant d'un sommet donné.
+     * Les arêtes sortantes des sommets atteints attendent dans un tas trié par (poids, id) :
+     * à poids égal, l'arête la plus ancienne est choisie, comme dans le parcours linéaire d'origine.
+     * Sur un graphe non orienté, les arêtes entrantes comptent aussi, et chaque arête du résultat
+     * est orientée du sommet déjà atteint vers le nouveau.
      *
      * @param graph               graphe non orienté et connexe
      * @param startingVertexName  nom du sommet de départ
@@ -22,47 +29,59 @@ public class Prim {
      * @throws IllegalArgumentException si le graphe est déconnecté
      */
     public static List<Edge> getPrim(Graph graph, String startingVertexName) {
-        Vertex[] vertices = graph.getVertices();
-        Edge[] edges = graph.getEdges();
+        int n = graph.vertexCount();
+        int start = searchVertex(graph, startingVertexName).getId();
+        // Plusieurs composantes : échec immédiat, sans remplir le tas
+        ConnectedComponents.requireConnected(graph);
+        AlgorithmStats stats = AlgorithmStats.start("prim", graph);
 
-        Vertex start = searchVertex(vertices, startingVertexName);
-
-        List<Vertex> visitedVertices = new ArrayList<>();
+        boolean[] visited = new boolean[n];
         List<Edge> visitedEdges = new ArrayList<>();
+        LongMinHeap heap = new LongMinHeap(graph.getStorage().degree(start));
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        EdgeReader edges = graph.getStorage().edgeReader();
 
-        visitedVertices.add(start);
-
-        while (visitedVertices.size() != vertices.length) {
-            Edge closestEdge = null;
-            closestEdge = getClosestEdge(edges, visitedVertices, closestEdge);
+        int visitedCount = 1;
+        visited[start] = true;
+        stats.visited++;
+        boolean directed = graph.isDirected();
+        stats.heapOperations += pushOutgoing(cursor, start, visited, heap, directed);
 
-            if (closestEdge == null) {
+        while (visitedCount != n) {
+            if (heap.isEmpty()) {
                 throw new IllegalArgumentException("This is a disconnected graph");
             }
-            visitedEdges.add(closestEdge);
-            if (!visitedVertices.contains(closestEdge.getTarget())) {
-                visitedVertices.add(closestEdge.getTarget());
+            long closest = heap.poll();
+            stats.heapOperations++;
+            int edge = LongMinHeap.id(closest);
+            int source = edges.source(edge);
+            int target = edges.target(edge);
+            if (!directed && visited[target]) {
+                target = source;
+                source = edges.target(edge);
             }
+            if (visited[target]) continue;
+
+            visitedEdges.add(directed ? graph.edge(edge, edges) : graph.edgeFrom(edge, source, edges));
+            visited[target] = true;
+            visitedCount++;
+            stats.visited++;
+            stats.heapOperations += pushOutgoing(cursor, target, visited, heap, directed);
         }
+        stats.finish();
         return visitedEdges;
     }
 
-
-
-    private static Edge getClosestEdge(Edge[] edges, List<Vertex> visited, Edge closestEdge) {
-        for (Edge edge : edges) {
-            Vertex source = edge.getSource();
-            Vertex target = edge.getTarget();
-
-            boolean visitedSource = visited.contains(source);
-            boolean visitedTarget = visited.contains(target);
-
-            if (visitedSource && !visitedTarget) {
-                if (closestEdge == null || edge.getWeight() < closestEdge.getWeight()) {
-                    closestEdge = edge;
-                }
+    private static int pushOutgoing(AdjacencyCursor cursor, int vertex, boolean[] visited, LongMinHeap heap,
+                                    boolean directed) {
+        int pushed = 0;
+        cursor.reset(vertex);
+        while (cursor.next()) {
+            if ((cursor.outgoing() || !directed) && !visited[cursor.target()]) {
+                heap.push(LongMinHeap.pack(cursor.weight(), cursor.edge()));
+                pushed++;
             }
         }
-        return closestEdge;
+        return pushed;
     }
 }
@@ -0,0 +1,392 @@
+package org.theorygrapht.service;
+
+import org.theorygrapht.metrics.AlgorithmStats;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.ReachabilityResult;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.model.storage.GraphStorage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+import static org.theorygrapht.util.GraphUtils.searchVertex;
+
+/**
+ * Index d'accessibilité : « X peut-il atteindre Y ? » sans parcours par requête.
+ *
+ * Les composantes fortement connexes (Tarjan) sont contractées en un DAG, puis :
+ * <ul>
+ *     <li>CLOSURE : fermeture transitive en bitsets long[], une ligne par composante, calculée dans l'ordre
+ *     topologique inverse par unions mot à mot ; les composantes d'un même niveau (même hauteur dans le DAG)
+ *     sont traitées en parallèle. Requête en O(1).</li>
+ *     <li>INTERVALS, si la matrice dépasse {@value #MAX_CLOSURE_BYTES} octets : {@value #LABELINGS} étiquetages
+ *     par intervalles (GRAIL) issus de parcours en profondeur aléatoires. Un intervalle non inclus prouve
+ *     l'inaccessibilité ; sinon un parcours du DAG, élagué par ces mêmes intervalles, tranche.</li>
+ * </ul>
+ * Sur un graphe non orienté, les composantes sont les composantes connexes et le DAG n'a pas d'arc.
+ * L'index est gardé par graphe (référence faible) : un graphe enregistré ne le construit qu'une fois.
+ */
+public class Reachability {
+    public enum Mode {CLOSURE, INTERVALS}
+
+    private static final long MAX_CLOSURE_BYTES = 64L << 20;
+    private static final int LABELINGS = 3;
+
+    private static final Map<Graph, Index> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static class Index {
+        Mode mode;
+        int[] component;    // sommet -> composante fortement connexe (ordre topologique inverse)
+        int components;
+        int[] dagOffsets;   // arcs du DAG des composantes, sans doublon
+        int[] dagTargets;
+        long[][] closure;   // CLOSURE : composantes atteignables depuis chaque composante
+        int[][] low;        // INTERVALS : [étiquetage][composante]
+        int[][] post;
+    }
+
+    /**
+     * Opérations estimées pour répondre sur ce graphe, pour l'admission : un parcours si l'index est déjà construit,
+     * sinon sa construction. Le nombre de composantes n'est connu qu'après Tarjan : la fermeture est comptée
+     * au plus grand nombre de composantes qu'elle accepte.
+     */
+    public static double cost(Graph graph) {
+        long v = graph.vertexCount();
+        long e = graph.edgeCount();
+        double traversal = v + 2 * e;
+        if (CACHE.containsKey(graph)) return traversal;
+        double components = Math.min(v, Math.sqrt(MAX_CLOSURE_BYTES * 8.0));
+        double closure = e * Math.ceil(components / 64);
+        return 2 * traversal + Math.max(closure, LABELINGS * traversal);
+    }
+
+    public static ReachabilityResult isReachable(Graph graph, String start, String end) {
+        int from = searchVertex(graph, start).getId();
+        int to = searchVertex(graph, end).getId();
+        Index index = index(graph);
+        return new ReachabilityResult(start, end, reachable(index, from, to), index.mode.name());
+    }
+
+    /**
+     * @param pairs couples [départ, arrivée] ; l'index n'est construit qu'une fois pour tous
+     * @return pour chaque couple, vrai si l'arrivée est atteignable depuis le départ
+     */
+    public static boolean[] areReachable(Graph graph, List<List<String>> pairs) {
+        return areReachable(graph, pairs, null);
+    }
+
+    /**
+     * Comme {@link #areReachable(Graph, List)}, avec un index construit dans le mode donné et non gardé en cache.
+     *
+     * @param mode null pour le choix automatique (et le cache)
+     */
+    static boolean[] areReachable(Graph graph, List<List<String>> pairs, Mode mode) {
+        int[] from = new int[pairs.size()];
+        int[] to = new int[pairs.size()];
+        for (int i = 0; i < from.length; i++) {
+            List<String> pair = pairs.get(i);
+            if (pair.size() != 2) throw new IllegalArgumentException("Expected [from, to] pairs, got " + pair);
+            from[i] = searchVertex(graph, pair.get(0)).getId();
+            to[i] = searchVertex(graph, pair.get(1)).getId();
+        }
+        Index index = mode == null ? index(graph) : build(graph, mode);
+        boolean[] result = new boolean[from.length];
+        for (int i = 0; i < result.length; i++) result[i] = reachable(index, from[i], to[i]);
+        return result;
+    }
+
+    private static boolean reachable(Index index, int from, int to) {
+        int cu = index.component[from];
+        int cv = index.component[to];
+        if (cu == cv) return true;
+        if (cv > cu) return false; // ordre topologique inverse : les arcs vont vers des ids plus petits
+        if (index.mode == Mode.CLOSURE) {
+            return (index.closure[cu][cv >>> 6] & (1L << cv)) != 0;
+        }
+        if (!contains(index, cu, cv)) return false;
+
+        // Parcours du DAG, en ne descendant que dans les composantes dont l'intervalle contient la cible
+        BitSet seen = new BitSet(index.components);
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = cu;
+        seen.set(cu);
+        while (top > 0) {
+            int c = stack[--top];
+            for (int a = index.dagOffsets[c]; a < index.dagOffsets[c + 1]; a++) {
+                int next = index.dagTargets[a];
+                if (next == cv) return true;
+                if (next < cv || seen.get(next) || !contains(index, next, cv)) continue;
+                seen.set(next);
+                if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = next;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Condition nécessaire de GRAIL : v atteignable depuis u implique [low, post] de v inclus dans celui de u,
+     * pour chaque étiquetage.
+     */
+    private static boolean contains(Index index, int u, int v) {
+        for (int l = 0; l < LABELINGS; l++) {
+            if (index.low[l][v] < index.low[l][u] || index.post[l][v] > index.post[l][u]) return false;
+        }
+        return true;
+    }
+
+    private static Index index(Graph graph) {
+        Index index = CACHE.get(graph);
+        if (index == null) {
+            index = build(graph, null);
+            CACHE.put(graph, index);
+        }
+        return index;
+    }
+
+    private static Index build(Graph graph, Mode mode) {
+        AlgorithmStats stats = AlgorithmStats.start("reachability", graph);
+        Index index = new Index();
+        stats.phase("scc");
+        stronglyConnectedComponents(graph, index, stats);
+        stats.phase("condense");
+        condense(graph, index);
+        int c = index.components;
+        long words = (c + 63L) >>> 6;
+        if (mode == null) mode = c * words * Long.BYTES <= MAX_CLOSURE_BYTES ? Mode.CLOSURE : Mode.INTERVALS;
+        if (mode == Mode.CLOSURE) {
+            stats.phase("closure");
+            index.mode = Mode.CLOSURE;
+            closure(index, (int) words);
+        } else {
+            stats.phase("intervals");
+            index.mode = Mode.INTERVALS;
+            intervals(index);
+        }
+        stats.finish();
+        return index;
+    }
+
+    /**
+     * Tarjan itératif : une composante est numérotée quand son parcours se termine, donc après toutes celles
+     * qu'elle atteint. Les ids suivent ainsi l'ordre topologique inverse du DAG des composantes.
+     */
+    private static void stronglyConnectedComponents(Graph graph, Index index, AlgorithmStats stats) {
+        int n = graph.vertexCount();
+        boolean directed = graph.isDirected();
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        int[] order = new int[n];   // rang de découverte, -1 = pas encore vu
+        int[] low = new int[n];
+        int[] component = new int[n];
+        long[] resumeAt = new long[n];
+        int[] callStack = new int[n];
+        int[] sccStack = new int[n];
+        Arrays.fill(order, -1);
+        Arrays.fill(component, -1);
+        Arrays.fill(resumeAt, -1);
+        int counter = 0;
+        int components = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (order[s] >= 0) continue;
+            int callTop = 0;
+            int sccTop = 0;
+            order[s] = low[s] = counter++;
+            callStack[callTop++] = s;
+            sccStack[sccTop++] = s;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                boolean descended = false;
+                if (resumeAt[v] < 0) cursor.reset(v);
+                else cursor.resume(v, resumeAt[v]);
+                while (cursor.next()) {
+                    if (directed && !cursor.outgoing()) continue;
+                    int w = cursor.target();
+                    if (order[w] < 0) {
+                        resumeAt[v] = cursor.mark();
+                        order[w] = low[w] = counter++;
+                        callStack[callTop++] = w;
+                        sccStack[sccTop++] = w;
+                        descended = true;
+                        break;
+                    }
+                    if (component[w] < 0) low[v] = Math.min(low[v], order[w]); // w encore sur la pile
+                }
+                if (descended) continue;
+
+                callTop--;
+                stats.visited++;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == order[v]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+            }
+        }
+        index.component = component;
+        index.components = components;
+    }
+
+    /**
+     * Arcs entre composantes, triés et sans doublon, au format CSR.
+     */
+    private static void condense(Graph graph, Index index) {
+        GraphStorage storage = graph.getStorage();
+        int[] component = index.component;
+        int c = index.components;
+        int m = storage.edgeCount();
+        EdgeReader edges = storage.edgeReader();
+        int[] offsets = new int[c + 1];
+        for (int e = 0; e < m; e++) {
+            int cu = component[edges.source(e)];
+            int cv = component[edges.target(e)];
+            if (cu != cv) offsets[cu + 1]++;
+        }
+        for (int i = 0; i < c; i++) offsets[i + 1] += offsets[i];
+        int[] targets = new int[offsets[c]];
+        int[] fill = Arrays.copyOf(offsets, c);
+        for (int e = 0; e < m; e++) {
+            int cu = component[edges.source(e)];
+            int cv = component[edges.target(e)];
+            if (cu != cv) targets[fill[cu]++] = cv;
+        }
+
+        // Tri décroissant de chaque liste (les composantes les plus hautes d'abord), puis dédoublonnage en place
+        int[] dagOffsets = new int[c + 1];
+        int kept = 0;
+        for (int i = 0; i < c; i++) {
+            int from = offsets[i];
+            int to = offsets[i + 1];
+            Arrays.sort(targets, from, to);
+            for (int a = from, b = to - 1; a < b; a++, b--) {
+                int tmp = targets[a];
+                targets[a] = targets[b];
+                targets[b] = tmp;
+            }
+            dagOffsets[i] = kept;
+            for (int a = from; a < to; a++) {
+                if (a == from || targets[a] != targets[a - 1]) targets[kept++] = targets[a];
+            }
+        }
+        dagOffsets[c] = kept;
+        index.dagOffsets = dagOffsets;
+        index.dagTargets = Arrays.copyOf(targets, kept);
+    }
+
+    /**
+     * Fermeture transitive par niveaux : le niveau d'une composante est sa hauteur au-dessus des puits,
+     * toutes ses composantes filles sont donc prêtes quand son niveau est traité.
+     * Une fille déjà présente dans la ligne (atteinte via une autre fille) est sautée : sa ligne y est déjà.
+     */
+    private static void closure(Index index, int words) {
+        int c = index.components;
+        int[] offsets = index.dagOffsets;
+        int[] targets = index.dagTargets;
+        int[] level = new int[c];
+        int levels = 0;
+        for (int i = 0; i < c; i++) {
+            for (int a = offsets[i]; a < offsets[i + 1]; a++) level[i] = Math.max(level[i], level[targets[a]] + 1);
+            levels = Math.max(levels, level[i] + 1);
+        }
+        int[] levelStart = new int[levels + 1];
+        for (int i = 0; i < c; i++) levelStart[level[i] + 1]++;
+        for (int l = 0; l < levels; l++) levelStart[l + 1] += levelStart[l];
+        int[] byLevel = new int[c];
+        int[] fill = Arrays.copyOf(levelStart, levels);
+        for (int i = 0; i < c; i++) byLevel[fill[level[i]]++] = i;
+
+        long[][] closure = new long[c][];
+        for (int l = 0; l < levels; l++) {
+            IntStream.range(levelStart[l], levelStart[l + 1]).parallel().forEach(k -> {
+                int i = byLevel[k];
+                long[] row = new long[words];
+                row[i >>> 6] |= 1L << i;
+                for (int a = offsets[i]; a < offsets[i + 1]; a++) {
+                    int child = targets[a];
+                    if ((row[child >>> 6] & (1L << child)) != 0) continue;
+                    long[] childRow = closure[child];
+                    // Une fille n'atteint que des ids plus petits que le sien : inutile d'aller au-delà de son mot
+                    for (int w = 0, last = child >>> 6; w <= last; w++) row[w] |= childRow[w];
+                }
+                closure[i] = row;
+            });
+        }
+        index.closure = closure;
+    }
+
+    /**
+     * GRAIL : pour chaque étiquetage, un parcours en profondeur du DAG (racines et filles dans un ordre aléatoire)
+     * donne post = rang postfixe et low = plus petit rang postfixe du sous-arbre atteignable.
+     */
+    private static void intervals(Index index) {
+        int c = index.components;
+        index.low = new int[LABELINGS][];
+        index.post = new int[LABELINGS][];
+        IntStream.range(0, LABELINGS).parallel().forEach(l -> {
+            int[] offsets = index.dagOffsets;
+            int[] targets = index.dagTargets;
+            SplittableRandom random = new SplittableRandom(l * 0x9E3779B97F4A7C15L);
+            int[] roots = new int[c];
+            for (int i = 0; i < c; i++) roots[i] = i;
+            for (int i = c - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = roots[i];
+                roots[i] = roots[j];
+                roots[j] = tmp;
+            }
+            int[] rotation = new int[c];
+            for (int i = 0; i < c; i++) {
+                int degree = offsets[i + 1] - offsets[i];
+                rotation[i] = degree == 0 ? 0 : random.nextInt(degree);
+            }
+
+            int[] post = new int[c];
+            int[] low = new int[c];
+            int[] next = new int[c]; // filles déjà examinées
+            boolean[] visited = new boolean[c];
+            int[] stack = new int[c];
+            int rank = 0;
+            for (int root : roots) {
+                if (visited[root]) continue;
+                int top = 0;
+                stack[top++] = root;
+                visited[root] = true;
+                while (top > 0) {
+                    int v = stack[top - 1];
+                    int degree = offsets[v + 1] - offsets[v];
+                    if (next[v] < degree) {
+                        int child = targets[offsets[v] + (next[v]++ + rotation[v]) % degree];
+                        if (!visited[child]) {
+                            visited[child] = true;
+                            stack[top++] = child;
+                        }
+                        continue;
+                    }
+                    top--;
+                    post[v] = rank++;
+                    int lowest = post[v];
+                    for (int a = offsets[v]; a < offsets[v + 1]; a++) lowest = Math.min(lowest, low[targets[a]]);
+                    low[v] = lowest;
+                }
+            }
+            index.post[l] = post;
+            index.low[l] = low;
+        });
+    }
+}
@@ -0,0 +1,381 @@
+package org.theorygrapht.service;
+
+import org.theorygrapht.admission.AlgorithmCost;
+import org.theorygrapht.metrics.AlgorithmStats;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphProperties;
+import org.theorygrapht.model.ShortestPathResult;
+import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.util.IndexedMinHeap;
+
+import java.util.*;
+
+import static org.theorygrapht.util.GraphUtils.searchVertex;
+
+/**
+ * Plus courts chemins avec choix automatique de l'algorithme.
+ * Une passe sur les arcs relève les propriétés du graphe (poids négatifs, poids tous égaux,
+ * absence de circuit, densité), puis on lance le moteur le moins coûteux qui reste exact :
+ * BFS, relâchement dans l'ordre topologique, Dijkstra, Bellman-Ford ou Floyd-Warshall.
+ *
+ * Les arêtes sont suivies dans leur sens, ou dans les deux sens si le graphe n'est pas orienté.
+ */
+public class ShortestPath {
+    private static final Map<Graph, Analysis> ANALYSES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * COMPONENTS : réponse donnée par les composantes connexes seules (départ et arrivée séparés).
+     */
+    public enum Engine {BFS, DAG, DIJKSTRA, BELLMAN_FORD, FLOYD_WARSHALL, COMPONENTS}
+
+    static class Analysis {
+        GraphProperties properties;
+        int weight;  // plus petit poids (le poids commun si unitWeights)
+        int[] order; // ordre topologique si acyclique, sinon null
+
+        Analysis(GraphProperties properties, int weight, int[] order) {
+            this.properties = properties;
+            this.weight = weight;
+            this.order = order;
+        }
+    }
+
+    private static class Choice {
+        Engine engine;
+        String reason;
+
+        Choice(Engine engine, String reason) {
+            this.engine = engine;
+            this.reason = reason;
+        }
+    }
+
+    private static class Paths {
+        int[] dist;       // Integer.MAX_VALUE = inatteignable
+        int[] parentEdge; // -1 = pas de prédécesseur
+
+        Paths(int[] dist, int[] parentEdge) {
+            this.dist = dist;
+            this.parentEdge = parentEdge;
+        }
+    }
+
+    /**
+     * Plus court chemin entre deux sommets, ou depuis une source vers tous les sommets si {@code endName} est null.
+     *
+     * @throws IllegalArgumentException si un cycle négatif est atteignable depuis la source
+     */
+    public static ShortestPathResult getShortestPath(Graph graph, String startName, String endName) {
+        int start = searchVertex(graph, startName).getId();
+        int end = endName == null ? -1 : searchVertex(graph, endName).getId();
+        AlgorithmStats stats = AlgorithmStats.start("shortestPath", graph);
+        stats.phase("analyze");
+        Analysis analysis = analyze(graph);
+        if (end >= 0 && !ConnectedComponents.sameComponent(graph, start, end)) {
+            stats.finish();
+            ShortestPathResult result = new ShortestPathResult(Engine.COMPONENTS.name(),
+                    "start and end are in different components: no path", analysis.properties);
+            result.setPath(Collections.emptyList());
+            return result;
+        }
+        Choice choice = singleSource(analysis.properties);
+
+        stats.phase(choice.engine.name());
+        Paths paths = run(graph, analysis, choice.engine, start, stats);
+        stats.finish();
+
+        ShortestPathResult result = new ShortestPathResult(choice.engine.name(), choice.reason, analysis.properties);
+        Vertex[] vertices = graph.getVertices();
+        if (end >= 0) {
+            result.setPath(path(graph, paths, end));
+            result.setDistance(paths.dist[end] == Integer.MAX_VALUE ? null : paths.dist[end]);
+        } else {
+            Map<String, Integer> distances = new LinkedHashMap<>();
+            for (int v = 0; v < vertices.length; v++) {
+                if (paths.dist[v] != Integer.MAX_VALUE) distances.put(vertices[v].getName(), paths.dist[v]);
+            }
+            result.setDistances(distances);
+        }
+        return result;
+    }
+
+    /**
+     * Distances entre toutes les paires : Floyd-Warshall si le graphe est assez dense (ou a des poids négatifs
+     * et des circuits), sinon le moteur d'une source lancé depuis chaque sommet.
+     *
+     * @throws IllegalArgumentException si le graphe contient un cycle négatif
+     */
+    public static ShortestPathResult getAllPairsShortestPaths(Graph graph) {
+        Analysis analysis = analyze(graph);
+        GraphProperties p = analysis.properties;
+        long n = p.getVertices();
+        Choice single = singleSource(p);
+
+        Choice choice;
+        if (single.engine == Engine.BELLMAN_FORD) {
+            choice = new Choice(Engine.FLOYD_WARSHALL, single.reason + "; for all pairs, Floyd-Warshall in V^3");
+        } else {
+            double repeated = n * (single.engine == Engine.DIJKSTRA ? AlgorithmCost.HEAP : AlgorithmCost.TRAVERSAL)
+                    .estimate(n, p.getEdges());
+            double floyd = AlgorithmCost.FLOYD_WARSHALL.estimate(n, p.getEdges());
+            choice = floyd <= repeated
+                    ? new Choice(Engine.FLOYD_WARSHALL, String.format(Locale.ROOT,
+                    "density %.3f: V^3 (%.3g) is cheaper than %s from every vertex (%.3g)",
+                    p.getDensity(), floyd, single.engine, repeated))
+                    : new Choice(single.engine, single.reason + String.format(Locale.ROOT,
+                    "; run from every vertex (%.3g) rather than Floyd-Warshall (%.3g), density %.3f",
+                    repeated, floyd, p.getDensity()));
+        }
+
+        Vertex[] vertices = graph.getVertices();
+        int[][] dist;
+        if (choice.engine == Engine.FLOYD_WARSHALL) {
+            dist = FloydWarshall.getDistances(graph);
+            for (int v = 0; v < vertices.length; v++) {
+                if (dist[v][v] < 0) throw new IllegalArgumentException("Negative cycle through " + vertices[v].getName());
+            }
+        } else {
+            AlgorithmStats stats = AlgorithmStats.start("shortestPath", graph);
+            dist = new int[vertices.length][];
+            for (int s = 0; s < vertices.length; s++) {
+                dist[s] = run(graph, analysis, choice.engine, s, stats).dist;
+            }
+            stats.finish();
+        }
+
+        Map<String, Map<String, Integer>> matrix = new LinkedHashMap<>();
+        for (int u = 0; u < vertices.length; u++) {
+            Map<String, Integer> row = new LinkedHashMap<>();
+            for (int v = 0; v < vertices.length; v++) {
+                if (dist[u][v] != Integer.MAX_VALUE) row.put(vertices[v].getName(), dist[u][v]);
+            }
+            matrix.put(vertices[u].getName(), row);
+        }
+        ShortestPathResult result = new ShortestPathResult(choice.engine.name(), choice.reason, p);
+        result.setMatrix(matrix);
+        return result;
+    }
+
+    /**
+     * Analyse du graphe, gardée (référence faible) : l'admission puis le calcul ne la font qu'une fois.
+     */
+    static Analysis analyze(Graph graph) {
+        Analysis analysis = ANALYSES.get(graph);
+        if (analysis == null) {
+            analysis = scan(graph);
+            ANALYSES.put(graph, analysis);
+        }
+        return analysis;
+    }
+
+    /**
+     * Coût du moteur que {@link #getShortestPath} lancera sur ce graphe, pour l'admission.
+     */
+    public static AlgorithmCost cost(Graph graph) {
+        return switch (singleSource(analyze(graph).properties).engine) {
+            case BFS, DAG -> AlgorithmCost.TRAVERSAL;
+            case DIJKSTRA -> AlgorithmCost.HEAP;
+            default -> AlgorithmCost.BELLMAN_FORD;
+        };
+    }
+
+    /**
+     * Relève en une passe sur les arcs sortants les poids extrêmes et les degrés entrants,
+     * puis cherche un ordre topologique (algorithme de Kahn) si le graphe est orienté.
+     */
+    private static Analysis scan(Graph graph) {
+        GraphStorage storage = graph.getStorage();
+        AdjacencyCursor cursor = storage.cursor();
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        boolean directed = graph.isDirected();
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int[] indegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                if (!cursor.outgoing()) continue;
+                min = Math.min(min, cursor.weight());
+                max = Math.max(max, cursor.weight());
+                indegree[cursor.target()]++;
+            }
+        }
+
+        int[] order = null;
+        if (directed) {
+            int[] queue = new int[n];
+            int tail = 0;
+            for (int v = 0; v < n; v++) if (indegree[v] == 0) queue[tail++] = v;
+            for (int head = 0; head < tail; head++) {
+                cursor.reset(queue[head]);
+                while (cursor.next()) {
+                    if (cursor.outgoing() && --indegree[cursor.target()] == 0) queue[tail++] = cursor.target();
+                }
+            }
+            if (tail == n) order = queue;
+        }
+
+        double pairs = (double) n * (n - 1);
+        double density = n < 2 ? 0 : (directed ? m : 2.0 * m) / pairs;
+        GraphProperties properties = new GraphProperties(n, m, directed, m > 0 && min < 0,
+                m > 0 && min == max, order != null, density);
+        return new Analysis(properties, m > 0 ? min : 0, order);
+    }
+
+    private static Choice singleSource(GraphProperties p) {
+        if (p.isNegativeWeights()) {
+            if (p.isAcyclic()) {
+                return new Choice(Engine.DAG, "negative weights but no directed cycle: relaxation in topological order, O(V + E)");
+            }
+            return new Choice(Engine.BELLMAN_FORD, p.isDirected()
+                    ? "negative weights and directed cycles: Bellman-Ford, O(V E)"
+                    : "negative weights on an undirected graph: Bellman-Ford, which reports the negative cycle");
+        }
+        if (p.isUnitWeights()) {
+            return new Choice(Engine.BFS, "all edges have the same weight: breadth-first search, O(V + E)");
+        }
+        if (p.isAcyclic()) {
+            return new Choice(Engine.DAG, "no directed cycle: relaxation in topological order, O(V + E)");
+        }
+        return new Choice(Engine.DIJKSTRA, "non-negative weights: Dijkstra, O((V + E) log V)");
+    }
+
+    private static Paths run(Graph graph, Analysis analysis, Engine engine, int start, AlgorithmStats stats) {
+        int n = graph.vertexCount();
+        int[] dist = new int[n];
+        int[] parentEdge = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(parentEdge, -1);
+        dist[start] = 0;
+
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        boolean both = !graph.isDirected();
+        switch (engine) {
+            case BFS -> bfs(cursor, both, analysis.weight, start, dist, parentEdge, stats);
+            case DAG -> dag(cursor, analysis.order, dist, parentEdge, stats);
+            case DIJKSTRA -> dijkstra(cursor, both, start, dist, parentEdge, stats);
+            case BELLMAN_FORD -> bellmanFord(graph, cursor, both, start, dist, parentEdge, stats);
+            default -> throw new IllegalArgumentException("Not a single-source engine : " + engine);
+        }
+        return new Paths(dist, parentEdge);
+    }
+
+    private static void bfs(AdjacencyCursor cursor, boolean both, int weight, int start,
+                            int[] dist, int[] parentEdge, AlgorithmStats stats) {
+        int[] queue = new int[dist.length];
+        int tail = 0;
+        queue[tail++] = start;
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            stats.visited++;
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if ((both || cursor.outgoing()) && dist[v] == Integer.MAX_VALUE) {
+                    dist[v] = dist[u] + weight;
+                    parentEdge[v] = cursor.edge();
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    private static void dag(AdjacencyCursor cursor, int[] order, int[] dist, int[] parentEdge, AlgorithmStats stats) {
+        for (int u : order) {
+            if (dist[u] == Integer.MAX_VALUE) continue;
+            stats.visited++;
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (!cursor.outgoing()) continue;
+                int alt = dist[u] + cursor.weight();
+                if (alt < dist[cursor.target()]) {
+                    dist[cursor.target()] = alt;
+                    parentEdge[cursor.target()] = cursor.edge();
+                    stats.relaxations++;
+                }
+            }
+        }
+    }
+
+    private static void dijkstra(AdjacencyCursor cursor, boolean both, int start,
+                                 int[] dist, int[] parentEdge, AlgorithmStats stats) {
+        IndexedMinHeap heap = new IndexedMinHeap(dist.length);
+        heap.push(start, 0);
+        stats.heapOperations++;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            stats.visited++;
+            stats.heapOperations++;
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (!both && !cursor.outgoing()) continue;
+                int v = cursor.target();
+                int alt = dist[u] + cursor.weight();
+                if (alt < dist[v]) {
+                    dist[v] = alt;
+                    parentEdge[v] = cursor.edge();
+                    heap.push(v, alt);
+                    stats.relaxations++;
+                    stats.heapOperations++;
+                }
+            }
+        }
+    }
+
+    // Variante à file (SPFA), comme BellmanFord.getBellmanFordPath
+    private static void bellmanFord(Graph graph, AdjacencyCursor cursor, boolean both, int start,
+                                    int[] dist, int[] parentEdge, AlgorithmStats stats) {
+        int n = dist.length;
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int[] passes = new int[n];
+        int head = 0;
+        int size = 1;
+        queue[0] = start;
+        queued[start] = true;
+        while (size > 0) {
+            int u = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[u] = false;
+            stats.visited++;
+            if (++passes[u] > n) {
+                throw new IllegalArgumentException("Negative cycle reachable from " + graph.getVertices()[start].getName());
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (!both && !cursor.outgoing()) continue;
+                int v = cursor.target();
+                int alt = dist[u] + cursor.weight();
+                if (alt < dist[v]) {
+                    dist[v] = alt;
+                    parentEdge[v] = cursor.edge();
+                    stats.relaxations++;
+                    if (!queued[v]) {
+                        queue[(head + size) % n] = v;
+                        queued[v] = true;
+                        size++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Edge> path(Graph graph, Paths paths, int end) {
+        GraphStorage storage = graph.getStorage();
+        List<Edge> path = new ArrayList<>();
+        for (int v = end; paths.parentEdge[v] >= 0; ) {
+            int edge = paths.parentEdge[v];
+            int parent = storage.target(edge) == v ? storage.source(edge) : storage.target(edge);
+            path.add(graph.edgeFrom(edge, parent));
+            v = parent;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
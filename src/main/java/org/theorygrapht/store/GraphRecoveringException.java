@@ -0,0 +1,25 @@
+package org.theorygrapht.store;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Graphe relu au démarrage mais pas encore reconstruit : réponse 503 avec un en-tête Retry-After.
+ */
+public class GraphRecoveringException extends ResponseStatusException {
+    private static final long serialVersionUID = 1L;
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    public GraphRecoveringException(String name) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Graph not loaded yet : " + name);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(RETRY_AFTER_SECONDS));
+        return headers;
+    }
+}
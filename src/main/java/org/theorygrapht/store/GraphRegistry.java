@@ -0,0 +1,198 @@
+package org.theorygrapht.store;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.theorygrapht.model.EdgeUpdate;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Graphes nommés gardés en mémoire, pour lancer les algorithmes sans renvoyer le graphe à chaque requête.
+ * Si un {@link GraphStore} est configuré, chaque mutation y est journalisée avant d'être visible,
+ * et les graphes sont rechargés au démarrage, en arrière-plan.
+ *
+ * Chaque nom pointe vers une {@link GraphVersion} immuable. Un écrivain construit la version suivante
+ * à côté puis la publie d'un seul put dans la table ; un lecteur prend la version courante sans verrou
+ * et la garde jusqu'à la fin de son calcul, même si elle est remplacée entre-temps.
+ */
+@Component
+public class GraphRegistry {
+    private final Map<String, GraphVersion> graphs = new ConcurrentHashMap<>();
+    private final Map<String, Recovery> recovering = new ConcurrentHashMap<>(); // relus, pas encore construits
+    private final GraphStore store; // null sans persistance
+
+    /**
+     * Les enregistrements du store sont parcourus ici ; les graphes sont construits ensuite en arrière-plan,
+     * un par tâche. Jusque-là, un graphe répond 503 avec Retry-After, et les autres sont déjà servis.
+     */
+    public GraphRegistry(ObjectProvider<GraphStore> store) {
+        this.store = store.getIfAvailable();
+        if (this.store == null) return;
+        Map<String, GraphStore.StoredGraph> stored;
+        try {
+            stored = this.store.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (stored.isEmpty()) {
+            compactIfNeeded();
+            return;
+        }
+        ExecutorService loader = Executors.newFixedThreadPool(
+                Math.min(stored.size(), Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread thread = new Thread(r, "graph-store-recovery");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        stored.forEach((name, graph) -> {
+            Recovery recovery = new Recovery();
+            recovering.put(name, recovery);
+            loader.execute(() -> recover(name, recovery, graph));
+        });
+        loader.shutdown();
+    }
+
+    /**
+     * @return la version publiée, acquise pour l'appelant : à rendre par close(), comme pour {@link #acquire(String)}
+     */
+    // synchronized : l'ordre du journal est celui des mutations visibles
+    public synchronized GraphVersion put(String name, Graph graph) {
+        if (store != null) store.logPut(name, graph);
+        GraphVersion version = publish(name, graph);
+        // Reprise en cours abandonnée : la version publiée la remplace
+        if (recovering.remove(name) != null) compactIfNeeded();
+        return version;
+    }
+
+    /**
+     * Applique des modifications d'arêtes : la nouvelle version partage avec l'ancienne tout ce qui n'a pas changé.
+     *
+     * @return la version publiée, acquise pour l'appelant : à rendre par close()
+     */
+    public synchronized GraphVersion update(String name, List<EdgeUpdate> updates) {
+        GraphVersion current = current(name);
+        Graph next = GraphUtils.update(current.graph(), updates);
+        if (store != null) store.logUpdate(name, updates);
+        return publish(name, next);
+    }
+
+    /**
+     * Version courante du graphe, à rendre par close() une fois le calcul fini. Ne bloque jamais.
+     */
+    public GraphVersion acquire(String name) {
+        while (true) {
+            GraphVersion version = current(name);
+            if (version.tryAcquire()) return version;
+            // Remplacée et libérée entre la lecture et l'acquisition : la suivante est déjà publiée
+        }
+    }
+
+    public synchronized boolean remove(String name) {
+        if (!graphs.containsKey(name) && !recovering.containsKey(name)) return false;
+        if (store != null) store.logRemove(name);
+        GraphVersion removed = graphs.remove(name);
+        if (removed != null) removed.close();
+        recovering.remove(name);
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * @return versions courantes, par nom, acquises : chacune est à rendre par close().
+     * Les graphes pas encore reconstruits au démarrage n'y figurent pas.
+     */
+    public Map<String, GraphVersion> acquireAll() {
+        Map<String, GraphVersion> versions = new TreeMap<>();
+        for (String name : graphs.keySet()) {
+            // Retiré ou remplacé et libéré entre-temps : relu, ou ignoré s'il n'existe plus
+            for (GraphVersion version = graphs.get(name); version != null; version = graphs.get(name)) {
+                if (version.tryAcquire()) {
+                    versions.put(name, version);
+                    break;
+                }
+            }
+        }
+        return versions;
+    }
+
+    private GraphVersion current(String name) {
+        GraphVersion version = graphs.get(name);
+        if (version != null) return version;
+        Recovery recovery = recovering.get(name);
+        if (recovery != null) {
+            Throwable failure = recovery.failure;
+            if (failure != null) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                        "Graph could not be recovered : " + name, failure);
+            }
+            throw new GraphRecoveringException(name);
+        }
+        // Publié (puis retiré de recovering) entre les deux lectures
+        version = graphs.get(name);
+        if (version == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Graph not found : " + name);
+        }
+        return version;
+    }
+
+    /**
+     * Construit un graphe relu et le publie en version 1, sauf s'il a été remplacé ou supprimé entre-temps.
+     * En cas d'échec, le graphe reste en reprise (500 à chaque accès) et le compactage reste suspendu :
+     * un instantané sans lui le perdrait.
+     */
+    private void recover(String name, Recovery recovery, GraphStore.StoredGraph stored) {
+        Graph graph;
+        try {
+            graph = stored.load();
+        } catch (RuntimeException | Error e) {
+            recovery.failure = e;
+            throw e;
+        }
+        synchronized (this) {
+            if (recovering.get(name) != recovery) {
+                graph.close();
+                return;
+            }
+            graphs.put(name, new GraphVersion(graph, 1));
+            recovering.remove(name);
+            compactIfNeeded();
+        }
+    }
+
+    private GraphVersion publish(String name, Graph graph) {
+        GraphVersion previous = graphs.get(name);
+        GraphVersion next = new GraphVersion(graph, previous == null ? 1 : previous.version() + 1);
+        next.tryAcquire(); // référence de l'appelant, prise avant que la version soit visible
+        graphs.put(name, next);
+        if (previous != null) previous.close(); // référence du registre : libérée avec le dernier lecteur
+        compactIfNeeded();
+        return next;
+    }
+
+    private void compactIfNeeded() {
+        // Pas d'instantané tant que des graphes relus ne sont pas publiés : il les perdrait
+        if (store == null || !recovering.isEmpty() || !store.needsCompaction()) return;
+        // L'instantané est écrit en arrière-plan : les versions sont retenues jusqu'à la fin de l'écriture
+        Map<String, Graph> state = new LinkedHashMap<>();
+        List<GraphVersion> held = List.copyOf(graphs.values());
+        held.forEach(GraphVersion::tryAcquire); // toujours vrai : seuls les écrivains, synchronisés, les retirent
+        graphs.forEach((name, version) -> state.put(name, version.graph()));
+        store.compact(state, () -> held.forEach(GraphVersion::close));
+    }
+
+    private static class Recovery {
+        volatile Throwable failure;
+    }
+}
@@ -0,0 +1,476 @@
+package org.theorygrapht.store;
+
+import org.theorygrapht.model.EdgeUpdate;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.VertexIndex;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.model.storage.StorageKind;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * Persistance des graphes nommés : journal des mutations en ajout seul (wal-N.log)
+ * compacté de temps en temps en un instantané (snapshot-N.bin).
+ *
+ * snapshot-N.bin contient l'état juste avant le début de wal-N.log. Au démarrage, on parcourt
+ * le dernier instantané complet, projeté en mémoire, puis les journaux wal-K (K >= N) dans l'ordre ;
+ * chaque graphe est ensuite construit séparément depuis ses enregistrements ({@link StoredGraph}).
+ * Un instantané n'apparaît sous son nom qu'une fois entièrement écrit (renommage atomique) ;
+ * un enregistrement tronqué en fin de journal (arrêt brutal) est ignoré et coupé.
+ *
+ * Enregistrement : longueur (int), CRC32C (int), puis op (PUT, PUT_UNDIRECTED, REMOVE ou UPDATE), nom,
+ * pour PUT : sommets (nombre puis noms), arêtes (nombre puis tableaux sources, cibles, poids),
+ * pour UPDATE : nombre de modifications puis, pour chacune, source, cible, 1 et poids ou 0 (suppression).
+ * Entiers big-endian, chaînes en longueur + UTF-8.
+ */
+public class GraphStore implements AutoCloseable {
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte PUT_UNDIRECTED = 3;
+    private static final byte UPDATE = 4;
+    private static final int HEADER = 2 * Integer.BYTES;
+    private static final int CHUNK = 1 << 20;
+    private static final long WINDOW = 1 << 30;
+    private static final Pattern FILE = Pattern.compile("(wal|snapshot)-(\\d+)\\.(log|bin)");
+
+    private final Path directory;
+    private final StorageKind kind;
+    private final long compactBytes;
+    private final boolean fsync;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "graph-store-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long sequence;
+    private FileChannel log;
+    private boolean compacting;
+    private boolean replayedTail; // journal relu au démarrage : à replier au prochain compactage
+
+    /**
+     * @param compactBytes taille du journal au-delà de laquelle un nouvel instantané est écrit
+     * @param fsync        force chaque enregistrement sur le disque avant de rendre la main
+     */
+    public GraphStore(Path directory, StorageKind kind, long compactBytes, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.kind = kind;
+        this.compactBytes = compactBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Parcourt le dernier instantané et la fin du journal, puis ouvre un journal pour les mutations suivantes.
+     * Les fichiers sont projetés en mémoire et chaque enregistrement est vérifié (CRC), mais aucun graphe
+     * n'est construit : seuls les enregistrements encore utiles (dernier PUT de chaque nom et UPDATE suivants)
+     * sont gardés, et {@link StoredGraph#load()} construit le graphe à la demande.
+     * Si des enregistrements du journal ont été relus, {@link #needsCompaction()} le signale : l'appelant
+     * compacte une fois les graphes construits et publiés, le prochain démarrage ne lira qu'un instantané.
+     *
+     * @return les graphes enregistrés, par nom
+     */
+    public synchronized Map<String, StoredGraph> recover() throws IOException {
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher m = FILE.matcher(file.getFileName().toString());
+                if (!m.matches()) continue;
+                (m.group(1).equals("wal") ? logs : snapshots).put(Long.parseLong(m.group(2)), file);
+            }
+        }
+
+        Map<String, StoredGraph> graphs = new LinkedHashMap<>();
+        long start = 0;
+        if (!snapshots.isEmpty()) {
+            start = snapshots.lastKey();
+            replay(snapshots.lastEntry().getValue(), graphs, false);
+        }
+        for (Map.Entry<Long, Path> entry : logs.tailMap(start, true).entrySet()) {
+            replayedTail |= replay(entry.getValue(), graphs, entry.getKey().equals(logs.lastKey())) > 0;
+        }
+
+        sequence = logs.isEmpty() ? start : Math.max(start, logs.lastKey());
+        log = FileChannel.open(logPath(sequence), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        log.position(log.size());
+        return graphs;
+    }
+
+    public synchronized void logPut(String name, Graph graph) {
+        append(graph.isDirected() ? PUT : PUT_UNDIRECTED, name, writer -> writeGraph(writer, graph));
+    }
+
+    public synchronized void logRemove(String name) {
+        append(REMOVE, name, writer -> {});
+    }
+
+    /**
+     * Journalise des modifications d'arêtes : quelques octets par arête, au lieu du graphe entier.
+     */
+    public synchronized void logUpdate(String name, List<EdgeUpdate> updates) {
+        append(UPDATE, name, writer -> {
+            writer.putInt(updates.size());
+            for (EdgeUpdate update : updates) {
+                writer.putString(update.getSource());
+                writer.putString(update.getTarget());
+                writer.putByte((byte) (update.getDistance() == null ? 0 : 1));
+                writer.putInt(update.getDistance() == null ? 0 : update.getDistance());
+            }
+        });
+    }
+
+    /**
+     * @return vrai si le journal courant a dépassé le seuil de compactage, ou s'il a été relu au démarrage
+     */
+    public synchronized boolean needsCompaction() {
+        try {
+            return !compacting && (replayedTail || log.size() >= compactBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Passe à un nouveau journal et écrit en arrière-plan l'instantané de {@code graphs},
+     * qui doit être l'état à la fin du journal courant. Les anciens fichiers sont supprimés ensuite.
+     *
+     * @param written appelé une fois {@code graphs} écrit (ou ignoré) : l'appelant peut alors les libérer
+     */
+    public synchronized void compact(Map<String, Graph> graphs, Runnable written) {
+        if (compacting) {
+            written.run();
+            return;
+        }
+        long snapshot;
+        try {
+            log.close();
+            snapshot = ++sequence;
+            log = FileChannel.open(logPath(snapshot), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            written.run();
+            throw new UncheckedIOException(e);
+        }
+        compacting = true;
+        replayedTail = false;
+        Map<String, Graph> state = new LinkedHashMap<>(graphs);
+        compactor.execute(() -> {
+            try {
+                writeSnapshot(snapshot, state);
+                deleteBefore(snapshot);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                written.run();
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (log != null) log.close();
+        }
+    }
+
+    private void append(byte op, String name, RecordBody body) {
+        long start = -1;
+        try {
+            start = log.position();
+            writeRecord(log, op, name, body);
+            if (fsync) log.force(false);
+        } catch (IOException e) {
+            // Un enregistrement à moitié écrit masquerait les suivants à la relecture
+            if (start >= 0) {
+                try {
+                    log.truncate(start);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSnapshot(long snapshot, Map<String, Graph> graphs) throws IOException {
+        Path target = directory.resolve("snapshot-" + snapshot + ".bin");
+        Path temporary = directory.resolve("snapshot-" + snapshot + ".bin.tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, Graph> entry : graphs.entrySet()) {
+                Graph graph = entry.getValue();
+                writeRecord(out, graph.isDirected() ? PUT : PUT_UNDIRECTED, entry.getKey(),
+                        writer -> writeGraph(writer, graph));
+            }
+            out.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteBefore(long snapshot) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher m = FILE.matcher(file.getFileName().toString());
+                if (m.matches() && Long.parseLong(m.group(2)) < snapshot) obsolete.add(file);
+            }
+        }
+        for (Path file : obsolete) Files.deleteIfExists(file);
+    }
+
+    private Path logPath(long sequence) {
+        return directory.resolve("wal-" + sequence + ".log");
+    }
+
+    // ----- écriture -----
+
+    private interface RecordBody {
+        void write(RecordWriter writer) throws IOException;
+    }
+
+    private static void writeRecord(FileChannel out, byte op, String name, RecordBody body) throws IOException {
+        long start = out.position();
+        RecordWriter writer = new RecordWriter(out);
+        writer.buffer.position(HEADER); // en-tête écrit à la fin, une fois longueur et CRC connus
+        writer.skipFromCrc = HEADER;
+        writer.putByte(op);
+        writer.putString(name);
+        body.write(writer);
+        writer.flush();
+
+        long length = out.position() - start - HEADER;
+        if (length > Integer.MAX_VALUE) throw new IOException("Graph record too large : " + length + " bytes");
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        header.putInt((int) length).putInt((int) writer.crc.getValue()).flip();
+        while (header.hasRemaining()) out.write(header, start + header.position());
+    }
+
+    private static void writeGraph(RecordWriter writer, Graph graph) throws IOException {
+        EdgeReader edges = graph.getStorage().edgeReader();
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        writer.putInt(n);
+        for (int v = 0; v < n; v++) writer.putString(graph.getVertexIndex().vertex(v).getName());
+        writer.putInt(m);
+        for (int e = 0; e < m; e++) writer.putInt(edges.source(e));
+        for (int e = 0; e < m; e++) writer.putInt(edges.target(e));
+        for (int e = 0; e < m; e++) writer.putInt(edges.weight(e));
+    }
+
+    /**
+     * Écrit par blocs de 1 Mo en calculant le CRC au passage.
+     */
+    private static class RecordWriter {
+        final FileChannel out;
+        final ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+        final CRC32C crc = new CRC32C();
+        int skipFromCrc;
+
+        RecordWriter(FileChannel out) {
+            this.out = out;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int count = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, count);
+                offset += count;
+            }
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.array(), skipFromCrc, buffer.limit() - skipFromCrc);
+            skipFromCrc = 0;
+            while (buffer.hasRemaining()) out.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    // ----- relecture -----
+
+    /**
+     * Graphe relu par {@link #recover()} : ses enregistrements, vérifiés et projetés en mémoire.
+     * Les fichiers d'où ils viennent ne sont supprimés qu'au compactage suivant, une fois le graphe publié.
+     */
+    public final class StoredGraph {
+        private final List<ByteBuffer> records = new ArrayList<>(); // un PUT puis ses UPDATE
+
+        private StoredGraph(ByteBuffer put) {
+            records.add(put);
+        }
+
+        /**
+         * Construit le graphe : décodage du PUT, stockage, puis modifications dans l'ordre du journal.
+         */
+        public Graph load() {
+            Graph graph = null;
+            for (ByteBuffer record : records) graph = apply(record.duplicate(), graph);
+            return graph;
+        }
+    }
+
+    /**
+     * Range les enregistrements d'un fichier dans {@code graphs}, sans les décoder.
+     * Dans le dernier journal, un enregistrement incomplet ou corrompu marque la fin : il est coupé.
+     *
+     * @return nombre d'enregistrements relus
+     */
+    private int replay(Path file, Map<String, StoredGraph> graphs, boolean lastLog) throws IOException {
+        int records = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            // Projections de 1 Go au plus, partagées par les enregistrements qu'elles contiennent
+            MappedByteBuffer window = null;
+            long windowStart = 0;
+            while (position < size) {
+                if (size - position < HEADER) {
+                    corrupted(in, file, position, lastLog);
+                    break;
+                }
+                if (window == null || position + HEADER > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, WINDOW));
+                }
+                int offset = (int) (position - windowStart);
+                int length = window.getInt(offset);
+                int crc = window.getInt(offset + Integer.BYTES);
+                if (length < 0 || length > size - position - HEADER) {
+                    corrupted(in, file, position, lastLog);
+                    break;
+                }
+                ByteBuffer record;
+                if (offset + HEADER + (long) length <= window.capacity()) {
+                    record = window.slice(offset + HEADER, length);
+                } else {
+                    // Enregistrement à cheval sur la fin de la projection : projeté seul, la suivante repart après
+                    record = in.map(FileChannel.MapMode.READ_ONLY, position + HEADER, length);
+                    window = null;
+                }
+                CRC32C check = new CRC32C();
+                check.update(record.duplicate());
+                if ((int) check.getValue() != crc) {
+                    corrupted(in, file, position, lastLog);
+                    break;
+                }
+                index(record, graphs);
+                records++;
+                position += HEADER + length;
+            }
+        }
+        return records;
+    }
+
+    private static void corrupted(FileChannel in, Path file, long position, boolean lastLog) throws IOException {
+        if (!lastLog) throw new IOException("Corrupted graph store file " + file + " at byte " + position);
+        in.truncate(position);
+    }
+
+    private void index(ByteBuffer record, Map<String, StoredGraph> graphs) {
+        ByteBuffer reader = record.duplicate();
+        byte op = reader.get();
+        String name = getString(reader);
+        if (op == REMOVE) {
+            graphs.remove(name);
+        } else if (op == UPDATE) {
+            StoredGraph stored = graphs.get(name);
+            if (stored != null) stored.records.add(record);
+        } else {
+            graphs.put(name, new StoredGraph(record));
+        }
+    }
+
+    /**
+     * @param previous graphe avant un UPDATE (fermé ici : personne d'autre ne le lit), null pour un PUT
+     */
+    private Graph apply(ByteBuffer record, Graph previous) {
+        byte op = record.get();
+        getString(record);
+        if (op == UPDATE) {
+            int count = record.getInt();
+            List<EdgeUpdate> updates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String source = getString(record);
+                String target = getString(record);
+                boolean present = record.get() != 0;
+                int distance = record.getInt();
+                updates.add(new EdgeUpdate(source, target, present ? distance : null));
+            }
+            Graph next = GraphUtils.update(previous, updates);
+            previous.close();
+            return next;
+        }
+        int n = record.getInt();
+        VertexIndex index = new VertexIndex(n);
+        for (int v = 0; v < n; v++) index.intern(getString(record));
+        int m = record.getInt();
+        int[] sources = getInts(record, m);
+        int[] targets = getInts(record, m);
+        int[] weights = getInts(record, m);
+        return new Graph(index, kind.build(n, m, sources, targets, weights), op == PUT);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+}
@@ -0,0 +1,31 @@
+package org.theorygrapht.store;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.theorygrapht.util.GraphUtils;
+import org.theorygrapht.util.StorageConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Persistance des graphes enregistrés, active si theorygrapht.store.dir est défini.
+ * theorygrapht.store.compact-size : taille du journal qui déclenche un instantané (256MB par défaut).
+ * theorygrapht.store.fsync : forcer chaque mutation sur le disque (true par défaut).
+ */
+@Configuration
+@ConditionalOnProperty("theorygrapht.store.dir")
+public class GraphStoreConfig {
+
+    // StorageConfig en paramètre : le stockage par défaut doit être choisi avant la relecture des graphes
+    @Bean(destroyMethod = "close")
+    public GraphStore graphStore(StorageConfig storageConfig,
+                                 @Value("${theorygrapht.store.dir}") String directory,
+                                 @Value("${theorygrapht.store.compact-size:256MB}") DataSize compactSize,
+                                 @Value("${theorygrapht.store.fsync:true}") boolean fsync) throws IOException {
+        return new GraphStore(Path.of(directory), GraphUtils.getDefaultStorage(), compactSize.toBytes(), fsync);
+    }
+}
@@ -0,0 +1,51 @@
+package org.theorygrapht.store;
+
+import org.theorygrapht.model.Graph;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Version publiée d'un graphe nommé, avec un compteur de références : une pour le registre tant que la version
+ * est la courante, une par lecteur qui l'a obtenue par {@link GraphRegistry#acquire(String)}.
+ * Quand le compteur tombe à zéro (version remplacée et plus aucun lecteur), le stockage est libéré :
+ * tout de suite pour un stockage hors tas, sans attendre le GC.
+ *
+ * Acquisition sans verrou : un CAS incrémente le compteur tant qu'il n'est pas à zéro ; une version à zéro
+ * ne peut plus être acquise, le lecteur relit alors la version courante.
+ */
+public final class GraphVersion implements AutoCloseable {
+    private final Graph graph;
+    private final long version;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    GraphVersion(Graph graph, long version) {
+        this.graph = graph;
+        this.version = version;
+    }
+
+    public Graph graph() {
+        return graph;
+    }
+
+    /**
+     * @return numéro de version, 1 à la création, +1 à chaque remplacement ou modification
+     */
+    public long version() {
+        return version;
+    }
+
+    boolean tryAcquire() {
+        for (int count = references.get(); count > 0; count = references.get()) {
+            if (references.compareAndSet(count, count + 1)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rend la référence du lecteur (une seule fois par acquisition).
+     */
+    @Override
+    public void close() {
+        if (references.decrementAndGet() == 0) graph.close();
+    }
+}
@@ -0,0 +1,81 @@
+package org.theorygrapht.util;
+
+import org.theorygrapht.generator.EdgeSink;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.util.Arrays;
+
+/**
+ * Arêtes stockées dans des tableaux d'entiers extensibles, sans objet par arête.
+ * {@link #groupBySource(int)} les range par sommet source (tri par comptage stable)
+ * pour pouvoir écrire l'adjacence d'un sommet d'un seul bloc.
+ */
+public class EdgeBuffer implements EdgeSink {
+    private int[] sources = new int[1024];
+    private int[] targets = new int[1024];
+    private int[] weights = new int[1024];
+    private int size;
+
+    @Override
+    public void edge(int source, int target, int weight) {
+        if (size == sources.length) {
+            int capacity = Math.addExact(size, size >> 1);
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        weights[size] = weight;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int source(int i) {
+        return sources[i];
+    }
+
+    public int target(int i) {
+        return targets[i];
+    }
+
+    public int weight(int i) {
+        return weights[i];
+    }
+
+    /**
+     * Trie les arêtes par source et renvoie les bornes de chaque sommet :
+     * les arêtes sortantes de v sont les indices [offsets[v], offsets[v + 1]).
+     */
+    public int[] groupBySource(int vertexCount) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < size; i++) offsets[sources[i] + 1]++;
+        for (int v = 0; v < vertexCount; v++) offsets[v + 1] += offsets[v];
+
+        int[] cursor = Arrays.copyOf(offsets, vertexCount);
+        int[] sortedTargets = new int[size];
+        int[] sortedWeights = new int[size];
+        for (int i = 0; i < size; i++) {
+            int slot = cursor[sources[i]]++;
+            sortedTargets[slot] = targets[i];
+            sortedWeights[slot] = weights[i];
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            Arrays.fill(sources, offsets[v], offsets[v + 1], v);
+        }
+        targets = sortedTargets;
+        weights = sortedWeights;
+        return offsets;
+    }
+
+    /**
+     * Construit le stockage du graphe, les arêtes gardant leur ordre actuel comme ids.
+     */
+    public GraphStorage toStorage(StorageKind kind, int vertexCount) {
+        return kind.build(vertexCount, size, sources, targets, weights);
+    }
+}
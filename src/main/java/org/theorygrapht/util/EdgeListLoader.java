@@ -0,0 +1,461 @@
+package org.theorygrapht.util;
+
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.VertexIndex;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Chargement d'un graphe depuis une liste d'arêtes texte, une par ligne : "source cible [poids]"
+ * (séparés par des espaces ou tabulations, poids 1 par défaut ; lignes vides et commentaires # ou % ignorés).
+ *
+ * Le fichier est projeté en mémoire et découpé en tranches alignées sur les fins de ligne, lues en parallèle.
+ * Chaque tranche remplit ses propres tableaux ({@link EdgeBuffer}) avec des ids locaux, tirés de son propre
+ * dictionnaire de noms : aucune synchronisation pendant la lecture. Les dictionnaires sont ensuite fusionnés
+ * en parallèle, partagés par hachage, et les ids suivent l'ordre de première apparition dans le fichier,
+ * comme une lecture séquentielle. Enfin les arêtes sont rangées par source (tri par comptage parallèle),
+ * comme l'ordre de {@link GraphUtils#fromMap}.
+ */
+public class EdgeListLoader {
+    private static final long MIN_CHUNK = 1 << 20;
+    private static final long MAX_CHUNK = 1 << 30; // une projection est limitée à 2 Go
+    private static final int CHUNKS_PER_THREAD = 4; // équilibre les tranches de densités différentes
+    private static final int MIN_EDGES_PER_TASK = 1 << 16;
+    // Clé d'un nom de plus de 8 octets : marqueur dans les 32 bits hauts (l'octet 0xFF n'existe pas en UTF-8),
+    // hachage dans les 32 bits bas ; un nom plus court est sa propre clé (ses octets)
+    private static final long LONG_NAME = 0xFFFFFFFFL << 32;
+
+    /**
+     * @param directed false : graphe non orienté, les arêtes miroirs de même poids ne sont gardées qu'une fois
+     * @throws IllegalArgumentException si une ligne ne suit pas le format (position en octets dans le message)
+     */
+    public static Graph load(Path file, StorageKind kind, boolean directed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = bounds(channel);
+            int chunks = bounds.length - 1;
+
+            // Lecture : une tranche par tâche
+            Chunk[] parsed = new Chunk[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                try {
+                    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+                    parsed[c] = new Chunk(buffer, bounds[c]);
+                    parsed[c].parse();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            VertexIndex index = resolve(parsed);
+            int[] firstEdge = new int[chunks + 1];
+            for (int c = 0; c < chunks; c++) firstEdge[c + 1] = Math.addExact(firstEdge[c], parsed[c].edges.size());
+
+            int n = index.size();
+            int m = firstEdge[chunks];
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            int[] weights = new int[m];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                EdgeBuffer edges = parsed[c].edges;
+                int[] global = parsed[c].entries;
+                for (int i = 0, e = firstEdge[c]; i < edges.size(); i++, e++) {
+                    sources[e] = global[edges.source(i)];
+                    targets[e] = global[edges.target(i)];
+                    weights[e] = edges.weight(i);
+                }
+                parsed[c] = null;
+            });
+
+            int[][] sorted = sortBySource(n, m, sources, targets, weights);
+            int edgeCount = directed ? m : GraphUtils.mergeMirrored(n, m, sorted[0], sorted[1], sorted[2]);
+            return new Graph(index, kind.build(n, edgeCount, sorted[0], sorted[1], sorted[2]), directed);
+        }
+    }
+
+    /**
+     * Donne à chaque nom un id global et remplace les ids locaux des tranches par ces ids ({@link Chunk#entries}).
+     * Un nom ne se compare qu'aux noms de même shard ; seule la numérotation finale est séquentielle,
+     * un entier lu par nom de tranche.
+     */
+    private static VertexIndex resolve(Chunk[] parsed) {
+        int chunks = parsed.length;
+        int shards = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        IntStream.range(0, chunks).parallel().forEach(c -> parsed[c].groupByShard(shards));
+
+        // Chaque shard parcourt ses noms tranche après tranche : la première rencontre d'un nom est sa première apparition
+        Shard[] tables = new Shard[shards];
+        IntStream.range(0, shards).parallel().forEach(s -> {
+            Shard shard = new Shard(parsed);
+            for (int c = 0; c < chunks; c++) {
+                Chunk chunk = parsed[c];
+                for (int k = chunk.shardStarts[s]; k < chunk.shardStarts[s + 1]; k++) {
+                    int id = chunk.byShard[k];
+                    chunk.entries[id] = shard.intern(c, id);
+                }
+            }
+            tables[s] = shard;
+        });
+
+        int[][] order = new int[shards][];
+        for (int s = 0; s < shards; s++) order[s] = new int[tables[s].size];
+        int n = 0;
+        for (Chunk chunk : parsed) {
+            for (int id = 0; id < chunk.names; id++) {
+                int entry = chunk.entries[id];
+                if (entry < 0) order[shard(chunk.keys[id], shards)][~entry] = n++;
+            }
+        }
+
+        String[] names = new String[n];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            Chunk chunk = parsed[c];
+            for (int id = 0; id < chunk.names; id++) {
+                int entry = chunk.entries[id];
+                if (entry < 0) names[order[shard(chunk.keys[id], shards)][~entry]] = chunk.name(id);
+            }
+        });
+        // Octets différents, même texte (UTF-8 invalide) : un seul sommet
+        VertexIndex index = new VertexIndex(n);
+        int[] vertex = new int[n];
+        for (int i = 0; i < n; i++) vertex[i] = index.intern(names[i]);
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            Chunk chunk = parsed[c];
+            for (int id = 0; id < chunk.names; id++) {
+                int entry = chunk.entries[id];
+                chunk.entries[id] = vertex[order[shard(chunk.keys[id], shards)][entry < 0 ? ~entry : entry]];
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Débuts des tranches : tailles à peu près égales, chaque début juste après une fin de ligne.
+     */
+    private static long[] bounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        long target = Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size / ((long) threads * CHUNKS_PER_THREAD)));
+        long[] bounds = new long[(int) ((size + target - 1) / target) + 2];
+        int count = 1;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (long position = target; position < size; position = bounds[count - 1] + target) {
+            long start = nextLine(channel, position, size, probe);
+            if (start >= size) break;
+            bounds[count++] = start;
+        }
+        bounds[count++] = size;
+        for (int c = 1; c < count; c++) {
+            if (bounds[c] - bounds[c - 1] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Edge list line too long near byte " + bounds[c - 1]);
+            }
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static long nextLine(FileChannel channel, long position, long size, ByteBuffer probe) throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Tri par comptage stable sur la source : chaque tâche compte une plage d'arêtes, les positions sont
+     * attribuées par sommet puis par tâche, et chaque tâche place ses arêtes sans se synchroniser.
+     *
+     * @return sources, cibles et poids triés
+     */
+    private static int[][] sortBySource(int n, int m, int[] sources, int[] targets, int[] weights) {
+        int tasks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), m / MIN_EDGES_PER_TASK));
+        int[][] next = new int[tasks][];
+        IntStream.range(0, tasks).parallel().forEach(t -> {
+            int[] count = new int[n];
+            for (int e = from(t, tasks, m), to = from(t + 1, tasks, m); e < to; e++) count[sources[e]]++;
+            next[t] = count;
+        });
+        int position = 0;
+        for (int v = 0; v < n; v++) {
+            for (int t = 0; t < tasks; t++) {
+                int count = next[t][v];
+                next[t][v] = position;
+                position += count;
+            }
+        }
+
+        int[] sortedSources = new int[m];
+        int[] sortedTargets = new int[m];
+        int[] sortedWeights = new int[m];
+        IntStream.range(0, tasks).parallel().forEach(t -> {
+            int[] slots = next[t];
+            for (int e = from(t, tasks, m), to = from(t + 1, tasks, m); e < to; e++) {
+                int slot = slots[sources[e]]++;
+                sortedSources[slot] = sources[e];
+                sortedTargets[slot] = targets[e];
+                sortedWeights[slot] = weights[e];
+            }
+        });
+        return new int[][]{sortedSources, sortedTargets, sortedWeights};
+    }
+
+    private static int from(int task, int tasks, int m) {
+        return (int) ((long) m * task / tasks);
+    }
+
+    /**
+     * Une tranche du fichier : ses arêtes en ids locaux et le dictionnaire de ses noms, gardés comme
+     * positions dans la projection (un String n'est créé qu'une fois par nom distinct du fichier).
+     */
+    private static class Chunk {
+        final ByteBuffer buffer;
+        final long offset;
+        final EdgeBuffer edges = new EdgeBuffer();
+        long[] tableKeys = new long[1024];
+        int[] table = new int[1024]; // id local + 1, 0 = case vide
+        long[] keys = new long[512];
+        int[] starts = new int[512];
+        int[] lengths = new int[512];
+        int names;
+        int[] byShard; // ids locaux rangés par shard
+        int[] shardStarts;
+        int[] entries; // n° dans le shard (~n° à la première apparition), puis id global
+
+        Chunk(ByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        void parse() {
+            int length = buffer.limit();
+            int i = 0;
+            while (i < length) {
+                byte b = buffer.get(i);
+                if (b == '\n' || blank(b)) {
+                    i++;
+                    continue;
+                }
+                if (b == '#' || b == '%') {
+                    while (i < length && buffer.get(i) != '\n') i++;
+                    continue;
+                }
+                int line = i;
+                int start = i;
+                while (i < length && !separator(buffer.get(i))) i++;
+                int source = intern(start, i);
+                i = skipBlanks(i, length);
+                if (i == length || buffer.get(i) == '\n') throw malformed(line);
+                start = i;
+                while (i < length && !separator(buffer.get(i))) i++;
+                int target = intern(start, i);
+                i = skipBlanks(i, length);
+
+                int weight = 1;
+                if (i < length && buffer.get(i) != '\n') {
+                    boolean negative = buffer.get(i) == '-';
+                    if (negative || buffer.get(i) == '+') i++;
+                    long value = 0;
+                    int digits = 0;
+                    for (; i < length && !separator(buffer.get(i)); i++, digits++) {
+                        int digit = buffer.get(i) - '0';
+                        if (digit < 0 || digit > 9 || digits > 10) throw malformed(line);
+                        value = value * 10 + digit;
+                    }
+                    value = negative ? -value : value;
+                    if (digits == 0 || value != (int) value) throw malformed(line);
+                    weight = (int) value;
+                    i = skipBlanks(i, length);
+                    if (i < length && buffer.get(i) != '\n') throw malformed(line);
+                }
+                edges.edge(source, target, weight);
+            }
+        }
+
+        int intern(int start, int end) {
+            long key = key(start, end);
+            int mask = table.length - 1;
+            int slot = (int) mix(key) & mask;
+            for (; table[slot] != 0; slot = (slot + 1) & mask) {
+                if (tableKeys[slot] != key) continue;
+                int id = table[slot] - 1;
+                if ((key & LONG_NAME) != LONG_NAME || same(this, starts[id], lengths[id], this, start, end - start)) {
+                    return id;
+                }
+            }
+            if (names == keys.length) {
+                keys = Arrays.copyOf(keys, names * 2);
+                starts = Arrays.copyOf(starts, names * 2);
+                lengths = Arrays.copyOf(lengths, names * 2);
+            }
+            int id = names++;
+            keys[id] = key;
+            starts[id] = start;
+            lengths[id] = end - start;
+            tableKeys[slot] = key;
+            table[slot] = id + 1;
+            if (names * 2 > table.length) rehash();
+            return id;
+        }
+
+        /**
+         * Range les ids locaux par shard (tri par comptage) ; le dictionnaire de la tranche ne sert plus.
+         */
+        void groupByShard(int shards) {
+            tableKeys = null;
+            table = null;
+            shardStarts = new int[shards + 1];
+            for (int id = 0; id < names; id++) shardStarts[shard(keys[id], shards) + 1]++;
+            for (int s = 0; s < shards; s++) shardStarts[s + 1] += shardStarts[s];
+            int[] next = Arrays.copyOf(shardStarts, shards);
+            byShard = new int[names];
+            for (int id = 0; id < names; id++) byShard[next[shard(keys[id], shards)]++] = id;
+            entries = new int[names];
+        }
+
+        String name(int id) {
+            byte[] bytes = new byte[lengths[id]];
+            buffer.get(starts[id], bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long key(int start, int end) {
+            if (end - start <= 8) {
+                long packed = 0;
+                int i = start;
+                for (; i < end; i++) {
+                    int b = buffer.get(i) & 0xFF;
+                    if (b == 0 || b == 0xFF) break;
+                    packed = packed << 8 | b;
+                }
+                if (i == end) return packed;
+            }
+            int hash = 0;
+            for (int i = start; i < end; i++) hash = 31 * hash + buffer.get(i);
+            return LONG_NAME | (hash & 0xFFFFFFFFL);
+        }
+
+        // Tables remplies à 50 % au plus
+        private void rehash() {
+            tableKeys = new long[tableKeys.length * 2];
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int id = 0; id < names; id++) {
+                int slot = (int) mix(keys[id]) & mask;
+                while (table[slot] != 0) slot = (slot + 1) & mask;
+                tableKeys[slot] = keys[id];
+                table[slot] = id + 1;
+            }
+        }
+
+        private int skipBlanks(int i, int length) {
+            while (i < length && blank(buffer.get(i))) i++;
+            return i;
+        }
+
+        private IllegalArgumentException malformed(int line) {
+            return new IllegalArgumentException("Malformed edge list line at byte " + (offset + line)
+                    + " (expected \"source target [weight]\")");
+        }
+
+        private static boolean blank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        private static boolean separator(byte b) {
+            return b == '\n' || blank(b);
+        }
+    }
+
+    /**
+     * Dictionnaire d'un shard : les noms de toutes les tranches dont la clé tombe dans ce shard.
+     */
+    private static class Shard {
+        final Chunk[] chunks;
+        long[] tableKeys = new long[1024];
+        int[] table = new int[1024]; // n° + 1, 0 = case vide
+        int[] chunkOf = new int[512]; // première apparition : tranche et id local
+        int[] idOf = new int[512];
+        int size;
+
+        Shard(Chunk[] chunks) {
+            this.chunks = chunks;
+        }
+
+        /**
+         * @return n° du nom dans le shard, ou ~n° s'il n'avait pas encore été vu
+         */
+        int intern(int c, int id) {
+            Chunk chunk = chunks[c];
+            long key = chunk.keys[id];
+            int mask = table.length - 1;
+            int slot = (int) mix(key) & mask;
+            for (; table[slot] != 0; slot = (slot + 1) & mask) {
+                if (tableKeys[slot] != key) continue;
+                int entry = table[slot] - 1;
+                Chunk first = chunks[chunkOf[entry]];
+                int firstId = idOf[entry];
+                if ((key & LONG_NAME) != LONG_NAME || same(first, first.starts[firstId], first.lengths[firstId],
+                        chunk, chunk.starts[id], chunk.lengths[id])) {
+                    return entry;
+                }
+            }
+            if (size == chunkOf.length) {
+                chunkOf = Arrays.copyOf(chunkOf, size * 2);
+                idOf = Arrays.copyOf(idOf, size * 2);
+            }
+            int entry = size++;
+            chunkOf[entry] = c;
+            idOf[entry] = id;
+            tableKeys[slot] = key;
+            table[slot] = entry + 1;
+            if (size * 2 > table.length) rehash();
+            return ~entry;
+        }
+
+        private void rehash() {
+            tableKeys = new long[tableKeys.length * 2];
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                long key = chunks[chunkOf[entry]].keys[idOf[entry]];
+                int slot = (int) mix(key) & mask;
+                while (table[slot] != 0) slot = (slot + 1) & mask;
+                tableKeys[slot] = key;
+                table[slot] = entry + 1;
+            }
+        }
+    }
+
+    private static boolean same(Chunk a, int aStart, int aLength, Chunk b, int bStart, int bLength) {
+        if (aLength != bLength) return false;
+        for (int i = 0; i < aLength; i++) {
+            if (a.buffer.get(aStart + i) != b.buffer.get(bStart + i)) return false;
+        }
+        return true;
+    }
+
+    // Bits bas : case dans une table ; bits hauts : shard
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int shard(long key, int shards) {
+        return (int) ((mix(key) >>> 32) % shards);
+    }
+}
@@ -2,18 +2,26 @@ package org.theorygrapht.util;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.EdgeUpdate;
 import org.theorygrapht.model.Graph;
 import org.theorygrapht.model.GraphInput;
 import org.theorygrapht.model.Vertex;
+import org.theorygrapht.model.VertexIndex;
+import org.theorygrapht.model.storage.AdjacencyCursor;
+import org.theorygrapht.model.storage.BlockGraphStorage;
+import org.theorygrapht.model.storage.EdgeReader;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.model.storage.StorageKind;
 
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 public class GraphUtils {
+    private static volatile StorageKind defaultStorage = StorageKind.HEAP;
+
     public static Graph loadJson(String resourcePath) {
         try {
             ObjectMapper mapper = new ObjectMapper();
@@ -22,108 +30,207 @@ public class GraphUtils {
                 throw new IllegalStateException("Resource not found: " + resourcePath);
             }
 
-            TypeReference<Map<String, List<Map<String, Object>>>> typeRef = new TypeReference<>() {
+            TypeReference<Map<String, List<GraphInput.Neighbor>>> typeRef = new TypeReference<>() {
             };
-            Map<String, List<Map<String, Object>>> raw = mapper.readValue(is, typeRef);
-
-            // Create vertices
-            List<Vertex> vertices = new ArrayList<>();
-            for (String name : raw.keySet()) {
-                vertices.add(new Vertex(name));
-            }
-
-            // Also ensure vertices referenced only as targets are included
-            for (List<Map<String, Object>> neighbours : raw.values()) {
-                for (Map<String, Object> n : neighbours) {
-                    String name = (String) n.get("target");
-                    boolean exists = vertices.stream().anyMatch(v -> v.getName().equals(name));
-                    if (!exists) vertices.add(new Vertex(name));
-                }
-            }
-
-            // Map names to vertex instances
-            java.util.Map<String, Vertex> map = new java.util.HashMap<>();
-            for (Vertex v : vertices) map.put(v.getName(), v);
-
-            // Build edges
-            List<Edge> edges = new ArrayList<>();
-            for (Map.Entry<String, List<Map<String, Object>>> e : raw.entrySet()) {
-                String from = e.getKey();
-                Vertex vf = map.get(from);
-                for (Map<String, Object> nb : e.getValue()) {
-                    String target = (String) nb.get("target");
-                    int dist = ((Number) nb.get("distance")).intValue();
-                    Vertex vt = map.get(target);
-                    edges.add(new Edge(vf, vt, dist));
-                }
-            }
-
-            // Build adjacency list
-            Map<Vertex, List<Edge>> adjacencyList = new HashMap<>();
-            for (Vertex v : vertices) {
-                adjacencyList.put(v, new ArrayList<>());
-            }
-            for (Edge e : edges) {
-                adjacencyList.get(e.getSource()).add(e);
-                adjacencyList.get(e.getTarget()).add(e);
-            }
-
-            return new Graph(vertices.toArray(new Vertex[0]), edges.toArray(new Edge[0]), adjacencyList);
+            return fromMap(mapper.readValue(is, typeRef));
 
         } catch (Exception ex) {
             throw new RuntimeException("Failed to load graph from resource", ex);
         }
     }
 
-    public static Vertex searchVertex(Vertex[] vertices, String startingVertexName) {
-        for (Vertex v : vertices) {
-            if (v.getName().equalsIgnoreCase(startingVertexName)) {
-                return v;
-            }
+    /**
+     * Cherche un sommet par son nom (insensible à la casse) via l'index du graphe, en O(1).
+     *
+     * @throws IllegalArgumentException si aucun sommet ne porte ce nom
+     */
+    public static Vertex searchVertex(Graph graph, String startingVertexName) {
+        VertexIndex index = graph.getVertexIndex();
+        int id = index.indexOf(startingVertexName);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex not found : " + startingVertexName);
         }
-        throw new IllegalArgumentException("Vertex not found : " + startingVertexName);
+        return index.vertex(id);
     }
 
     public static List<Vertex> getNeighbors(Graph graph, Vertex vertex) {
         List<Vertex> neighbors = new ArrayList<>();
-        for (Edge e : graph.getAdjacencyList().get(vertex)) {
-            Vertex neighbor = e.getSource().equals(vertex) ? e.getTarget() : e.getSource();
-            neighbors.add(neighbor);
+        AdjacencyCursor cursor = graph.getStorage().cursor();
+        cursor.reset(vertex.getId());
+        while (cursor.next()) {
+            neighbors.add(graph.getVertexIndex().vertex(cursor.target()));
         }
         return neighbors;
     }
 
+    public static StorageKind getDefaultStorage() {
+        return defaultStorage;
+    }
+
+    public static void setDefaultStorage(StorageKind kind) {
+        defaultStorage = kind;
+    }
+
     public static Graph fromMap(Map<String, List<GraphInput.Neighbor>> data) {
-        List<Vertex> vertices = new ArrayList<>();
-        List<Edge> edges = new ArrayList<>();
-        Map<String, Vertex> vertexMap = new HashMap<>();
+        return fromMap(data, defaultStorage, true);
+    }
+
+    public static Graph fromMap(Map<String, List<GraphInput.Neighbor>> data, boolean directed) {
+        return fromMap(data, defaultStorage, directed);
+    }
+
+    public static Graph fromMap(Map<String, List<GraphInput.Neighbor>> data, StorageKind kind) {
+        return fromMap(data, kind, true);
+    }
+
+    /**
+     * @param directed false : graphe non orienté, où chaque arête listée dans les deux sens
+     *                 (comme le fait le front) n'est gardée qu'une fois, dans le sens rencontré en premier
+     */
+    public static Graph fromMap(Map<String, List<GraphInput.Neighbor>> data, StorageKind kind, boolean directed) {
+        VertexIndex index = new VertexIndex(data.size());
+        int edgeCount = 0;
 
         // Création des sommets
-        for (String name : data.keySet()) {
-            Vertex v = new Vertex(name);
-            vertices.add(v);
-            vertexMap.put(name, v);
+        for (var entry : data.entrySet()) {
+            index.intern(entry.getKey());
+            edgeCount += entry.getValue().size();
         }
 
-        // Création des arêtes
+        // Création des arêtes (les sommets cités seulement comme cible sont créés au passage)
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int e = 0;
         for (var entry : data.entrySet()) {
-            Vertex source = vertexMap.get(entry.getKey());
+            int source = index.intern(entry.getKey());
             for (GraphInput.Neighbor neighbor : entry.getValue()) {
-                Vertex target = vertexMap.get(neighbor.getTarget());
-                int distance = neighbor.getDistance();
-                edges.add(new Edge(source, target, distance));
+                sources[e] = source;
+                targets[e] = index.intern(neighbor.getTarget());
+                weights[e] = neighbor.getDistance();
+                e++;
+            }
+        }
+
+        if (!directed) edgeCount = mergeMirrored(index.size(), edgeCount, sources, targets, weights);
+
+        // Topologie (listes d'incidence) et poids : sur le tas, hors tas ou compressés
+        return new Graph(index, kind.build(index.size(), edgeCount, sources, targets, weights), directed);
+    }
+
+    /**
+     * Version suivante d'un graphe : seules les pages d'arêtes et les blocs de sommets touchés sont copiés,
+     * le reste est partagé avec {@code graph}, qui ne change pas (voir {@link BlockGraphStorage}).
+     * Les sommets inconnus sont créés ; retirer une arête renumérote la dernière à sa place.
+     * Les blocs partagés sont sur le tas : un graphe hors tas ou compressé garde son mode de stockage,
+     * au prix d'une reconstruction complète à chaque modification.
+     *
+     * @throws IllegalArgumentException si une arête à retirer n'existe pas
+     */
+    public static Graph update(Graph graph, List<EdgeUpdate> updates) {
+        BlockGraphStorage.Editor editor = BlockGraphStorage.copyOf(graph.getStorage()).edit();
+        VertexIndex index = graph.getVertexIndex();
+        boolean copied = false;
+        boolean either = !graph.isDirected();
+        for (EdgeUpdate update : updates) {
+            int source = index.indexOf(update.getSource());
+            int target = index.indexOf(update.getTarget());
+            if (update.getDistance() == null) {
+                int edge = source < 0 || target < 0 ? -1 : editor.findEdge(source, target, either);
+                if (edge < 0) {
+                    throw new IllegalArgumentException("Edge not found : " + update.getSource() + " -> " + update.getTarget());
+                }
+                editor.removeEdge(edge);
+                continue;
+            }
+            if (source < 0 || target < 0) {
+                // L'index de la version courante reste intact : les nouveaux sommets vont dans une copie
+                if (!copied) {
+                    index = index.copy();
+                    copied = true;
+                }
+                if (source < 0) source = addVertex(index, editor, update.getSource());
+                if (target < 0) target = addVertex(index, editor, update.getTarget());
             }
+            int edge = editor.findEdge(source, target, either);
+            if (edge >= 0) editor.setWeight(edge, update.getDistance());
+            else editor.addEdge(source, target, update.getDistance());
         }
+        StorageKind kind = graph.getStorage().kind();
+        GraphStorage next = editor.build();
+        if (kind != StorageKind.HEAP) next = rebuild(next, kind);
+        return new Graph(index, next, graph.isDirected());
+    }
 
-        // Construction de la liste d’adjacence
-        Map<Vertex, List<Edge>> adjacencyList = new HashMap<>();
-        for (Edge e : edges) {
-            adjacencyList.computeIfAbsent(e.getSource(), k -> new ArrayList<>()).add(e);
-            adjacencyList.computeIfAbsent(e.getTarget(), k -> new ArrayList<>()).add(e);
+    private static GraphStorage rebuild(GraphStorage storage, StorageKind kind) {
+        int n = storage.vertexCount();
+        int m = storage.edgeCount();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        EdgeReader edges = storage.edgeReader();
+        for (int e = 0; e < m; e++) {
+            sources[e] = edges.source(e);
+            targets[e] = edges.target(e);
+            weights[e] = edges.weight(e);
         }
+        return kind.build(n, m, sources, targets, weights);
+    }
 
-        return new Graph(vertices.toArray(new Vertex[0]), edges.toArray(new Edge[0]), adjacencyList);
+    private static int addVertex(VertexIndex index, BlockGraphStorage.Editor editor, String name) {
+        int id = index.indexOf(name); // source et cible peuvent être le même nouveau sommet
+        if (id >= 0) return id;
+        editor.addVertex();
+        return index.intern(name);
     }
-}
 
+    /**
+     * Fusionne les arêtes miroirs (u -> v et v -> u de même poids) en une seule, la première rencontrée.
+     * Les arêtes sont regroupées par plus petite extrémité (tri par comptage), puis par autre extrémité ;
+     * dans chaque groupe, chaque arête s'apparie à une arête précédente de sens opposé encore libre.
+     * Les arêtes gardées sont tassées au début des tableaux, dans leur ordre d'origine.
+     *
+     * @return nombre d'arêtes gardées
+     */
+    static int mergeMirrored(int vertexCount, int edgeCount, int[] sources, int[] targets, int[] weights) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) offsets[Math.min(sources[e], targets[e]) + 1]++;
+        for (int v = 0; v < vertexCount; v++) offsets[v + 1] += offsets[v];
+
+        // (autre extrémité << 32 | id) : trier un groupe le range par extrémité puis par ordre d'arrivée
+        long[] keys = new long[edgeCount];
+        int[] fill = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int low = Math.min(sources[e], targets[e]);
+            keys[fill[low]++] = (long) Math.max(sources[e], targets[e]) << 32 | e;
+        }
 
+        boolean[] dropped = new boolean[edgeCount];
+        boolean[] paired = new boolean[edgeCount];
+        for (int v = 0; v < vertexCount; v++) {
+            Arrays.sort(keys, offsets[v], offsets[v + 1]);
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int e = (int) keys[i];
+                for (int j = i - 1; j >= offsets[v] && keys[j] >>> 32 == keys[i] >>> 32; j--) {
+                    int mirror = (int) keys[j];
+                    if (!dropped[mirror] && !paired[mirror] && weights[mirror] == weights[e]
+                            && sources[mirror] == targets[e] && targets[mirror] == sources[e]) {
+                        paired[mirror] = true;
+                        dropped[e] = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        int kept = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (dropped[e]) continue;
+            sources[kept] = sources[e];
+            targets[kept] = targets[e];
+            weights[kept] = weights[e];
+            kept++;
+        }
+        return kept;
+    }
+}
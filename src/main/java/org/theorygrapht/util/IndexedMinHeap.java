@@ -0,0 +1,88 @@
+package org.theorygrapht.util;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire d'ids de sommets (0..n-1) ordonné par une clé entière, avec diminution de clé en O(log n).
+ * Remplace le couple remove/add d'une PriorityQueue, qui coûte O(n) par mise à jour.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position; // -1 = absent
+    private final int[] keys;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    /**
+     * Ajoute l'id avec cette clé, ou diminue sa clé s'il est déjà dans le tas.
+     */
+    public void push(int id, int key) {
+        if (position[id] < 0) {
+            keys[id] = key;
+            heap[size] = id;
+            position[id] = size;
+            siftUp(size++);
+        } else if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(position[id]);
+        }
+    }
+
+    public int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int other = heap[parent];
+            if (keys[other] <= key) break;
+            heap[i] = other;
+            position[other] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            if (key <= keys[heap[child]]) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
@@ -0,0 +1,67 @@
+package org.theorygrapht.util;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire de valeurs long, sans objet par élément.
+ * Sert à trier paresseusement des paires (clé, id) encodées dans un seul long.
+ */
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 8)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void push(long value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    public long poll() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) heap[i] = last;
+        return top;
+    }
+
+    /**
+     * Encode (clé, id) pour que l'ordre des long suive la clé, puis l'id en cas d'égalité.
+     */
+    public static long pack(int key, int id) {
+        return ((long) key << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    public static int key(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int id(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,16 @@
+package org.theorygrapht.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.theorygrapht.model.storage.StorageKind;
+
+/**
+ * Choix du stockage des graphes : theorygrapht.storage=heap (défaut), off-heap ou compressed.
+ */
+@Configuration
+public class StorageConfig {
+
+    public StorageConfig(@Value("${theorygrapht.storage:heap}") String storage) {
+        GraphUtils.setDefaultStorage(StorageKind.valueOf(storage.toUpperCase().replace('-', '_')));
+    }
+}
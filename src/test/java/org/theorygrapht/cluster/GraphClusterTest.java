@@ -0,0 +1,125 @@
+package org.theorygrapht.cluster;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.theorygrapht.generator.GraphFamily;
+import org.theorygrapht.generator.GraphGenerators;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.storage.StorageKind;
+import org.theorygrapht.service.BFS;
+import org.theorygrapht.service.BellmanFord;
+import org.theorygrapht.service.Dijkstra;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Le cluster, avec trois workers locaux, rend les mêmes résultats que les services séquentiels :
+ * le même BFS, des chemins de même coût pour Dijkstra et Bellman–Ford.
+ * Les graphes sont simples : avec des arêtes multiples, les services locaux reconstruisent le chemin avec
+ * le premier arc entre deux sommets et non le moins cher, et le cluster peut rendre un chemin de moindre coût.
+ */
+class GraphClusterTest {
+
+    private static GraphCluster cluster;
+
+    @BeforeAll
+    static void launch() throws IOException {
+        cluster = GraphCluster.launch(3, Partitioning.EDGE_CUT, List.of("-Xmx64m"), 1);
+    }
+
+    @AfterAll
+    static void close() throws IOException {
+        cluster.close();
+    }
+
+    private static List<String> names(List<Edge> edges) {
+        return edges.stream()
+                .map(edge -> edge.getSource().getName() + "-" + edge.getTarget().getName() + ":" + edge.getWeight())
+                .toList();
+    }
+
+    private static long cost(List<Edge> path) {
+        return path.stream().mapToLong(Edge::getWeight).sum();
+    }
+
+    // Bellman–Ford met bout à bout les chemins depuis la source : coût de chaque chemin, par sommet d'arrivée
+    private static Map<String, Long> pathCosts(List<Edge> paths, String start) {
+        Map<String, Long> costs = new HashMap<>();
+        long cost = 0;
+        for (Edge edge : paths) {
+            if (edge.getSource().getName().equals(start)) cost = 0;
+            cost += edge.getWeight();
+            costs.put(edge.getTarget().getName(), cost);
+        }
+        return costs;
+    }
+
+    // Le générateur peut tirer deux fois le même arc : on garde le premier
+    private static Map<String, List<GraphInput.Neighbor>> withoutParallelArcs(
+            Map<String, List<GraphInput.Neighbor>> data) {
+        Map<String, List<GraphInput.Neighbor>> simple = new LinkedHashMap<>();
+        data.forEach((source, neighbors) -> {
+            Set<String> seen = new HashSet<>();
+            simple.put(source, neighbors.stream().filter(neighbor -> seen.add(neighbor.getTarget())).toList());
+        });
+        return simple;
+    }
+
+    @Test
+    void bfsMatchesTheSequentialOrder() {
+        for (GraphFamily family : List.of(GraphFamily.ROAD, GraphFamily.ERDOS_RENYI)) {
+            Graph graph = GraphGenerators.toGraph(family, 400, 7, StorageKind.HEAP, false);
+            String start = GraphGenerators.vertexName(0);
+            List<String> expected = names(BFS.getBFS(graph, start));
+            assertEquals(expected, names(cluster.bfs(graph, start, false)), family.name());
+            // Deux fois sur le graphe gardé chargé : la seconde réutilise les parties des workers
+            assertEquals(expected, names(cluster.bfs(graph, start, true)), family.name());
+            assertEquals(expected, names(cluster.bfs(graph, start, true)), family.name());
+        }
+    }
+
+    @Test
+    void dijkstraFindsPathsOfTheSameCost() {
+        Graph graph = GraphGenerators.toGraph(GraphFamily.RANDOM_GEOMETRIC, 400, 11, StorageKind.HEAP, false);
+        String start = GraphGenerators.vertexName(0);
+        for (int end = 1; end < graph.vertexCount(); end += 37) {
+            String endName = GraphGenerators.vertexName(end);
+            List<Edge> expected = Dijkstra.getDijkstra(graph, start, endName);
+            List<Edge> actual = cluster.dijkstra(graph, start, endName, end % 2 == 0);
+            assertEquals(cost(expected), cost(actual), endName);
+            if (!actual.isEmpty()) {
+                assertEquals(start, actual.get(0).getSource().getName());
+                assertEquals(endName, actual.get(actual.size() - 1).getTarget().getName());
+            }
+        }
+    }
+
+    @Test
+    void bellmanFordMatchesWithNegativeWeights() {
+        Graph graph = GraphUtils.fromMap(withoutParallelArcs(
+                GraphGenerators.toAdjacency(GraphFamily.NEGATIVE_DAG, 300, 3)), true);
+        for (int source : new int[]{0, 17, 150}) {
+            String start = GraphGenerators.vertexName(source);
+            Map<String, Long> expected = pathCosts(BellmanFord.getBellmanFordPath(graph, start), start);
+            assertEquals(expected, pathCosts(cluster.bellmanFord(graph, start, false), start), start);
+            assertEquals(expected, pathCosts(cluster.bellmanFord(graph, start, true), start), start);
+        }
+
+        Graph undirected = GraphGenerators.toGraph(GraphFamily.ROAD, 400, 5, StorageKind.HEAP, false);
+        String start = GraphGenerators.vertexName(0);
+        assertEquals(pathCosts(BellmanFord.getBellmanFordPath(undirected, start), start),
+                pathCosts(cluster.bellmanFord(undirected, start, false), start));
+    }
+}
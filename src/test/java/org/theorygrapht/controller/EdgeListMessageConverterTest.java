@@ -0,0 +1,136 @@
+package org.theorygrapht.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.theorygrapht.admission.AdmissionControl;
+import org.theorygrapht.metrics.GraphRequestMetrics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Le format binaire des listes d'arêtes n'est servi que sur demande : disposition des octets,
+ * JSON par défaut, 406 pour une réponse qui n'est pas une liste d'arêtes, même contenu dans les deux formats.
+ */
+@WebMvcTest(GraphController.class)
+@Import({GraphRequestMetrics.class, AdmissionControl.class})
+class EdgeListMessageConverterTest {
+
+    // A -> B, A -> C, B -> D ; le BFS depuis A rend ces trois arêtes dans cet ordre
+    private static final String GRAPH = """
+            {"A": [{"target": "B", "distance": 4}, {"target": "C", "distance": 2}],
+             "B": [{"target": "D", "distance": 7}],
+             "C": [],
+             "D": []}
+            """;
+
+    @TestConfiguration
+    static class Registry {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private MvcResult bfs(MediaType... accept) throws Exception {
+        var request = post("/bfs").param("startingVertexName", "A")
+                .contentType(MediaType.APPLICATION_JSON).content(GRAPH);
+        if (accept.length > 0) request.accept(accept);
+        return mvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+
+    // Relit le format binaire en triplets "source-cible:poids"
+    private static List<String> decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        List<String> names = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        List<String> edges = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            edges.add(names.get(buffer.getInt()) + "-" + names.get(buffer.getInt()) + ":" + buffer.getInt());
+        }
+        assertEquals(0, buffer.remaining());
+        return edges;
+    }
+
+    private List<String> decodeJson(String body) throws Exception {
+        List<String> edges = new ArrayList<>();
+        for (JsonNode edge : mapper.readTree(body)) {
+            edges.add(edge.get("source").get("name").asText() + "-" + edge.get("target").get("name").asText()
+                    + ":" + edge.get("weight").asInt());
+        }
+        return edges;
+    }
+
+    @Test
+    void writesTheDocumentedByteLayout() throws Exception {
+        MvcResult result = bfs(EdgeListMessageConverter.MEDIA_TYPE);
+        assertEquals(EdgeListMessageConverter.MEDIA_TYPE_VALUE, result.getResponse().getContentType());
+
+        ByteBuffer expected = ByteBuffer.allocate(4 + 4 * (4 + 1) + 4 + 3 * 12);
+        expected.putInt(4);
+        for (String name : List.of("A", "B", "C", "D")) {
+            expected.putInt(1);
+            expected.put(name.getBytes(StandardCharsets.UTF_8));
+        }
+        expected.putInt(3);
+        expected.putInt(0).putInt(1).putInt(4);
+        expected.putInt(0).putInt(2).putInt(2);
+        expected.putInt(1).putInt(3).putInt(7);
+        assertEquals(List.of("A-B:4", "A-C:2", "B-D:7"), decode(expected.array()));
+        assertEquals(ByteBuffer.wrap(expected.array()), ByteBuffer.wrap(result.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        for (MvcResult result : List.of(bfs(), bfs(MediaType.ALL),
+                bfs(MediaType.APPLICATION_JSON, EdgeListMessageConverter.MEDIA_TYPE))) {
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, result.getResponse().getContentType());
+        }
+    }
+
+    @Test
+    void otherResponsesAreNotAcceptable() throws Exception {
+        mvc.perform(post("/components").contentType(MediaType.APPLICATION_JSON).content(GRAPH)
+                        .accept(EdgeListMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isNotAcceptable());
+        mvc.perform(post("/components").contentType(MediaType.APPLICATION_JSON).content(GRAPH))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void bothFormatsCarryTheSameEdges() throws Exception {
+        List<String> json = decodeJson(bfs(MediaType.APPLICATION_JSON).getResponse().getContentAsString());
+        List<String> binary = decode(bfs(EdgeListMessageConverter.MEDIA_TYPE).getResponse().getContentAsByteArray());
+        assertEquals(List.of("A-B:4", "A-C:2", "B-D:7"), json);
+        assertEquals(json, binary);
+    }
+}
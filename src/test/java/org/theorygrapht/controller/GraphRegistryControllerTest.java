@@ -0,0 +1,107 @@
+package org.theorygrapht.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.theorygrapht.admission.AdmissionControl;
+import org.theorygrapht.metrics.GraphRequestMetrics;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.store.GraphRegistry;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Import de listes d'arêtes : corps limité en taille, fichiers du serveur limités à theorygrapht.import.dir,
+ * lecture soumise au contrôle d'admission.
+ */
+@WebMvcTest(GraphRegistryController.class)
+@Import({GraphRegistry.class, GraphRequestMetrics.class, AdmissionControl.class})
+class GraphRegistryControllerTest {
+
+    private static final String EDGES = "a b 3\nb c 4\nc a 5\n";
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        Files.createDirectories(directory.resolve("imports"));
+        Files.writeString(directory.resolve("imports/triangle.txt"), EDGES);
+        Files.writeString(directory.resolve("outside.txt"), EDGES);
+        registry.add("theorygrapht.import.dir", () -> directory.resolve("imports").toString());
+        registry.add("theorygrapht.import.max-size", () -> "64B");
+        registry.add("theorygrapht.admission.budget", () -> "1");
+        registry.add("theorygrapht.admission.max-wait", () -> "50ms");
+    }
+
+    @TestConfiguration
+    static class Registry {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AdmissionControl admission;
+
+    @Test
+    void importsABody() throws Exception {
+        mvc.perform(post("/graphs/triangle/import").param("directed", "false")
+                        .contentType(MediaType.TEXT_PLAIN).content(EDGES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vertices").value(3))
+                .andExpect(jsonPath("$.edges").value(3))
+                .andExpect(jsonPath("$.bytes").value(EDGES.length()));
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimit() throws Exception {
+        mvc.perform(post("/graphs/big/import").contentType(MediaType.TEXT_PLAIN).content(EDGES.repeat(10)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void importsServerFilesOnlyFromTheImportDirectory() throws Exception {
+        mvc.perform(post("/graphs/triangle/import").param("path", "triangle.txt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.edges").value(3));
+        mvc.perform(post("/graphs/outside/import").param("path", "../outside.txt"))
+                .andExpect(status().isNotFound());
+        mvc.perform(post("/graphs/missing/import").param("path", "missing.txt"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void importWaitsForComputeBudget() throws Exception {
+        Graph graph = GraphUtils.fromMap(Map.of(), true);
+        // Le seul permis du budget est pris : l'import attend max-wait puis est refusé
+        try (AdmissionControl.Permit permit = admission.admit("/graphs/{name}/bfs", graph)) {
+            mvc.perform(post("/graphs/triangle/import").contentType(MediaType.TEXT_PLAIN).content(EDGES))
+                    .andExpect(status().isTooManyRequests());
+        }
+        mvc.perform(post("/graphs/triangle/import").contentType(MediaType.TEXT_PLAIN).content(EDGES))
+                .andExpect(status().isOk());
+    }
+}
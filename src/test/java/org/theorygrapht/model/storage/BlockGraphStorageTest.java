@@ -0,0 +1,219 @@
+package org.theorygrapht.model.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Copie à l'écriture de {@link BlockGraphStorage} : retirer une arête donne son id à la dernière,
+ * dans la table des arêtes comme dans les listes d'incidence (gardées dans l'ordre des arêtes),
+ * sans toucher la version précédente.
+ */
+class BlockGraphStorageTest {
+
+    private static BlockGraphStorage storage(int n, int[]... edges) {
+        int m = edges.length;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = edges[e][0];
+            targets[e] = edges[e][1];
+            weights[e] = edges[e][2];
+        }
+        return BlockGraphStorage.copyOf(StorageKind.HEAP.build(n, m, sources, targets, weights));
+    }
+
+    /**
+     * Chaque arête apparaît une fois sortante chez sa source et une fois entrante chez sa cible,
+     * avec son id et son poids courants.
+     */
+    private static void assertIncidenceMatchesEdges(GraphStorage storage) {
+        int[] outgoing = new int[storage.edgeCount()];
+        int[] incoming = new int[storage.edgeCount()];
+        AdjacencyCursor cursor = storage.cursor();
+        for (int v = 0; v < storage.vertexCount(); v++) {
+            int degree = 0;
+            cursor.reset(v);
+            while (cursor.next()) {
+                int e = cursor.edge();
+                degree++;
+                assertEquals(storage.weight(e), cursor.weight());
+                if (cursor.outgoing()) {
+                    outgoing[e]++;
+                    assertEquals(v, storage.source(e));
+                    assertEquals(storage.target(e), cursor.target());
+                } else {
+                    incoming[e]++;
+                    assertEquals(v, storage.target(e));
+                    assertEquals(storage.source(e), cursor.target());
+                }
+            }
+            assertEquals(degree, storage.degree(v));
+        }
+        for (int e = 0; e < storage.edgeCount(); e++) {
+            assertEquals(1, outgoing[e], "outgoing arcs of edge " + e);
+            assertEquals(1, incoming[e], "incoming arcs of edge " + e);
+        }
+    }
+
+    /**
+     * Mêmes listes d'incidence, dans le même ordre, qu'un CSR reconstruit à partir des mêmes arêtes.
+     */
+    private static void assertSameIncidenceAsCsr(GraphStorage storage) {
+        int m = storage.edgeCount();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = storage.source(e);
+            targets[e] = storage.target(e);
+            weights[e] = storage.weight(e);
+        }
+        GraphStorage csr = StorageKind.HEAP.build(storage.vertexCount(), m, sources, targets, weights);
+        AdjacencyCursor expected = csr.cursor();
+        AdjacencyCursor actual = storage.cursor();
+        for (int v = 0; v < storage.vertexCount(); v++) {
+            expected.reset(v);
+            actual.reset(v);
+            while (expected.next()) {
+                assertTrue(actual.next(), "missing arc at vertex " + v);
+                assertEquals(expected.edge(), actual.edge(), "arc order at vertex " + v);
+                assertEquals(expected.outgoing(), actual.outgoing(), "arc direction at vertex " + v);
+                assertEquals(expected.target(), actual.target());
+            }
+            assertFalse(actual.next(), "extra arc at vertex " + v);
+        }
+    }
+
+    private static void assertEdges(List<int[]> expected, GraphStorage storage) {
+        assertEquals(expected.size(), storage.edgeCount());
+        for (int e = 0; e < expected.size(); e++) {
+            assertEquals(expected.get(e)[0], storage.source(e), "source of " + e);
+            assertEquals(expected.get(e)[1], storage.target(e), "target of " + e);
+            assertEquals(expected.get(e)[2], storage.weight(e), "weight of " + e);
+        }
+    }
+
+    @Test
+    void lastEdgeTakesTheRemovedId() {
+        BlockGraphStorage base = storage(4, new int[]{0, 1, 5}, new int[]{1, 2, 6}, new int[]{2, 3, 7}, new int[]{3, 0, 8});
+        BlockGraphStorage.Editor editor = base.edit();
+        editor.removeEdge(1);
+        BlockGraphStorage next = editor.build();
+
+        assertEdges(List.of(new int[]{0, 1, 5}, new int[]{3, 0, 8}, new int[]{2, 3, 7}), next);
+        assertIncidenceMatchesEdges(next);
+        assertSameIncidenceAsCsr(next);
+        assertEquals(1, next.degree(1));
+        assertEquals(1, next.degree(2));
+        // La version précédente ne change pas
+        assertEdges(List.of(new int[]{0, 1, 5}, new int[]{1, 2, 6}, new int[]{2, 3, 7}, new int[]{3, 0, 8}), base);
+        assertIncidenceMatchesEdges(base);
+    }
+
+    /**
+     * L'arête renumérotée reprend sa place dans l'ordre des arêtes chez ses extrémités :
+     * sommet 0 incident aux arêtes 0, 1 et 3, l'arête 3 devient 1 en remplaçant l'arête retirée.
+     */
+    @Test
+    void renamedArcMovesToItsSortedPosition() {
+        BlockGraphStorage base = storage(3,
+                new int[]{0, 1, 1}, new int[]{2, 0, 2}, new int[]{0, 2, 3}, new int[]{0, 0, 4});
+        BlockGraphStorage.Editor editor = base.edit();
+        editor.removeEdge(1);
+        BlockGraphStorage next = editor.build();
+
+        AdjacencyCursor cursor = next.cursor();
+        cursor.reset(0);
+        int[] order = new int[next.degree(0)];
+        for (int k = 0; cursor.next(); k++) order[k] = cursor.edge() << 1 | (cursor.outgoing() ? 0 : 1);
+        // arête 0 sortante, boucle 1 sortante puis entrante, arête 2 sortante
+        assertArrayEquals(new int[]{0, 2, 3, 4}, order);
+        assertSameIncidenceAsCsr(next);
+    }
+
+    @Test
+    void removingTheLastEdgeRenumbersNothing() {
+        BlockGraphStorage base = storage(3, new int[]{0, 1, 1}, new int[]{1, 2, 2});
+        BlockGraphStorage.Editor editor = base.edit();
+        editor.removeEdge(1);
+        editor.removeEdge(0);
+        BlockGraphStorage next = editor.build();
+        assertEquals(0, next.edgeCount());
+        assertIncidenceMatchesEdges(next);
+        assertEquals(2, base.edgeCount());
+    }
+
+    @Test
+    void renamedEdgeIsFoundUnderItsNewId() {
+        BlockGraphStorage base = storage(3, new int[]{0, 1, 1}, new int[]{1, 2, 2}, new int[]{2, 0, 3});
+        BlockGraphStorage.Editor editor = base.edit();
+        editor.removeEdge(0);
+        assertEquals(0, editor.findEdge(2, 0, false));
+        editor.setWeight(0, 9);
+        BlockGraphStorage next = editor.build();
+        assertEdges(List.of(new int[]{2, 0, 9}, new int[]{1, 2, 2}), next);
+        assertIncidenceMatchesEdges(next);
+    }
+
+    /**
+     * Suites d'ajouts, de changements de poids et de retraits sur plusieurs pages d'arêtes et blocs de sommets,
+     * comparées à une liste où retirer l'arête e y range la dernière.
+     */
+    @Test
+    void matchesSwapRemoveModel() {
+        SplittableRandom random = new SplittableRandom(44);
+        int n = 3000;
+        List<int[]> model = new ArrayList<>();
+        for (int e = 0; e < 10_000; e++) model.add(new int[]{random.nextInt(n), random.nextInt(n), random.nextInt(100)});
+        BlockGraphStorage current = storage(n, model.toArray(new int[0][]));
+
+        List<BlockGraphStorage> versions = new ArrayList<>();
+        List<List<int[]>> snapshots = new ArrayList<>();
+        for (int round = 0; round < 20; round++) {
+            versions.add(current);
+            snapshots.add(copy(model));
+            BlockGraphStorage.Editor editor = current.edit();
+            for (int k = 0; k < 300; k++) {
+                int op = random.nextInt(3);
+                if (op == 0 && !model.isEmpty()) {
+                    int e = random.nextInt(model.size());
+                    editor.removeEdge(e);
+                    model.set(e, model.get(model.size() - 1));
+                    model.remove(model.size() - 1);
+                } else if (op == 1 && !model.isEmpty()) {
+                    int e = random.nextInt(model.size());
+                    int weight = random.nextInt(100);
+                    editor.setWeight(e, weight);
+                    model.get(e)[2] = weight;
+                } else {
+                    int[] edge = {random.nextInt(n), random.nextInt(n), random.nextInt(100)};
+                    assertEquals(model.size(), editor.addEdge(edge[0], edge[1], edge[2]));
+                    model.add(edge);
+                }
+            }
+            current = editor.build();
+            assertEdges(model, current);
+            assertIncidenceMatchesEdges(current);
+            assertSameIncidenceAsCsr(current);
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            assertEdges(snapshots.get(i), versions.get(i));
+        }
+        assertTrue(current.edgeCount() > 0);
+    }
+
+    private static List<int[]> copy(List<int[]> edges) {
+        List<int[]> copy = new ArrayList<>();
+        for (int[] edge : edges) copy.add(edge.clone());
+        return copy;
+    }
+}
@@ -0,0 +1,48 @@
+package org.theorygrapht.model.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Table des arêtes du stockage compressé : mêmes source, cible et poids que le CSR, lus directement
+ * ou par un {@link EdgeReader}, dans l'ordre des ids comme au hasard.
+ */
+class CompressedGraphStorageTest {
+
+    @Test
+    void edgeReaderMatchesCsr() {
+        SplittableRandom random = new SplittableRandom(32);
+        int n = 500;
+        int m = 5_000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            // Quelques sommets de fort degré : listes de plusieurs blocs
+            sources[e] = random.nextInt(4) == 0 ? random.nextInt(3) : random.nextInt(n);
+            targets[e] = random.nextInt(n);
+            weights[e] = random.nextInt(-50, 1000);
+        }
+        GraphStorage csr = StorageKind.HEAP.build(n, m, sources, targets, weights);
+        GraphStorage compressed = StorageKind.COMPRESSED.build(n, m, sources, targets, weights);
+
+        EdgeReader inOrder = compressed.edgeReader();
+        for (int e = 0; e < m; e++) {
+            assertEquals(csr.source(e), inOrder.source(e));
+            assertEquals(csr.target(e), inOrder.target(e));
+            assertEquals(csr.weight(e), inOrder.weight(e));
+        }
+        EdgeReader atRandom = compressed.edgeReader();
+        for (int k = 0; k < 20_000; k++) {
+            int e = random.nextInt(m);
+            assertEquals(csr.source(e), atRandom.source(e));
+            assertEquals(csr.target(e), atRandom.target(e));
+            assertEquals(csr.weight(e), atRandom.weight(e));
+            assertEquals(csr.weight(e), compressed.weight(e));
+            assertEquals(csr.target(e), compressed.target(e));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.theorygrapht.service;
+
+import org.junit.jupiter.api.Test;
+import org.theorygrapht.model.BetweennessResult;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Le calcul exact (Brandes) donne la même centralité qu'un décompte naïf sur tous les couples de sommets,
+ * pondéré ou non, orienté ou non ; le mode échantillonné annonce sa borne d'erreur et la respecte.
+ */
+class BetweennessTest {
+
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    private static GraphInput.Neighbor neighbor(String target, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(target);
+        neighbor.setDistance(distance);
+        return neighbor;
+    }
+
+    private record RandomGraph(Graph graph, int n, List<int[]> arcs) {
+    }
+
+    // Graphe simple aléatoire ; arcs {u, v, poids}, dans les deux sens s'il n'est pas orienté
+    private static RandomGraph randomGraph(long seed, boolean directed, boolean weighted) {
+        Random random = new Random(seed);
+        int n = 8 + random.nextInt(25);
+        int m = n + random.nextInt(2 * n);
+        Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+        for (int v = 0; v < n; v++) data.put("v" + v, new ArrayList<>());
+        List<int[]> arcs = new ArrayList<>();
+        Set<String> pairs = new HashSet<>();
+        for (int e = 0; e < m; e++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u == v || !pairs.add(directed ? u + ">" + v : Math.min(u, v) + "-" + Math.max(u, v))) continue;
+            int weight = weighted ? 1 + random.nextInt(4) : 1;
+            data.get("v" + u).add(neighbor("v" + v, weight));
+            arcs.add(new int[]{u, v, weight});
+            if (!directed) {
+                data.get("v" + v).add(neighbor("v" + u, weight));
+                arcs.add(new int[]{v, u, weight});
+            }
+        }
+        return new RandomGraph(GraphUtils.fromMap(data, directed), n, arcs);
+    }
+
+    /**
+     * Somme sur les couples (s, t) de la part des plus courts chemins de s à t qui passent par v :
+     * distances par Floyd–Warshall, nombre de plus courts chemins de proche en proche.
+     */
+    private static double[] naive(RandomGraph g, boolean directed) {
+        int n = g.n();
+        long[][] dist = new long[n][n];
+        for (long[] row : dist) Arrays.fill(row, INFINITY);
+        for (int v = 0; v < n; v++) dist[v][v] = 0;
+        for (int[] arc : g.arcs()) dist[arc[0]][arc[1]] = Math.min(dist[arc[0]][arc[1]], arc[2]);
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) dist[i][j] = Math.min(dist[i][j], dist[i][k] + dist[k][j]);
+            }
+        }
+
+        double[][] sigma = new double[n][n];
+        for (int s = 0; s < n; s++) {
+            int source = s;
+            sigma[s][s] = 1;
+            Integer[] byDistance = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+            Arrays.sort(byDistance, Comparator.comparingLong(v -> dist[source][v]));
+            for (int t : byDistance) {
+                if (t == s || dist[s][t] >= INFINITY) continue;
+                for (int[] arc : g.arcs()) {
+                    if (arc[1] == t && dist[s][arc[0]] + arc[2] == dist[s][t]) sigma[s][t] += sigma[s][arc[0]];
+                }
+            }
+        }
+
+        double[] centrality = new double[n];
+        for (int s = 0; s < n; s++) {
+            for (int t = 0; t < n; t++) {
+                if (s == t || dist[s][t] >= INFINITY) continue;
+                for (int v = 0; v < n; v++) {
+                    if (v == s || v == t || dist[s][v] + dist[v][t] != dist[s][t]) continue;
+                    centrality[v] += sigma[s][v] * sigma[v][t] / sigma[s][t];
+                }
+            }
+        }
+        // Non orienté : chaque paire a été comptée dans les deux sens
+        if (!directed) for (int v = 0; v < n; v++) centrality[v] /= 2;
+        return centrality;
+    }
+
+    private static void checkExact(boolean directed, boolean weighted) {
+        for (int seed = 0; seed < 30; seed++) {
+            RandomGraph g = randomGraph(seed, directed, weighted);
+            double[] expected = naive(g, directed);
+            BetweennessResult result = Betweenness.getBetweenness(g.graph(), null, 0, null);
+            assertTrue(result.isExact());
+            assertNull(result.getErrorBound());
+            assertEquals(weighted ? "DIJKSTRA" : "BFS", result.getEngine());
+            for (int v = 0; v < g.n(); v++) {
+                assertEquals(expected[v], result.getScores().get("v" + v), 1e-9, "seed " + seed + " v" + v);
+            }
+        }
+    }
+
+    @Test
+    void exactMatchesNaiveCountOnDirectedGraphs() {
+        checkExact(true, false);
+        checkExact(true, true);
+    }
+
+    @Test
+    void exactMatchesNaiveCountOnUndirectedGraphs() {
+        checkExact(false, false);
+        checkExact(false, true);
+    }
+
+    @Test
+    void sampledReportsAndRespectsItsErrorBound() {
+        RandomGraph g = randomGraph(42, false, true);
+        double[] exact = naive(g, false);
+        int samples = g.n() / 2;
+        BetweennessResult result = Betweenness.getBetweenness(g.graph(), samples, 7, null);
+        assertFalse(result.isExact());
+        assertEquals(samples, result.getSources());
+        assertEquals(0.95, result.getConfidence());
+        assertNotNull(result.getErrorBound());
+        assertTrue(result.getErrorBound() > 0);
+        for (int v = 0; v < g.n(); v++) {
+            assertTrue(Math.abs(result.getScores().get("v" + v) - exact[v]) <= result.getErrorBound(), "v" + v);
+        }
+
+        // Au moins V sources : calcul exact, sans borne
+        BetweennessResult all = Betweenness.getBetweenness(g.graph(), g.n(), 7, null);
+        assertTrue(all.isExact());
+        assertNull(all.getErrorBound());
+        assertNull(all.getConfidence());
+    }
+}
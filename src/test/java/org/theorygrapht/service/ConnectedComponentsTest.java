@@ -0,0 +1,121 @@
+package org.theorygrapht.service;
+
+import org.junit.jupiter.api.Test;
+import org.theorygrapht.model.ComponentsResult;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.VertexIndex;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Composantes calculées à la manière d'Afforest, comparées à un union-find séquentiel qui lit tous les arcs.
+ */
+class ConnectedComponentsTest {
+
+    private static Graph graph(int n, int[] sources, int[] targets, StorageKind kind) {
+        VertexIndex index = new VertexIndex(n);
+        for (int v = 0; v < n; v++) index.intern("v" + v);
+        int m = sources.length;
+        return new Graph(index, kind.build(n, m, sources, targets, new int[m]), true);
+    }
+
+    /**
+     * Union-find séquentiel, composantes numérotées dans l'ordre de leur premier sommet.
+     */
+    private static int[] reference(int n, int[] sources, int[] targets) {
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) parent[v] = v;
+        for (int e = 0; e < sources.length; e++) parent[find(parent, sources[e])] = find(parent, targets[e]);
+        int[] labels = new int[n];
+        int[] labelOfRoot = new int[n];
+        Arrays.fill(labelOfRoot, -1);
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            if (labelOfRoot[root] < 0) labelOfRoot[root] = count++;
+            labels[v] = labelOfRoot[root];
+        }
+        return labels;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) v = parent[v] = parent[parent[v]];
+        return v;
+    }
+
+    @Test
+    void ignoresDirectionAndNumbersByFirstVertex() {
+        // v0 -> v1 <- v2, v3 isolé, v4 -> v5
+        Graph graph = graph(6, new int[]{0, 2, 4}, new int[]{1, 1, 5}, StorageKind.HEAP);
+        ComponentsResult result = ConnectedComponents.getComponents(graph);
+        assertEquals(3, result.getCount());
+        assertArrayEquals(new int[]{3, 1, 2}, result.getSizes());
+        assertEquals(0, result.getComponents().get("v2"));
+        assertEquals(1, result.getComponents().get("v3"));
+        assertEquals(2, result.getComponents().get("v5"));
+        assertTrue(ConnectedComponents.sameComponent(graph, 0, 2));
+        assertFalse(ConnectedComponents.sameComponent(graph, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> ConnectedComponents.requireConnected(graph));
+    }
+
+    @Test
+    void emptyAndConnectedGraphs() {
+        assertEquals(0, ConnectedComponents.getComponents(graph(0, new int[0], new int[0], StorageKind.HEAP)).getCount());
+        Graph path = graph(3, new int[]{2, 1}, new int[]{1, 0}, StorageKind.HEAP);
+        assertDoesNotThrow(() -> ConnectedComponents.requireConnected(path));
+    }
+
+    /**
+     * Plusieurs blocs de sommets, une composante géante aux degrés élevés et des petites composantes, plus
+     * quelques ponts ajoutés en dernier depuis la composante géante : seul le côté hors de la composante géante
+     * les lit, au-delà des premiers voisins.
+     */
+    @Test
+    void matchesSequentialUnionFind() {
+        SplittableRandom random = new SplittableRandom(38);
+        for (int round = 0; round < 12; round++) {
+            int n = 1 + random.nextInt(round < 6 ? 50 : 20_000);
+            int giant = 1 + random.nextInt(n);
+            int small = n - giant;
+            int bridges = random.nextInt(5);
+            int m = 3 * (giant - 1) + small / 2 + (small > 0 ? bridges : 0);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            int e = 0;
+            for (int v = 1; v < giant; v++) {
+                // Un arbre couvrant la composante géante, puis deux arcs de plus par sommet
+                for (int k = 0; k < 3; k++, e++) {
+                    sources[e] = v;
+                    targets[e] = random.nextInt(v);
+                }
+            }
+            for (int k = 0; k < small / 2; k++, e++) {
+                sources[e] = giant + random.nextInt(small);
+                targets[e] = giant + random.nextInt(small);
+            }
+            for (; e < m; e++) {
+                sources[e] = random.nextInt(giant);
+                targets[e] = giant + random.nextInt(small);
+            }
+
+            int[] expected = reference(n, sources, targets);
+            for (StorageKind kind : StorageKind.values()) {
+                Graph graph = graph(n, sources, targets, kind);
+                try {
+                    assertArrayEquals(expected, ConnectedComponents.labels(graph), "round " + round + ", " + kind);
+                } finally {
+                    graph.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.theorygrapht.service;
+
+import org.junit.jupiter.api.Test;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sur de petits graphes aléatoires (poids nuls compris), les k chemins rendus sont des chemins simples
+ * distincts de la source à l'arrivée, et leurs coûts sont les k plus petits de l'énumération exhaustive.
+ */
+class KShortestPathsTest {
+
+    private static GraphInput.Neighbor neighbor(String target, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(target);
+        neighbor.setDistance(distance);
+        return neighbor;
+    }
+
+    // Coûts de tous les chemins simples de u à end, par parcours en profondeur
+    private static void enumerate(List<List<int[]>> adjacency, int u, int end, boolean[] onPath, long cost,
+                                  List<Long> costs) {
+        if (u == end) {
+            costs.add(cost);
+            return;
+        }
+        for (int[] arc : adjacency.get(u)) {
+            if (onPath[arc[0]]) continue;
+            onPath[arc[0]] = true;
+            enumerate(adjacency, arc[0], end, onPath, cost + arc[1], costs);
+            onPath[arc[0]] = false;
+        }
+    }
+
+    private static void checkRandomGraphs(boolean directed) {
+        for (int seed = 0; seed < 150; seed++) {
+            Random random = new Random(seed);
+            int n = 5 + random.nextInt(6);
+            int m = n + random.nextInt(3 * n);
+            int k = 1 + random.nextInt(12);
+
+            Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+            List<List<int[]>> adjacency = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                data.put("v" + v, new ArrayList<>());
+                adjacency.add(new ArrayList<>());
+            }
+            Set<String> pairs = new HashSet<>();
+            for (int e = 0; e < m; e++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u == v || !pairs.add(directed ? u + ">" + v : Math.min(u, v) + "-" + Math.max(u, v))) continue;
+                int weight = random.nextInt(6);
+                data.get("v" + u).add(neighbor("v" + v, weight));
+                adjacency.get(u).add(new int[]{v, weight});
+                if (!directed) {
+                    data.get("v" + v).add(neighbor("v" + u, weight));
+                    adjacency.get(v).add(new int[]{u, weight});
+                }
+            }
+            Graph graph = GraphUtils.fromMap(data, directed);
+            int start = random.nextInt(n);
+            int end = random.nextInt(n);
+            if (start == end) continue;
+
+            List<Long> costs = new ArrayList<>();
+            boolean[] onPath = new boolean[n];
+            onPath[start] = true;
+            enumerate(adjacency, start, end, onPath, 0, costs);
+            Collections.sort(costs);
+            List<Long> expected = costs.subList(0, Math.min(k, costs.size()));
+
+            List<Long> actual = new ArrayList<>();
+            Set<List<String>> distinct = new HashSet<>();
+            for (List<Edge> path : KShortestPaths.getKShortestPaths(graph, "v" + start, "v" + end, k)) {
+                String current = "v" + start;
+                List<String> visited = new ArrayList<>(List.of(current));
+                long cost = 0;
+                for (Edge edge : path) {
+                    assertEquals(current, edge.getSource().getName(), "seed " + seed);
+                    current = edge.getTarget().getName();
+                    assertFalse(visited.contains(current), "seed " + seed + " : boucle sur " + current);
+                    visited.add(current);
+                    cost += edge.getWeight();
+                }
+                assertEquals("v" + end, current, "seed " + seed);
+                assertTrue(distinct.add(visited), "seed " + seed + " : chemin rendu deux fois");
+                actual.add(cost);
+            }
+            assertEquals(expected, actual, "seed " + seed);
+        }
+    }
+
+    @Test
+    void directedMatchesBruteForce() {
+        checkRandomGraphs(true);
+    }
+
+    @Test
+    void undirectedMatchesBruteForce() {
+        checkRandomGraphs(false);
+    }
+}
@@ -0,0 +1,102 @@
+package org.theorygrapht.service;
+
+import org.junit.jupiter.api.Test;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Chaque mode de l'index répond comme un parcours en largeur, pour tous les couples de sommets
+ * de petits graphes aléatoires, orientés (plusieurs composantes fortement connexes) ou non.
+ */
+class ReachabilityTest {
+
+    private static GraphInput.Neighbor neighbor(String target, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(target);
+        neighbor.setDistance(distance);
+        return neighbor;
+    }
+
+    private static boolean bfs(List<List<Integer>> adjacency, int from, int to) {
+        boolean[] seen = new boolean[adjacency.size()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(from));
+        seen[from] = true;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == to) return true;
+            for (int v : adjacency.get(u)) {
+                if (!seen[v]) {
+                    seen[v] = true;
+                    queue.add(v);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void checkRandomGraphs(boolean directed) {
+        for (int seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            int n = 10 + random.nextInt(50);
+            int m = random.nextInt(2 * n);
+
+            Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+            List<List<Integer>> adjacency = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                data.put("v" + v, new ArrayList<>());
+                adjacency.add(new ArrayList<>());
+            }
+            for (int e = 0; e < m; e++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                data.get("v" + u).add(neighbor("v" + v, 1));
+                adjacency.get(u).add(v);
+                if (!directed) adjacency.get(v).add(u);
+            }
+            Graph graph = GraphUtils.fromMap(data, directed);
+
+            List<List<String>> pairs = new ArrayList<>();
+            boolean[] expected = new boolean[n * n];
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    pairs.add(List.of("v" + u, "v" + v));
+                    expected[u * n + v] = bfs(adjacency, u, v);
+                }
+            }
+            for (Reachability.Mode mode : Reachability.Mode.values()) {
+                assertArrayEquals(expected, Reachability.areReachable(graph, pairs, mode), mode + " seed " + seed);
+            }
+            assertArrayEquals(expected, Reachability.areReachable(graph, pairs), "seed " + seed);
+        }
+    }
+
+    @Test
+    void everyModeMatchesBfsOnDirectedGraphs() {
+        checkRandomGraphs(true);
+    }
+
+    @Test
+    void everyModeMatchesBfsOnUndirectedGraphs() {
+        checkRandomGraphs(false);
+    }
+
+    @Test
+    void smallGraphsUseTheClosure() {
+        Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+        data.put("A", List.of(neighbor("B", 1)));
+        data.put("B", List.of());
+        Graph graph = GraphUtils.fromMap(data, true);
+        assertEquals(Reachability.Mode.CLOSURE.name(), Reachability.isReachable(graph, "A", "B").getIndex());
+    }
+}
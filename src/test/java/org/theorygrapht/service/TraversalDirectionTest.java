@@ -0,0 +1,62 @@
+package org.theorygrapht.service;
+
+import org.junit.jupiter.api.Test;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.ShortestPathResult;
+import org.theorygrapht.util.GraphUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sur un graphe orienté, BFS, DFS et Dijkstra empruntent les arcs dans les deux sens ;
+ * ShortestPath et Reachability suivent leur sens.
+ */
+class TraversalDirectionTest {
+
+    // A -> B <- C : C n'est atteignable depuis A qu'en remontant l'arc C -> B
+    private static Graph graph() {
+        Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+        data.put("A", List.of(neighbor("B", 1)));
+        data.put("B", List.of());
+        data.put("C", List.of(neighbor("B", 2)));
+        return GraphUtils.fromMap(data, true);
+    }
+
+    private static GraphInput.Neighbor neighbor(String target, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(target);
+        neighbor.setDistance(distance);
+        return neighbor;
+    }
+
+    private static List<String> names(List<Edge> edges) {
+        return edges.stream().map(edge -> edge.getSource().getName() + edge.getTarget().getName()).toList();
+    }
+
+    @Test
+    void legacyTraversalsIgnoreDirection() {
+        Graph graph = graph();
+        assertEquals(List.of("AB", "BC"), names(BFS.getBFS(graph, "A")));
+        assertEquals(List.of("AB", "BC"), names(DFS.getDFS(graph, "A")));
+        assertEquals(2, Dijkstra.getDijkstra(graph, "A", "C").size());
+    }
+
+    @Test
+    void shortestPathAndReachabilityFollowDirection() {
+        Graph graph = graph();
+        ShortestPathResult result = ShortestPath.getShortestPath(graph, "A", "C");
+        assertTrue(result.getPath().isEmpty());
+        assertNull(result.getDistance());
+        assertFalse(Reachability.isReachable(graph, "A", "C").isReachable());
+        assertTrue(Reachability.isReachable(graph, "C", "B").isReachable());
+    }
+}
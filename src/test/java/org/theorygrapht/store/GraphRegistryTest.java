@@ -0,0 +1,112 @@
+package org.theorygrapht.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.theorygrapht.model.EdgeUpdate;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.storage.StorageKind;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reprise au démarrage : les graphes sont reconstruits en arrière-plan, publiés en version 1,
+ * puis le journal relu est replié en instantané.
+ */
+class GraphRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private static Graph graph(String from, String to, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(to);
+        neighbor.setDistance(distance);
+        Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+        data.put(from, List.of(neighbor));
+        return GraphUtils.fromMap(data, StorageKind.OFF_HEAP);
+    }
+
+    private GraphStore open() throws IOException {
+        return new GraphStore(directory, StorageKind.OFF_HEAP, Long.MAX_VALUE, false);
+    }
+
+    private static GraphRegistry registry(GraphStore store) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("graphStore", store));
+        return new GraphRegistry(beans.getBeanProvider(GraphStore.class));
+    }
+
+    /**
+     * Attend la fin de la reprise : 503 tant que le graphe n'est pas construit.
+     */
+    private static GraphVersion acquire(GraphRegistry registry, String name) throws InterruptedException {
+        for (long deadline = System.nanoTime() + 10_000_000_000L; ; Thread.sleep(10)) {
+            try {
+                return registry.acquire(name);
+            } catch (GraphRecoveringException e) {
+                if (System.nanoTime() > deadline) throw e;
+            }
+        }
+    }
+
+    @Test
+    void publishesRecoveredGraphsThenCompacts() throws IOException, InterruptedException {
+        try (GraphStore store = open()) {
+            GraphRegistry registry = registry(store);
+            registry.put("a", graph("A", "B", 1)).close();
+            registry.put("b", graph("C", "D", 2)).close();
+            registry.update("a", List.of(new EdgeUpdate("B", "C", 3))).close();
+        }
+
+        try (GraphStore store = open()) {
+            GraphRegistry registry = registry(store);
+            try (GraphVersion a = acquire(registry, "a"); GraphVersion b = acquire(registry, "b")) {
+                assertEquals(1, a.version());
+                assertEquals(2, a.graph().edgeCount());
+                assertEquals(3, a.graph().getStorage().weight(1));
+                assertEquals(1, b.graph().edgeCount());
+            }
+            // Une mutation juste après la reprise ne ferme pas un graphe que l'instantané lit encore
+            assertTrue(registry.remove("b"));
+            registry.update("a", List.of(new EdgeUpdate("A", "B", 7))).close();
+        }
+        try (var files = Files.list(directory)) {
+            assertTrue(files.anyMatch(file -> file.getFileName().toString().startsWith("snapshot-")));
+        }
+
+        try (GraphStore store = open()) {
+            GraphRegistry registry = registry(store);
+            try (GraphVersion a = acquire(registry, "a")) {
+                assertEquals(7, a.graph().getStorage().weight(0));
+            }
+            assertFalse(registry.remove("b"));
+        }
+    }
+
+    @Test
+    void putDuringRecoveryWins() throws IOException, InterruptedException {
+        try (GraphStore store = open()) {
+            registry(store).put("a", graph("A", "B", 1)).close();
+        }
+        try (GraphStore store = open()) {
+            GraphRegistry registry = registry(store);
+            registry.put("a", graph("X", "Y", 9)).close();
+            Thread.sleep(100); // la reprise de l'ancienne version finit et ne doit pas la remplacer
+            try (GraphVersion a = acquire(registry, "a")) {
+                assertEquals(9, a.graph().getStorage().weight(0));
+                assertEquals("X", a.graph().getVertexIndex().vertex(0).getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.theorygrapht.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.theorygrapht.model.Edge;
+import org.theorygrapht.model.EdgeUpdate;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.GraphInput;
+import org.theorygrapht.model.storage.StorageKind;
+import org.theorygrapht.util.GraphUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Relecture du journal : un enregistrement coupé ou dont le CRC ne correspond pas termine le dernier journal,
+ * et tout ce qui le précède est rendu.
+ */
+class GraphStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private long[] ends; // taille du journal après chaque enregistrement
+
+    private static Graph graph(String from, String to, int distance) {
+        GraphInput.Neighbor neighbor = new GraphInput.Neighbor();
+        neighbor.setTarget(to);
+        neighbor.setDistance(distance);
+        Map<String, List<GraphInput.Neighbor>> data = new LinkedHashMap<>();
+        data.put(from, List.of(neighbor));
+        return GraphUtils.fromMap(data, StorageKind.HEAP);
+    }
+
+    private static Map<String, List<String>> describe(Map<String, Graph> graphs) {
+        Map<String, List<String>> edges = new LinkedHashMap<>();
+        graphs.forEach((name, graph) -> edges.put(name, Arrays.stream(graph.getEdges()).map(GraphStoreTest::describe).toList()));
+        return edges;
+    }
+
+    private static String describe(Edge edge) {
+        return edge.getSource().getName() + ">" + edge.getTarget().getName() + ":" + edge.getWeight();
+    }
+
+    private GraphStore open() {
+        try {
+            return new GraphStore(directory, StorageKind.HEAP, Long.MAX_VALUE, false);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Journal wal-0.log : PUT a, PUT b, UPDATE a.
+     */
+    private Path writeLog() throws IOException {
+        Path wal = directory.resolve("wal-0.log");
+        ends = new long[3];
+        try (GraphStore store = open()) {
+            assertEquals(Map.of(), store.recover());
+            store.logPut("a", graph("A", "B", 1));
+            ends[0] = Files.size(wal);
+            store.logPut("b", graph("C", "D", 2));
+            ends[1] = Files.size(wal);
+            store.logUpdate("a", List.of(new EdgeUpdate("B", "C", 3)));
+            ends[2] = Files.size(wal);
+        }
+        return wal;
+    }
+
+    /**
+     * Comme {@link GraphRegistry} : relit, puis compacte si le journal a été relu.
+     */
+    private Map<String, List<String>> recover() throws IOException {
+        try (GraphStore store = open()) {
+            Map<String, Graph> graphs = load(store.recover());
+            if (store.needsCompaction()) store.compact(graphs, () -> {});
+            return describe(graphs);
+        }
+    }
+
+    private static Map<String, Graph> load(Map<String, GraphStore.StoredGraph> stored) {
+        Map<String, Graph> graphs = new LinkedHashMap<>();
+        stored.forEach((name, graph) -> graphs.put(name, graph.load()));
+        return graphs;
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) position] ^= 0x40;
+        Files.write(file, bytes);
+    }
+
+    @Test
+    void replaysEveryRecord() throws IOException {
+        writeLog();
+        Map<String, List<String>> expected = Map.of("a", List.of("A>B:1", "B>C:3"), "b", List.of("C>D:2"));
+        assertEquals(expected, recover());
+        // La relecture a replié le journal dans un instantané : l'état survit à un second démarrage
+        assertEquals(expected, recover());
+    }
+
+    @Test
+    void keepsOnlyRecordsAfterTheLastPut() throws IOException {
+        writeLog();
+        try (GraphStore store = open()) {
+            store.recover();
+            store.logRemove("b");
+            store.logPut("a", graph("E", "F", 4));
+            store.logUpdate("a", List.of(new EdgeUpdate("F", "E", 5)));
+        }
+        assertEquals(Map.of("a", List.of("E>F:4", "F>E:5")), recover());
+    }
+
+    @Test
+    void dropsTornTail() throws IOException {
+        Path wal = writeLog();
+        try (var channel = FileChannel.open(wal, StandardOpenOption.WRITE)) {
+            channel.truncate(ends[2] - 3);
+        }
+        Map<String, List<String>> expected = Map.of("a", List.of("A>B:1"), "b", List.of("C>D:2"));
+        assertEquals(expected, recover());
+
+        // Les enregistrements suivants ne sont pas masqués par la fin coupée
+        try (GraphStore store = open()) {
+            store.recover();
+            store.logRemove("b");
+        }
+        assertEquals(Map.of("a", List.of("A>B:1")), recover());
+    }
+
+    @Test
+    void stopsAtBadChecksum() throws IOException {
+        Path wal = writeLog();
+        flipByte(wal, ends[0] + 2 * Integer.BYTES + 3); // dans le corps du PUT b
+        assertEquals(Map.of("a", List.of("A>B:1")), recover());
+    }
+
+    @Test
+    void dropsHeaderCutShort() throws IOException {
+        Path wal = writeLog();
+        try (var channel = FileChannel.open(wal, StandardOpenOption.WRITE)) {
+            channel.truncate(ends[1] + 5); // en-tête de l'UPDATE incomplet
+        }
+        assertEquals(Map.of("a", List.of("A>B:1"), "b", List.of("C>D:2")), recover());
+    }
+
+    @Test
+    void rejectsCorruptionBeforeTheLastLog() throws IOException {
+        Path wal = writeLog();
+        Files.copy(wal, directory.resolve("wal-1.log"), StandardCopyOption.REPLACE_EXISTING);
+        flipByte(wal, ends[0] + 2 * Integer.BYTES + 3);
+        assertThrows(IOException.class, this::recover);
+    }
+}
@@ -0,0 +1,141 @@
+package org.theorygrapht.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.theorygrapht.model.Graph;
+import org.theorygrapht.model.VertexIndex;
+import org.theorygrapht.model.storage.GraphStorage;
+import org.theorygrapht.model.storage.StorageKind;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lecture en tranches de {@link EdgeListLoader} : les sommets sont numérotés dans l'ordre de première
+ * apparition dans le fichier et les arêtes gardent l'ordre du fichier à source égale,
+ * comme une lecture séquentielle ligne par ligne.
+ */
+class EdgeListLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Lecture séquentielle de référence : mêmes ids et mêmes arêtes, triées par source de façon stable.
+     */
+    private static Graph reference(List<String> lines, StorageKind kind, boolean directed) {
+        VertexIndex index = new VertexIndex();
+        List<int[]> edges = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("%")) continue;
+            String[] parts = trimmed.split("[ \t]+");
+            int source = index.intern(parts[0]);
+            int target = index.intern(parts[1]);
+            edges.add(new int[]{source, target, parts.length > 2 ? Integer.parseInt(parts[2]) : 1});
+        }
+        edges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int n = index.size();
+        int m = edges.size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = edges.get(e)[0];
+            targets[e] = edges.get(e)[1];
+            weights[e] = edges.get(e)[2];
+        }
+        int edgeCount = directed ? m : GraphUtils.mergeMirrored(n, m, sources, targets, weights);
+        return new Graph(index, kind.build(n, edgeCount, sources, targets, weights), directed);
+    }
+
+    private static void assertSameGraph(Graph expected, Graph actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            assertEquals(expected.getVertexIndex().vertex(v).getName(), actual.getVertexIndex().vertex(v).getName(),
+                    "name of vertex " + v);
+        }
+        GraphStorage want = expected.getStorage();
+        GraphStorage got = actual.getStorage();
+        assertEquals(want.edgeCount(), got.edgeCount());
+        for (int e = 0; e < want.edgeCount(); e++) {
+            assertEquals(want.source(e), got.source(e), "source of " + e);
+            assertEquals(want.target(e), got.target(e), "target of " + e);
+            assertEquals(want.weight(e), got.weight(e), "weight of " + e);
+        }
+    }
+
+    private Graph load(List<String> lines, StorageKind kind, boolean directed) throws IOException {
+        Path file = dir.resolve("edges.txt");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return EdgeListLoader.load(file, kind, directed);
+    }
+
+    @Test
+    void numbersVerticesByFirstAppearance() throws IOException {
+        List<String> lines = List.of(
+                "# commentaire",
+                "c a 3",
+                "b c",
+                "",
+                "% autre commentaire",
+                "a\td\t-2",
+                "c e 1");
+        Graph graph = load(lines, StorageKind.HEAP, true);
+        assertSameGraph(reference(lines, StorageKind.HEAP, true), graph);
+        assertEquals("c", graph.getVertexIndex().vertex(0).getName());
+        assertEquals("e", graph.getVertexIndex().vertex(4).getName());
+        // Arêtes de c dans l'ordre du fichier
+        assertEquals(graph.getVertexIndex().indexOf("a"), graph.getStorage().target(0));
+        assertEquals(graph.getVertexIndex().indexOf("e"), graph.getStorage().target(1));
+    }
+
+    @Test
+    void rejectsLineWithoutTarget() {
+        assertThrows(IllegalArgumentException.class, () -> load(List.of("a b", "c"), StorageKind.HEAP, true));
+    }
+
+    /**
+     * Fichier de plusieurs tranches (plus de 1 Mo par tranche) : noms courts, noms longs dont le hachage
+     * se confond ("Aa" et "BB" ont le même), noms non ASCII ; chaque nom reparaît dans les tranches suivantes.
+     */
+    @Test
+    void shardedLoadMatchesSequentialRead() throws IOException {
+        SplittableRandom random = new SplittableRandom(45);
+        String[] names = new String[20_000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = switch (i % 4) {
+                case 0 -> Integer.toString(i, 36);
+                case 1 -> "sommet-long-" + i / 8 + (i % 8 == 1 ? "Aa" : "BB");
+                case 2 -> "été" + i;
+                default -> "v" + i;
+            };
+        }
+        List<String> lines = new ArrayList<>();
+        for (int k = 0; k < 200_000; k++) {
+            // Les ids croissent au début du fichier : les premières apparitions se répartissent sur toutes les tranches
+            int bound = Math.min(names.length, 100 + k / 8);
+            String source = names[random.nextInt(bound)];
+            String target = names[random.nextInt(bound)];
+            lines.add(random.nextInt(4) == 0 ? source + " " + target : source + " " + target + " " + random.nextInt(50));
+            if (random.nextInt(3) == 0) lines.add(target + "\t" + source + " " + random.nextInt(50));
+        }
+
+        for (StorageKind kind : StorageKind.values()) {
+            for (boolean directed : new boolean[]{true, false}) {
+                try (Graph graph = load(lines, kind, directed);
+                     Graph expected = reference(lines, StorageKind.HEAP, directed)) {
+                    assertSameGraph(expected, graph);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.theorygrapht.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fusion des arêtes miroirs d'un graphe non orienté ({@link GraphUtils#mergeMirrored}).
+ */
+class GraphUtilsTest {
+
+    /**
+     * @param edges triplets (source, cible, poids)
+     * @return arêtes gardées, dans l'ordre
+     */
+    private static int[][] merge(int vertexCount, int[]... edges) {
+        int m = edges.length;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = edges[e][0];
+            targets[e] = edges[e][1];
+            weights[e] = edges[e][2];
+        }
+        int kept = GraphUtils.mergeMirrored(vertexCount, m, sources, targets, weights);
+        int[][] result = new int[kept][];
+        for (int e = 0; e < kept; e++) result[e] = new int[]{sources[e], targets[e], weights[e]};
+        return result;
+    }
+
+    @Test
+    void keepsFirstOfEachMirrorPair() {
+        int[][] kept = merge(3,
+                new int[]{1, 0, 5},
+                new int[]{1, 2, 4},
+                new int[]{0, 1, 5},
+                new int[]{2, 1, 4});
+        assertArrayEquals(new int[][]{{1, 0, 5}, {1, 2, 4}}, kept);
+    }
+
+    @Test
+    void keepsMirrorsOfDifferentWeight() {
+        int[][] kept = merge(2, new int[]{0, 1, 5}, new int[]{1, 0, 6});
+        assertArrayEquals(new int[][]{{0, 1, 5}, {1, 0, 6}}, kept);
+    }
+
+    @Test
+    void pairsParallelEdgesOneToOne() {
+        // Deux arêtes parallèles listées dans les deux sens : deux arêtes restent
+        int[][] kept = merge(2,
+                new int[]{0, 1, 3},
+                new int[]{0, 1, 3},
+                new int[]{1, 0, 3},
+                new int[]{1, 0, 3},
+                new int[]{1, 0, 3});
+        assertArrayEquals(new int[][]{{0, 1, 3}, {0, 1, 3}, {1, 0, 3}}, kept);
+    }
+
+    @Test
+    void keepsEdgesListedOnce() {
+        int[][] kept = merge(3, new int[]{0, 1, 1}, new int[]{0, 2, 1}, new int[]{2, 2, 7});
+        assertArrayEquals(new int[][]{{0, 1, 1}, {0, 2, 1}, {2, 2, 7}}, kept);
+    }
+
+    /**
+     * Référence séquentielle, dans l'ordre des ids : chaque arête consomme un miroir encore libre vu avant elle, sinon reste libre.
+     */
+    @Test
+    void matchesSequentialPairing() {
+        SplittableRandom random = new SplittableRandom(35);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(12);
+            int m = random.nextInt(60);
+            int[][] edges = new int[m][];
+            for (int e = 0; e < m; e++) {
+                edges[e] = new int[]{random.nextInt(n), random.nextInt(n), random.nextInt(3)};
+            }
+
+            Map<List<Integer>, Integer> free = new HashMap<>();
+            List<int[]> expected = new ArrayList<>();
+            for (int[] edge : edges) {
+                List<Integer> mirror = List.of(edge[1], edge[0], edge[2]);
+                if (free.getOrDefault(mirror, 0) > 0) {
+                    free.merge(mirror, -1, Integer::sum);
+                } else {
+                    free.merge(List.of(edge[0], edge[1], edge[2]), 1, Integer::sum);
+                    expected.add(edge);
+                }
+            }
+
+            int[][] kept = merge(n, Arrays.stream(edges).map(int[]::clone).toArray(int[][]::new));
+            assertEquals(expected.size(), kept.length, "round " + round);
+            assertArrayEquals(expected.toArray(new int[0][]), kept, "round " + round);
+        }
+    }
+}